@@ -6,8 +6,6 @@ import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.DIH4JDABuilder;
 import xyz.dynxsty.dih4jda.exceptions.DIH4JDAException;
 import xyz.dynxsty.dih4jda.interactions.commands.application.RegistrationType;
-import xyz.dynxsty.dih4jda.interactions.components.IdMapping;
-import xyz.dynxsty.examples.commands.PollCommand;
 import xyz.dynxsty.examples.listeners.DIH4JDAListener;
 
 public class BotExample {
@@ -22,9 +20,6 @@ public class BotExample {
                 .setCommandPackages("xyz.dynxsty.examples.commands") //The package where all of your commands are located
                 .build();
 
-        // Maps the PollCommand class to handle buttons with an id of 1 or 2.
-        dih4JDA.addButtonMappings(IdMapping.of(new PollCommand(), "button"));
-
         // Adds the DIH4JDAListener class as an event listener.
         dih4JDA.addEventListener(new DIH4JDAListener());
     }
@@ -0,0 +1,75 @@
+package xyz.dynxsty.examples.benchmarks;
+
+import xyz.dynxsty.dih4jda.util.ComponentId;
+import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.UUID;
+
+/**
+ * Compares {@link ComponentIdBuilder#split(String)} with a reused {@link ComponentId}, when routing a component-id
+ * and parsing its arguments, as done on every button click.
+ * <br>
+ * Run with: {@code java -cp <classpath> xyz.dynxsty.examples.benchmarks.ComponentIdBenchmark [iterations]}
+ */
+public class ComponentIdBenchmark {
+
+    private static final String ID = ComponentIdBuilder.build("self-role", 1048977410521198632L, 42, UUID.randomUUID());
+
+    // prevents the JIT from eliminating the benchmarked code
+    private static long sink;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.printf("%d iterations of \"%s\"%n", iterations, ID);
+        for (int i = 0; i < 3; i++) {
+            boolean warmup = i < 2;
+            run(warmup ? "warmup" : "ComponentIdBuilder.split", iterations, ComponentIdBenchmark::split);
+            run(warmup ? "warmup" : "ComponentId", iterations, ComponentIdBenchmark::parse);
+        }
+        System.out.printf("checksum: %d%n", sink);
+    }
+
+    private static long split(ComponentId unused) {
+        String[] split = ComponentIdBuilder.split(ID);
+        if (!split[0].equals("self-role")) return 0;
+        return Long.parseLong(split[1]) + Integer.parseInt(split[2]) + UUID.fromString(split[3]).getLeastSignificantBits();
+    }
+
+    private static long parse(ComponentId id) {
+        id.reset(ID);
+        if (!id.isIdentifier("self-role")) return 0;
+        return id.getLong(0) + id.getInt(1) + id.getUUID(2).getLeastSignificantBits();
+    }
+
+    private static void run(String name, int iterations, Parser parser) {
+        ComponentId reused = new ComponentId();
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += parser.parse(reused);
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = allocatedBytes() - allocated;
+        if ("warmup".equals(name)) return;
+
+        System.out.printf("%-26s %8.1f ns/op  %8.1f bytes/op%n", name, (double) elapsed / iterations,
+                allocated < 0 ? Double.NaN : (double) allocated / iterations);
+    }
+
+    private static long allocatedBytes() {
+        // only supported by HotSpot-based JVMs
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface Parser {
+        long parse(ComponentId reused);
+    }
+}
@@ -0,0 +1,74 @@
+package xyz.dynxsty.examples.benchmarks;
+
+import xyz.dynxsty.dih4jda.execution.VirtualThreads;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput and tail latency of the {@link ForkJoinPool#commonPool()} with virtual threads,
+ * when the handlers block (e.g. on RestAction#complete() or a database call).
+ * <br>
+ * Run with: {@code java -cp <classpath> xyz.dynxsty.examples.benchmarks.ExecutorBenchmark [interactions] [blockMillis]}
+ */
+public class ExecutorBenchmark {
+
+    public static void main(String[] args) {
+        int interactions = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        long blockMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+
+        System.out.printf("%d interactions, each blocking for %d ms, %d cores%n",
+                interactions, blockMillis, Runtime.getRuntime().availableProcessors());
+        // warm up both executors
+        run("warmup", ForkJoinPool.commonPool(), 200, 1);
+        run("ForkJoinPool.commonPool()", ForkJoinPool.commonPool(), interactions, blockMillis);
+        if (VirtualThreads.isSupported()) {
+            ExecutorService virtual = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            run("warmup", virtual, 200, 1);
+            run("VirtualThreads", virtual, interactions, blockMillis);
+            virtual.shutdown();
+        } else {
+            System.out.println("Virtual threads are not supported on " + Runtime.version());
+        }
+    }
+
+    private static void run(String name, Executor executor, int interactions, long blockMillis) {
+        long[] latencies = new long[interactions];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[interactions];
+        long start = System.nanoTime();
+        for (int i = 0; i < interactions; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            futures[i] = CompletableFuture.runAsync(() -> {
+                block(blockMillis);
+                latencies[index] = System.nanoTime() - submitted;
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        long elapsed = System.nanoTime() - start;
+        if ("warmup".equals(name)) return;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-26s throughput: %8.1f/s  p50: %6d ms  p99: %6d ms  max: %6d ms%n", name,
+                interactions / (elapsed / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.99)),
+                TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static void block(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import xyz.dynxsty.dih4jda.interactions.commands.application.ContextCommand;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletionStage;
 
 public class DeleteContextCommand extends ContextCommand.Message {
 
@@ -16,8 +17,15 @@ public class DeleteContextCommand extends ContextCommand.Message {
 
     @Override
     public void execute(@Nonnull MessageContextInteractionEvent event) {
+        // not called, as this command overrides executeAsync
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<?> executeAsync(@Nonnull MessageContextInteractionEvent event) {
         long messageId = event.getTarget().getIdLong();
-        event.getTarget().delete().queue();
-        event.replyFormat("Deleted message with id `%s`", messageId).queue();
+        // failures (e.g. missing permissions) end up in DIH4JDAEventListener#onCommandException
+        return event.getTarget().delete().submit()
+                .thenCompose(success -> event.replyFormat("Deleted message with id `%s`", messageId).submit());
     }
 }
@@ -9,6 +9,8 @@ import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import org.jetbrains.annotations.NotNull;
 import xyz.dynxsty.dih4jda.interactions.commands.application.SlashCommand;
 import xyz.dynxsty.dih4jda.interactions.components.ButtonHandler;
+import xyz.dynxsty.dih4jda.interactions.components.ComponentIds;
+import xyz.dynxsty.dih4jda.limits.CooldownScope;
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
 
 import javax.annotation.Nonnull;
@@ -16,12 +18,15 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
 // The same structure applies to all other component handlers
+// Maps this class to handle buttons with an id of "button", as it is found in the commands package
+@ComponentIds("button")
 public class PollCommand extends SlashCommand implements ButtonHandler {
 
     public PollCommand() {
         setCommandData(Commands.slash("poll", "Creates a poll with 2 options."));
         setRequiredPermissions(Permission.MESSAGE_MANAGE);
         setCommandCooldown(Duration.of(1, ChronoUnit.MINUTES)); // Add cooldown to prevent spam by users
+        setCommandCooldown(CooldownScope.CHANNEL, Duration.ofSeconds(10)); // Only allow one poll per channel at a time
     }
 
     @Override
@@ -38,7 +43,7 @@ public class PollCommand extends SlashCommand implements ButtonHandler {
 
     @Override
     public void handleButton(@NotNull ButtonInteractionEvent event, @NotNull Button button) {
-        // Handles buttons that were previously mapped using DIH4JDA#addButtonMappings
+        // Handles buttons that were mapped using the @ComponentIds annotation
         String[] id = ComponentIdBuilder.split(button.getCustomId());
         // Splits the buttons' id on the specified separator (in this case ':')
         if ("1".equals(id[1])) {
@@ -3,6 +3,7 @@ package xyz.dynxsty.examples.listeners;
 import xyz.dynxsty.dih4jda.events.CommandCooldownEvent;
 import xyz.dynxsty.dih4jda.events.CommandExceptionEvent;
 import xyz.dynxsty.dih4jda.events.DIH4JDAEventListener;
+import xyz.dynxsty.dih4jda.limits.CooldownScope;
 
 import javax.annotation.Nonnull;
 
@@ -18,8 +19,11 @@ public class DIH4JDAListener implements DIH4JDAEventListener {
 
     @Override
     public void onCommandCooldown(@Nonnull CommandCooldownEvent event) {
-        event.getInteraction().getMessageChannel().sendMessageFormat("Seems like you have to wait before you use the " +
-                "command again.\n You can try again in: <t:%s:R>", event.getCooldown().getNextUse().toEpochMilli()).queue();
+        // the scope tells whether only the user, or e.g. everyone in this channel, has to wait
+        CooldownScope scope = event.getScope();
+        String who = scope == CooldownScope.USER || scope == CooldownScope.MEMBER ? "you have" : "everyone has";
+        event.getInteraction().getMessageChannel().sendMessageFormat("Seems like %s to wait before the " +
+                "command can be used again.\n You can try again in: <t:%s:R>", who, event.getCooldown().getNextUse().toEpochMilli()).queue();
     }
 
     // add more events if you need to
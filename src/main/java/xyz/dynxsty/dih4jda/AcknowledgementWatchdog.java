@@ -0,0 +1,126 @@
+package xyz.dynxsty.dih4jda;
+
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import net.dv8tion.jda.api.interactions.components.ComponentInteraction;
+import net.dv8tion.jda.api.requests.RestAction;
+import xyz.dynxsty.dih4jda.events.AutoDeferEvent;
+import xyz.dynxsty.dih4jda.events.DIH4JDAEvent;
+import xyz.dynxsty.dih4jda.execution.HashedWheelTimer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches all incoming {@link IReplyCallback interactions} from the moment they arrive and automatically defers them,
+ * if their handler did not finish within the configured threshold. This way, interactions that were stuck in an
+ * executor's queue do not miss Discord's three-second deadline. Once the handler (or the
+ * {@link java.util.concurrent.CompletionStage} it returned) finished, the interaction is left alone, even if it
+ * was not acknowledged, e.g. because its requirements were not met or because an event listener replies to it.
+ * Component interactions are deferred using {@link ComponentInteraction#deferEdit()}, so that no "thinking..."
+ * message is left behind.
+ *
+ * @see DIH4JDABuilder#enableAutoDefer(Duration, boolean)
+ * @since v1.7
+ */
+final class AcknowledgementWatchdog {
+	private static final long NOT_STARTED = Long.MIN_VALUE;
+
+	private final DIH4JDA dih4jda;
+	private final HashedWheelTimer timer;
+	private final long thresholdNanos;
+	private final boolean ephemeral;
+
+	AcknowledgementWatchdog(@Nonnull DIH4JDA dih4jda, @Nonnull Duration threshold, boolean ephemeral) {
+		this.dih4jda = dih4jda;
+		this.thresholdNanos = threshold.toNanos();
+		this.ephemeral = ephemeral;
+		// 10ms ticks are precise enough, since the threshold is usually a few hundred milliseconds below the deadline
+		this.timer = new HashedWheelTimer("DIH4JDA-Watchdog", 10, TimeUnit.MILLISECONDS, 512);
+	}
+
+	/**
+	 * Starts watching the given {@link Interaction}. Must be called as soon as the interaction arrives.
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @return The {@link Watch}, or null if the interaction cannot be deferred. (e.g. autocomplete)
+	 */
+	@Nullable
+	Watch watch(@Nonnull Interaction interaction) {
+		if (!(interaction instanceof IReplyCallback)) {
+			return null;
+		}
+		Watch watch = new Watch((IReplyCallback) interaction, System.nanoTime());
+		watch.timeout = timer.schedule(watch, thresholdNanos, TimeUnit.NANOSECONDS);
+		return watch;
+	}
+
+	/**
+	 * Stops the timer thread. All interactions that are still watched are no longer deferred.
+	 */
+	void stop() {
+		timer.stop();
+	}
+
+	/**
+	 * A single watched interaction.
+	 */
+	final class Watch implements Runnable {
+		private final IReplyCallback interaction;
+		private final long arrival;
+		private volatile long started = NOT_STARTED;
+		private volatile HashedWheelTimer.Timeout timeout;
+
+		private Watch(@Nonnull IReplyCallback interaction, long arrival) {
+			this.interaction = interaction;
+			this.arrival = arrival;
+		}
+
+		/**
+		 * Marks the start of the handler.
+		 */
+		void started() {
+			started = System.nanoTime();
+		}
+
+		/**
+		 * Marks the end of the handler and stops watching. Whatever the handler did not acknowledge by now is left
+		 * to it, or to whoever replies on its behalf.
+		 */
+		void finished() {
+			cancel();
+		}
+
+		/**
+		 * Stops watching, e.g. as the interaction will never be handled.
+		 */
+		void cancel() {
+			HashedWheelTimer.Timeout timeout = this.timeout;
+			if (timeout != null) {
+				timeout.cancel();
+			}
+		}
+
+		@Override
+		public void run() {
+			if (interaction.isAcknowledged()) {
+				return;
+			}
+			long now = System.nanoTime();
+			long start = started;
+			Duration queueWait = Duration.ofNanos((start == NOT_STARTED ? now : start) - arrival);
+			Duration handlerTime = start == NOT_STARTED ? Duration.ZERO : Duration.ofNanos(now - start);
+			// components are edited instead, as their handlers usually update the message they belong to
+			RestAction<InteractionHook> defer = interaction instanceof ComponentInteraction
+					? ((ComponentInteraction) interaction).deferEdit() : interaction.deferReply(ephemeral);
+			// the handler may still acknowledge the interaction in the meantime, in which case this simply fails
+			defer.queue(
+					hook -> DIH4JDAEvent.fire(new AutoDeferEvent(dih4jda, interaction, queueWait, handlerTime)),
+					error -> DIH4JDALogger.debug("Could not automatically defer interaction %s: %s", interaction.getId(), error.getMessage())
+			);
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package xyz.dynxsty.dih4jda;
+
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.interactions.components.IdMapping;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Holds all {@link IdMapping}s of a single component type and allows to add or remove them at any time, e.g. for
+ * handlers that only exist for a single message.
+ * <br>
+ * Every modification copies the current mappings, compiles a new immutable {@link ComponentRouter} and publishes both
+ * through a single volatile reference. Incoming interactions therefore never take a lock and always see a complete,
+ * consistent set of mappings, while modifications are serialized among each other.
+ *
+ * <pre>{@code
+ * dih4jda.getButtonRegistry().add(IdMapping.of(new PollHandler(), "poll"));
+ * // ...
+ * dih4jda.getButtonRegistry().remove("poll");
+ * }</pre>
+ *
+ * @param <T> The handlers' type.
+ * @since v1.7
+ */
+public final class ComponentRegistry<T> {
+	private final HandlerType type;
+	private final Consumer<IdMapping<T>> validator;
+	private final BiFunction<IdMapping<T>[], HandlerType, ComponentRouter<T>> compiler;
+
+	private volatile Snapshot<T> snapshot;
+
+	ComponentRegistry(@Nonnull HandlerType type, @Nonnull Consumer<IdMapping<T>> validator,
+					  @Nonnull BiFunction<IdMapping<T>[], HandlerType, ComponentRouter<T>> compiler) {
+		this.type = type;
+		this.validator = validator;
+		this.compiler = compiler;
+		this.snapshot = new Snapshot<>(newArray(0), ComponentRouter.empty());
+	}
+
+	/**
+	 * Adds the specified {@link IdMapping}s. If any of them is invalid, or maps an id that is already mapped,
+	 * none of them are added. Use {@link ComponentRegistry#replace(IdMapping[])} to override existing ids.
+	 *
+	 * @param mappings The {@link IdMapping}s to add.
+	 * @throws IllegalArgumentException If a mapping is invalid or if the same id is mapped more than once.
+	 */
+	@SafeVarargs
+	public final synchronized void add(@Nonnull IdMapping<T>... mappings) {
+		Checks.notNull(mappings, "Mappings");
+		IdMapping<T>[] current = snapshot.mappings;
+		IdMapping<T>[] updated = Arrays.copyOf(current, current.length + mappings.length);
+		System.arraycopy(mappings, 0, updated, current.length, mappings.length);
+		publish(updated);
+	}
+
+	/**
+	 * Adds the specified {@link IdMapping}s and unmaps their ids from the current mappings, which keep all their
+	 * other ids. Such a mapping is replaced by a copy with the remaining ids, so it is no longer found by
+	 * {@link ComponentRegistry#remove(IdMapping)}. If any of the new mappings is invalid, the current mappings are kept.
+	 *
+	 * @param mappings The {@link IdMapping}s to add.
+	 * @throws IllegalArgumentException If a mapping is invalid or if the specified mappings map the same id more than once.
+	 */
+	@SafeVarargs
+	public final synchronized void replace(@Nonnull IdMapping<T>... mappings) {
+		Checks.notNull(mappings, "Mappings");
+		Set<String> ids = new HashSet<>();
+		for (IdMapping<T> mapping : mappings) {
+			Checks.notNull(mapping, "Mapping");
+			ids.addAll(Arrays.asList(mapping.getIds()));
+		}
+		List<IdMapping<T>> updated = new ArrayList<>(snapshot.mappings.length + mappings.length);
+		for (IdMapping<T> mapping : snapshot.mappings) {
+			List<String> remaining = new ArrayList<>();
+			for (String id : mapping.getIds()) {
+				if (!ids.contains(id)) remaining.add(id);
+			}
+			if (remaining.size() == mapping.getIds().length) {
+				updated.add(mapping);
+			} else if (!remaining.isEmpty()) {
+				IdMapping<T> copy = IdMapping.of(mapping.getHandler(), remaining.toArray(new String[0]));
+				updated.add(mapping.getBulkhead() == null ? copy : copy.withBulkhead(mapping.getBulkhead()));
+			}
+		}
+		updated.addAll(Arrays.asList(mappings));
+		publish(updated.toArray(newArray(0)));
+	}
+
+	/**
+	 * Replaces all mappings with the specified {@link IdMapping}s. If any of them is invalid, the current mappings
+	 * are kept.
+	 *
+	 * @param mappings The new {@link IdMapping}s.
+	 * @throws IllegalArgumentException If a mapping is invalid or if the same id is mapped more than once.
+	 */
+	@SafeVarargs
+	public final synchronized void set(@Nonnull IdMapping<T>... mappings) {
+		Checks.notNull(mappings, "Mappings");
+		publish(mappings.clone());
+	}
+
+	/**
+	 * Removes the specified {@link IdMapping}, which is compared by identity.
+	 *
+	 * @param mapping The {@link IdMapping} to remove.
+	 * @return Whether the mapping was removed.
+	 */
+	public synchronized boolean remove(@Nonnull IdMapping<T> mapping) {
+		IdMapping<T>[] current = snapshot.mappings;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == mapping) {
+				publish(without(current, i));
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the {@link IdMapping} that maps the specified id, including all other ids of that mapping.
+	 *
+	 * @param id The id, as passed to {@link IdMapping#of(Object, String...)}.
+	 * @return Whether a mapping was removed.
+	 */
+	public synchronized boolean remove(@Nonnull String id) {
+		IdMapping<T>[] current = snapshot.mappings;
+		for (int i = 0; i < current.length; i++) {
+			for (String mapped : current[i].getIds()) {
+				if (mapped.equals(id)) {
+					publish(without(current, i));
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all mappings.
+	 */
+	public synchronized void clear() {
+		snapshot = new Snapshot<>(newArray(0), ComponentRouter.empty());
+	}
+
+	/**
+	 * Finds the {@link IdMapping} that handles the specified component-id.
+	 *
+	 * @param componentId The component-id, usually built by {@link xyz.dynxsty.dih4jda.util.ComponentIdBuilder}.
+	 * @return The {@link IdMapping} or null, if no mapping matches.
+	 */
+	@Nullable
+	public IdMapping<T> find(@Nonnull String componentId) {
+		ComponentRouter.Route<T> route = snapshot.router.find(componentId);
+		return route == null ? null : route.getMapping();
+	}
+
+	/**
+	 * Returns an immutable snapshot of all mappings. Later modifications are not reflected.
+	 *
+	 * @return An unmodifiable {@link List} of all {@link IdMapping}s.
+	 */
+	@Nonnull
+	public List<IdMapping<T>> getMappings() {
+		return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(snapshot.mappings)));
+	}
+
+	/**
+	 * The amount of mappings.
+	 *
+	 * @return The amount of {@link IdMapping}s.
+	 */
+	public int size() {
+		return snapshot.mappings.length;
+	}
+
+	/**
+	 * The {@link HandlerType} of all mappings in this registry.
+	 *
+	 * @return The {@link HandlerType}.
+	 */
+	@Nonnull
+	public HandlerType getType() {
+		return type;
+	}
+
+	/**
+	 * The {@link ComponentRouter} of the current mappings, which is read once for every incoming interaction.
+	 *
+	 * @return The current {@link ComponentRouter}.
+	 */
+	@Nonnull
+	ComponentRouter<T> getRouter() {
+		return snapshot.router;
+	}
+
+	/**
+	 * The current mappings as an array, which must not be modified.
+	 *
+	 * @return The current mappings.
+	 */
+	@Nonnull
+	IdMapping<T>[] getMappingArray() {
+		return snapshot.mappings;
+	}
+
+	/**
+	 * Validates and compiles the given mappings, before publishing them. Must be called while holding the lock.
+	 */
+	private void publish(@Nonnull IdMapping<T>[] mappings) {
+		for (IdMapping<T> mapping : mappings) {
+			Checks.notNull(mapping, "Mapping");
+			validator.accept(mapping);
+		}
+		ComponentRouter<T> router = mappings.length == 0 ? ComponentRouter.empty() : compiler.apply(mappings, type);
+		snapshot = new Snapshot<>(mappings, router);
+	}
+
+	@Nonnull
+	private IdMapping<T>[] without(@Nonnull IdMapping<T>[] mappings, int index) {
+		IdMapping<T>[] updated = newArray(mappings.length - 1);
+		System.arraycopy(mappings, 0, updated, 0, index);
+		System.arraycopy(mappings, index + 1, updated, index, mappings.length - index - 1);
+		return updated;
+	}
+
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	private static <T> IdMapping<T>[] newArray(int length) {
+		return (IdMapping<T>[]) new IdMapping<?>[length];
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ComponentRegistry[%s, mappings=%s]", type, size());
+	}
+
+	/**
+	 * The mappings and their compiled router, which are always published together.
+	 */
+	private static final class Snapshot<T> {
+		private final IdMapping<T>[] mappings;
+		private final ComponentRouter<T> router;
+
+		private Snapshot(@Nonnull IdMapping<T>[] mappings, @Nonnull ComponentRouter<T> router) {
+			this.mappings = mappings;
+			this.router = router;
+		}
+	}
+}
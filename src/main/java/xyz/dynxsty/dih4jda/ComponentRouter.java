@@ -0,0 +1,166 @@
+package xyz.dynxsty.dih4jda;
+
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.interactions.components.IdMapping;
+import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable index which maps the identifier of incoming component-ids to their {@link IdMapping}.
+ * <br>
+ * The index is an open-addressed hash table, which is compiled once the mappings are added. Looking up a component-id
+ * hashes and compares its identifier in place, so that no substring (or array) is allocated for every interaction.
+ * <br>
+ * Instances of this class are never modified, but rather replaced as a whole by their {@link ComponentRegistry}.
+ *
+ * @param <T> The handlers' type.
+ * @since v1.7
+ */
+final class ComponentRouter<T> {
+
+	@SuppressWarnings("unchecked")
+	private static final ComponentRouter<?> EMPTY = new ComponentRouter<>(new String[1], (Route<Object>[]) new Route<?>[1], 0);
+
+	private final String[] identifiers;
+	private final Route<T>[] routes;
+	private final int mask;
+	private final int size;
+
+	private ComponentRouter(@Nonnull String[] identifiers, @Nonnull Route<T>[] routes, int size) {
+		this.identifiers = identifiers;
+		this.routes = routes;
+		this.mask = identifiers.length - 1;
+		this.size = size;
+	}
+
+	/**
+	 * An empty {@link ComponentRouter}, which is used until mappings were added.
+	 *
+	 * @param <T> The handlers' type.
+	 * @return The empty {@link ComponentRouter}.
+	 */
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	static <T> ComponentRouter<T> empty() {
+		return (ComponentRouter<T>) EMPTY;
+	}
+
+	/**
+	 * Compiles a new {@link ComponentRouter} for the specified mappings.
+	 *
+	 * @param mappings  All {@link IdMapping}s of a single component type.
+	 * @param type      The {@link HandlerType} of the mappings.
+	 * @param executors Resolves the {@link Executor} for a bulkhead name (if set) and {@link HandlerType}.
+	 * @param <T>       The handlers' type.
+	 * @return The compiled {@link ComponentRouter}.
+	 * @throws IllegalArgumentException If the same id is mapped more than once.
+	 */
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	static <T> ComponentRouter<T> compile(@Nonnull IdMapping<T>[] mappings, @Nonnull HandlerType type,
+										  @Nonnull BiFunction<String, HandlerType, Executor> executors) {
+		int count = 0;
+		for (IdMapping<T> mapping : mappings) {
+			count += mapping.getIds().length;
+		}
+		// keep the load factor below 0.5, so that probe sequences stay short
+		int capacity = Integer.highestOneBit(Math.max(1, count) * 4 - 1);
+		String[] identifiers = new String[capacity];
+		Route<T>[] routes = new Route[capacity];
+		int mask = capacity - 1;
+		for (IdMapping<T> mapping : mappings) {
+			Route<T> route = new Route<>(mapping, executors.apply(mapping.getBulkhead(), type));
+			for (String id : mapping.getIds()) {
+				int i = spread(id.hashCode()) & mask;
+				while (identifiers[i] != null) {
+					if (identifiers[i].equals(id)) {
+						throw new IllegalArgumentException(String.format("Id \"%s\" is mapped to both %s and %s", id,
+								routes[i].getHandler().getClass().getName(), mapping.getHandler().getClass().getName()));
+					}
+					i = (i + 1) & mask;
+				}
+				identifiers[i] = id;
+				routes[i] = route;
+			}
+		}
+		return new ComponentRouter<>(identifiers, routes, count);
+	}
+
+	/**
+	 * Finds the {@link Route} for the identifier of the given component-id, which is everything before the first
+	 * occurrence of the {@link ComponentIdBuilder#getDefaultSeparator() separator}.
+	 *
+	 * @param componentId The component-id.
+	 * @return The {@link Route} or null, if no mapping matches.
+	 */
+	@Nullable
+	Route<T> find(@Nonnull String componentId) {
+		if (size == 0) return null;
+		String separator = ComponentIdBuilder.getDefaultSeparator();
+		int end = separator.isEmpty() ? -1 : componentId.indexOf(separator);
+		if (end < 0) {
+			end = componentId.length();
+		}
+		// equivalent to componentId.substring(0, end).hashCode()
+		int hash = 0;
+		for (int i = 0; i < end; i++) {
+			hash = 31 * hash + componentId.charAt(i);
+		}
+		int i = spread(hash) & mask;
+		String identifier;
+		while ((identifier = identifiers[i]) != null) {
+			if (identifier.length() == end && componentId.regionMatches(0, identifier, 0, end)) {
+				return routes[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Whether this router contains no mappings at all.
+	 *
+	 * @return True, if no mappings were added.
+	 */
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * The route of a single {@link IdMapping}, including its resolved {@link Executor}.
+	 *
+	 * @param <T> The handler's type.
+	 */
+	static final class Route<T> {
+		private final IdMapping<T> mapping;
+		private final Executor executor;
+
+		Route(@Nonnull IdMapping<T> mapping, @Nonnull Executor executor) {
+			this.mapping = mapping;
+			this.executor = executor;
+		}
+
+		@Nonnull
+		IdMapping<T> getMapping() {
+			return mapping;
+		}
+
+		@Nonnull
+		T getHandler() {
+			return mapping.getHandler();
+		}
+
+		@Nonnull
+		Executor getExecutor() {
+			return executor;
+		}
+	}
+}
@@ -8,6 +8,7 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import xyz.dynxsty.dih4jda.config.DIH4JDAConfig;
 import xyz.dynxsty.dih4jda.events.DIH4JDAEventListener;
 import xyz.dynxsty.dih4jda.exceptions.DIH4JDAException;
+import xyz.dynxsty.dih4jda.execution.HandlerType;
 import xyz.dynxsty.dih4jda.interactions.commands.application.BaseApplicationCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.ContextCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.RegistrationType;
@@ -17,13 +18,15 @@ import xyz.dynxsty.dih4jda.interactions.components.EntitySelectMenuHandler;
 import xyz.dynxsty.dih4jda.interactions.components.IdMapping;
 import xyz.dynxsty.dih4jda.interactions.components.ModalHandler;
 import xyz.dynxsty.dih4jda.interactions.components.StringSelectMenuHandler;
+import xyz.dynxsty.dih4jda.metrics.DenialSummary;
 import xyz.dynxsty.dih4jda.util.Checks;
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
 
 import javax.annotation.Nonnull;
-import java.util.HashSet;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * <p><b>Getting Started</b></p>
@@ -80,25 +83,30 @@ public class DIH4JDA extends ListenerAdapter {
 
 	// Component Handler
 	/**
-	 * An {@link IdMapping} array that contains all {@link ButtonHandler}s that are registered to this instance.
+	 * The {@link ComponentRegistry} that contains all {@link ButtonHandler}s that are registered to this instance.
 	 */
 	@Getter(AccessLevel.PUBLIC)
-	private IdMapping<ButtonHandler>[] buttonMappings = null;
+	private final ComponentRegistry<ButtonHandler> buttonRegistry;
 	/**
-	 * An {@link IdMapping} array that contains all {@link StringSelectMenuHandler}s that are registered to this instance.
+	 * The {@link ComponentRegistry} that contains all {@link StringSelectMenuHandler}s that are registered to this instance.
 	 */
 	@Getter(AccessLevel.PUBLIC)
-	private IdMapping<StringSelectMenuHandler>[] stringSelectMenuMappings = null;
+	private final ComponentRegistry<StringSelectMenuHandler> stringSelectMenuRegistry;
 	/**
-	 * An {@link IdMapping} array that contains all {@link EntitySelectMenuHandler}s that are registered to this instance.
+	 * The {@link ComponentRegistry} that contains all {@link EntitySelectMenuHandler}s that are registered to this instance.
 	 */
 	@Getter(AccessLevel.PUBLIC)
-	private IdMapping<EntitySelectMenuHandler>[] entitySelectMenuMappings = null;
+	private final ComponentRegistry<EntitySelectMenuHandler> entitySelectMenuRegistry;
 	/**
-	 * An {@link IdMapping} array that contains all {@link ModalHandler}s that are registered to this instance.
+	 * The {@link ComponentRegistry} that contains all {@link ModalHandler}s that are registered to this instance.
+	 */
+	@Getter(AccessLevel.PUBLIC)
+	private final ComponentRegistry<ModalHandler> modalRegistry;
+	/**
+	 * The {@link EphemeralHandlers} of this instance, which are bound to generated ids and expire automatically.
 	 */
 	@Getter(AccessLevel.PUBLIC)
-	private IdMapping<ModalHandler>[] modalMappings = null;
+	private final EphemeralHandlers ephemeralHandlers;
 	/**
 	 * The {@link DIH4JDAConfig} instance that is linked to this specific {@link DIH4JDA} instance.
 	 */
@@ -123,8 +131,18 @@ public class DIH4JDA extends ListenerAdapter {
 		this.config = config;
 		DIH4JDALogger.blockedLogTypes = config.getBlockedLogTypes();
 		this.handler = new InteractionHandler(this);
+		buttonRegistry = new ComponentRegistry<>(HandlerType.BUTTON, this::validateMapping, handler::compileRouter);
+		stringSelectMenuRegistry = new ComponentRegistry<>(HandlerType.STRING_SELECT_MENU, this::validateMapping, handler::compileRouter);
+		entitySelectMenuRegistry = new ComponentRegistry<>(HandlerType.ENTITY_SELECT_MENU, this::validateMapping, handler::compileRouter);
+		modalRegistry = new ComponentRegistry<>(HandlerType.MODAL, this::validateMapping, handler::compileRouter);
+		ephemeralHandlers = new EphemeralHandlers(handler::getTypeExecutor);
+		handler.addComponentHandlers();
 		this.config.getJda().addEventListener(this, handler);
-		eventListeners = new HashSet<>();
+		// listeners are read by every fired event, but rarely modified
+		eventListeners = new CopyOnWriteArraySet<>();
+		if (config.getDenialAggregator() != null) {
+			config.getDenialAggregator().start(this::fireDenialSummary);
+		}
 	}
 
 	/**
@@ -181,6 +199,21 @@ public class DIH4JDA extends ListenerAdapter {
 		}
 	}
 
+	/**
+	 * Passes the given {@link DenialSummary} to all {@link DIH4JDAEventListener}s.
+	 *
+	 * @param summary The {@link DenialSummary}.
+	 */
+	private void fireDenialSummary(@Nonnull DenialSummary summary) {
+		for (DIH4JDAEventListener listener : eventListeners) {
+			try {
+				listener.onDenialSummary(summary);
+			} catch (RuntimeException e) {
+				DIH4JDALogger.error("An exception occurred while handling the denial summary in %s: %s", listener.getClass().getName(), e);
+			}
+		}
+	}
+
 	/**
 	 * Gets the {@link JDA} instance {@link DIH4JDA} uses.
 	 *
@@ -220,13 +253,16 @@ public class DIH4JDA extends ListenerAdapter {
 	 * }</pre>
 	 * <br>
 	 * This is best used in combination with {@link ComponentIdBuilder#build(String, Object...)}.
+	 * The mappings are added to the ones that are already registered and may be removed again at any time
+	 * using the corresponding {@link ComponentRegistry}, whose {@link ComponentRegistry#replace(IdMapping[])}
+	 * overrides ids that are already mapped.
 	 *
 	 * @param mappings All {@link ButtonHandler}, as an array of {@link IdMapping}.
+	 * @throws IllegalArgumentException If the same id is mapped more than once.
 	 */
 	@SafeVarargs
 	public final void addButtonMappings(@Nonnull IdMapping<ButtonHandler>... mappings) {
-		validateMappings(mappings);
-		buttonMappings = mappings;
+		buttonRegistry.add(mappings);
 	}
 
 	/**
@@ -240,14 +276,16 @@ public class DIH4JDA extends ListenerAdapter {
 	 * }</pre>
 	 * <br>
 	 * This is best used in combination with {@link ComponentIdBuilder#build(String, Object...)}.
+	 * The mappings are added to the ones that are already registered and may be removed again at any time
+	 * using the corresponding {@link ComponentRegistry}, whose {@link ComponentRegistry#replace(IdMapping[])}
+	 * overrides ids that are already mapped.
 	 *
 	 * @param mappings All {@link StringSelectMenuHandler}, as an array of {@link IdMapping}.
 	 * @see DIH4JDA#addEntitySelectMenuMappings(IdMapping[])
 	 */
 	@SafeVarargs
 	public final void addStringSelectMenuMappings(@Nonnull IdMapping<StringSelectMenuHandler>... mappings) {
-		validateMappings(mappings);
-		stringSelectMenuMappings = mappings;
+		stringSelectMenuRegistry.add(mappings);
 	}
 
 	/**
@@ -261,14 +299,16 @@ public class DIH4JDA extends ListenerAdapter {
 	 * }</pre>
 	 * <br>
 	 * This is best used in combination with {@link ComponentIdBuilder#build(String, Object...)}.
+	 * The mappings are added to the ones that are already registered and may be removed again at any time
+	 * using the corresponding {@link ComponentRegistry}, whose {@link ComponentRegistry#replace(IdMapping[])}
+	 * overrides ids that are already mapped.
 	 *
 	 * @param mappings All {@link EntitySelectMenuHandler}, as an array of {@link IdMapping}.
 	 * @see DIH4JDA#addStringSelectMenuMappings(IdMapping[])
 	 */
 	@SafeVarargs
 	public final void addEntitySelectMenuMappings(@Nonnull IdMapping<EntitySelectMenuHandler>... mappings) {
-		validateMappings(mappings);
-		entitySelectMenuMappings = mappings;
+		entitySelectMenuRegistry.add(mappings);
 	}
 
 	/**
@@ -282,29 +322,80 @@ public class DIH4JDA extends ListenerAdapter {
 	 * }</pre>
 	 * <br>
 	 * This is best used in combination with {@link ComponentIdBuilder#build(String, Object...)}.
+	 * The mappings are added to the ones that are already registered and may be removed again at any time
+	 * using the corresponding {@link ComponentRegistry}, whose {@link ComponentRegistry#replace(IdMapping[])}
+	 * overrides ids that are already mapped.
 	 *
 	 * @param mappings All {@link ModalHandler}, as an array of {@link IdMapping}.
 	 */
 	@SafeVarargs
 	public final void addModalMappings(@Nonnull IdMapping<ModalHandler>... mappings) {
-		validateMappings(mappings);
-		modalMappings = mappings;
+		modalRegistry.add(mappings);
 	}
 
 	/**
-	 * Validates the specified {@link IdMapping}s and throws an {@link IllegalArgumentException}
-	 * if they're invalid.
+	 * An {@link IdMapping} array that contains all {@link ButtonHandler}s that are registered to this instance.
 	 *
-	 * @param mappings The {@link IdMapping}-array to validate.
-	 * @param <T> The mappings' type.
+	 * @return A copy of all {@link ButtonHandler} mappings, which does not reflect later modifications.
+	 * @see DIH4JDA#getButtonRegistry()
 	 */
-	@SafeVarargs
-	private <T> void validateMappings(@Nonnull IdMapping<T>... mappings) {
-		for (IdMapping<T> mapping : mappings) {
-			if (mapping.getIds().length == 0) {
-				throw new IllegalArgumentException("Ids may not be empty or null!");
+	@Nonnull
+	public IdMapping<ButtonHandler>[] getButtonMappings() {
+		return buttonRegistry.getMappingArray().clone();
+	}
+
+	/**
+	 * An {@link IdMapping} array that contains all {@link StringSelectMenuHandler}s that are registered to this instance.
+	 *
+	 * @return A copy of all {@link StringSelectMenuHandler} mappings, which does not reflect later modifications.
+	 * @see DIH4JDA#getStringSelectMenuRegistry()
+	 */
+	@Nonnull
+	public IdMapping<StringSelectMenuHandler>[] getStringSelectMenuMappings() {
+		return stringSelectMenuRegistry.getMappingArray().clone();
+	}
+
+	/**
+	 * An {@link IdMapping} array that contains all {@link EntitySelectMenuHandler}s that are registered to this instance.
+	 *
+	 * @return A copy of all {@link EntitySelectMenuHandler} mappings, which does not reflect later modifications.
+	 * @see DIH4JDA#getEntitySelectMenuRegistry()
+	 */
+	@Nonnull
+	public IdMapping<EntitySelectMenuHandler>[] getEntitySelectMenuMappings() {
+		return entitySelectMenuRegistry.getMappingArray().clone();
+	}
+
+	/**
+	 * An {@link IdMapping} array that contains all {@link ModalHandler}s that are registered to this instance.
+	 *
+	 * @return A copy of all {@link ModalHandler} mappings, which does not reflect later modifications.
+	 * @see DIH4JDA#getModalRegistry()
+	 */
+	@Nonnull
+	public IdMapping<ModalHandler>[] getModalMappings() {
+		return modalRegistry.getMappingArray().clone();
+	}
+
+	/**
+	 * Validates the specified {@link IdMapping} and throws an {@link IllegalArgumentException}
+	 * if it's invalid.
+	 *
+	 * @param mapping The {@link IdMapping} to validate.
+	 * @param <T> The mapping's type.
+	 */
+	private <T> void validateMapping(@Nonnull IdMapping<T> mapping) {
+		if (mapping.getIds().length == 0) {
+			throw new IllegalArgumentException("Ids may not be empty or null!");
+		}
+		for (String id : mapping.getIds()) {
+			if (EphemeralHandlers.isEphemeral(id)) {
+				throw new IllegalArgumentException(String.format("Id \"%s\" may not start with %s, as it is reserved for ephemeral handlers", id, EphemeralHandlers.PREFIX));
 			}
 		}
+		if (mapping.getBulkhead() != null && !config.getBulkheads().containsKey(mapping.getBulkhead())) {
+			throw new IllegalArgumentException("Unknown bulkhead: " + mapping.getBulkhead());
+		}
 	}
 
 	/**
@@ -319,5 +410,18 @@ public class DIH4JDA extends ListenerAdapter {
 		Checks.notNull(config.getBlockedLogTypes(), "Blocked Log Types");
 		Checks.notNull(config.getCommandsPackages(), "Command Packages");
 		Checks.notNull(config.getExecutor(), "Executor");
+		Checks.notNull(config.getAutoDeferThreshold(), "Auto-Defer Threshold");
+		if (config.getAutoDeferThreshold().isNegative() || config.getAutoDeferThreshold().compareTo(Duration.ofSeconds(3)) >= 0) {
+			throw new IllegalArgumentException("Auto-Defer Threshold must be between 0 and 3 seconds");
+		}
+		Checks.notNull(config.getOrderingMode(), "Ordering Mode");
+		if (config.getOrderingLanes() < 1) {
+			throw new IllegalArgumentException("Amount of ordering lanes must be at least 1");
+		}
+		for (String bulkhead : config.getDefaultBulkheads().values()) {
+			if (!config.getBulkheads().containsKey(bulkhead)) {
+				throw new IllegalArgumentException("Unknown bulkhead: " + bulkhead);
+			}
+		}
 	}
 }
@@ -2,16 +2,29 @@ package xyz.dynxsty.dih4jda;
 
 import net.dv8tion.jda.api.JDA;
 import xyz.dynxsty.dih4jda.config.DIH4JDAConfig;
+import xyz.dynxsty.dih4jda.events.AsyncEventBus;
 import xyz.dynxsty.dih4jda.exceptions.CommandNotRegisteredException;
 import xyz.dynxsty.dih4jda.exceptions.DIH4JDAException;
 import xyz.dynxsty.dih4jda.exceptions.InvalidPackageException;
+import xyz.dynxsty.dih4jda.execution.AdmissionController;
+import xyz.dynxsty.dih4jda.execution.Bulkhead;
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.execution.OrderingMode;
+import xyz.dynxsty.dih4jda.execution.VirtualThreads;
+import xyz.dynxsty.dih4jda.interactions.components.ComponentStateStore;
+import xyz.dynxsty.dih4jda.interceptors.InteractionInterceptor;
+import xyz.dynxsty.dih4jda.limits.CooldownStore;
+import xyz.dynxsty.dih4jda.metrics.DefaultInteractionMetrics;
+import xyz.dynxsty.dih4jda.metrics.DenialAggregator;
+import xyz.dynxsty.dih4jda.metrics.InteractionMetrics;
+import xyz.dynxsty.dih4jda.util.Checks;
 import xyz.dynxsty.dih4jda.util.ClassWalker;
 import xyz.dynxsty.dih4jda.util.ClasspathHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 
 /**
@@ -52,7 +65,7 @@ public class DIH4JDABuilder {
 
 	/**
 	 * Allows to specify a custom {@link Executor} that will be used to execute all commands and events.<br>
-	 * If you have access to Java 21 it's recommended to use the {@link Executors#newVirtualThreadPerTaskExecutor()}.<br>
+	 * If you have access to Java 21 it's recommended to use {@link DIH4JDABuilder#useVirtualThreads()} instead.<br>
 	 * <br>
 	 * <b>Standard:</b> {@link ForkJoinPool#commonPool()}
 	 *
@@ -65,6 +78,233 @@ public class DIH4JDABuilder {
 		return this;
 	}
 
+	/**
+	 * Executes all commands and events on virtual threads, using a new virtual thread per interaction.
+	 * This is recommended if your handlers block, e.g. on {@link net.dv8tion.jda.api.requests.RestAction#complete()}
+	 * or database calls, as these would otherwise occupy the few threads of the {@link ForkJoinPool#commonPool()}.<br>
+	 * Virtual threads are only available on Java 21 or newer. On older runtimes, this logs a warning and keeps the
+	 * current {@link Executor}.
+	 *
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @see VirtualThreads
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder useVirtualThreads() {
+		if (VirtualThreads.isSupported()) {
+			config.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+		} else {
+			DIH4JDALogger.warn("Virtual threads require Java 21 or newer (running %s). Keeping the current executor.", Runtime.version());
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a new {@link Bulkhead}, which runs at most {@code maxConcurrency} tasks at once on the
+	 * {@link DIH4JDABuilder#setExecutor(Executor) executor} and queues up to {@code queueCapacity} tasks.
+	 * Commands may use it via {@link xyz.dynxsty.dih4jda.interactions.commands.application.ApplicationCommand#setBulkhead(String)},
+	 * component handlers via {@link xyz.dynxsty.dih4jda.interactions.components.IdMapping#withBulkhead(String)}.
+	 *
+	 * @param name           The bulkhead's name.
+	 * @param maxConcurrency The maximum amount of tasks that may run concurrently.
+	 * @param queueCapacity  The maximum amount of tasks that may wait for execution.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder addBulkhead(@Nonnull String name, int maxConcurrency, int queueCapacity) {
+		return addBulkhead(Bulkhead.of(name, task -> config.getExecutor().execute(task), maxConcurrency, queueCapacity));
+	}
+
+	/**
+	 * Adds a custom {@link Bulkhead}.
+	 *
+	 * @param bulkhead The {@link Bulkhead} to add.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @see DIH4JDABuilder#addBulkhead(String, int, int)
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder addBulkhead(@Nonnull Bulkhead bulkhead) {
+		config.getBulkheads().put(bulkhead.getName(), bulkhead);
+		return this;
+	}
+
+	/**
+	 * Uses the specified {@link Bulkhead} for all interactions of the given {@link HandlerType}, unless the command or
+	 * {@link xyz.dynxsty.dih4jda.interactions.components.IdMapping} specifies its own bulkhead.
+	 * This is especially useful for {@link HandlerType#AUTO_COMPLETE}, which must be answered within three seconds.
+	 *
+	 * @param type     The {@link HandlerType}.
+	 * @param bulkhead The name of a previously {@link DIH4JDABuilder#addBulkhead(String, int, int) added} bulkhead.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setBulkhead(@Nonnull HandlerType type, @Nonnull String bulkhead) {
+		config.getDefaultBulkheads().put(type, bulkhead);
+		return this;
+	}
+
+	/**
+	 * Automatically defers all interactions (except autocomplete), whose handler did not finish within the specified
+	 * threshold. This includes the time an interaction waited for the executor, thus preventing
+	 * "interaction failed" errors if the bot is under load. Component interactions are deferred as an edit.
+	 * Each automatic deferral fires an {@link xyz.dynxsty.dih4jda.events.AutoDeferEvent}.
+	 *
+	 * @param threshold The time after which the interaction is deferred. Must be positive and shorter than three seconds.
+	 * @param ephemeral Whether the deferred reply should be ephemeral.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder enableAutoDefer(@Nonnull Duration threshold, boolean ephemeral) {
+		config.setAutoDeferThreshold(threshold);
+		config.setAutoDeferEphemeral(ephemeral);
+		return this;
+	}
+
+	/**
+	 * Puts a bounded admission queue in front of all executors, so that a burst of interactions is shed early
+	 * instead of making every interaction miss Discord's deadline. Each shed interaction fires an
+	 * {@link xyz.dynxsty.dih4jda.events.OverloadEvent}.
+	 *
+	 * @param controller The {@link AdmissionController} to use.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder enableAdmissionControl(@Nonnull AdmissionController controller) {
+		config.setAdmissionController(controller);
+		return this;
+	}
+
+	/**
+	 * Executes all interactions of the same guild or user one after another, in the order they arrived, while
+	 * interactions of different guilds or users still run in parallel. This removes the need to synchronize
+	 * handlers that modify shared state, such as a poll's votes.
+	 * Autocomplete interactions are never ordered.
+	 *
+	 * @param mode  The {@link OrderingMode}.
+	 * @param lanes The amount of serial lanes, which the guilds or users are striped onto.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setOrderingMode(@Nonnull OrderingMode mode, int lanes) {
+		config.setOrderingMode(mode);
+		config.setOrderingLanes(lanes);
+		return this;
+	}
+
+	/**
+	 * Executes all interactions of the same guild or user one after another, in the order they arrived,
+	 * using 256 serial lanes.
+	 *
+	 * @param mode The {@link OrderingMode}.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @see DIH4JDABuilder#setOrderingMode(OrderingMode, int)
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setOrderingMode(@Nonnull OrderingMode mode) {
+		return setOrderingMode(mode, config.getOrderingLanes());
+	}
+
+	/**
+	 * Records the latency of every phase of handling an interaction, grouped by command path and component-id
+	 * identifier. Use {@link DefaultInteractionMetrics} for rolling in-memory histograms, or implement
+	 * {@link InteractionMetrics} to forward the timings to a metrics library.
+	 *
+	 * @param metrics The {@link InteractionMetrics} to use.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setMetrics(@Nonnull InteractionMetrics metrics) {
+		config.setMetrics(metrics);
+		return this;
+	}
+
+	/**
+	 * Sets the {@link ComponentStateStore}, which resolves the state of components whose id was built using
+	 * {@link xyz.dynxsty.dih4jda.util.ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}.
+	 * The resolved state is passed to the component's handler.
+	 *
+	 * @param store The {@link ComponentStateStore} to use.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setComponentStateStore(@Nonnull ComponentStateStore store) {
+		config.setComponentStateStore(store);
+		return this;
+	}
+
+	/**
+	 * Calls all {@link xyz.dynxsty.dih4jda.events.DIH4JDAEventListener}s on the executor of the given
+	 * {@link AsyncEventBus}, so that slow listeners do not delay the handling of interactions.
+	 *
+	 * @param eventBus The {@link AsyncEventBus} to use.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setEventBus(@Nonnull AsyncEventBus eventBus) {
+		config.setEventBus(eventBus);
+		return this;
+	}
+
+	/**
+	 * Counts all denied commands (e.g. because of a cooldown or missing permissions) per command, guild and reason,
+	 * and periodically passes a {@link xyz.dynxsty.dih4jda.metrics.DenialSummary} to all
+	 * {@link xyz.dynxsty.dih4jda.events.DIH4JDAEventListener}s.
+	 *
+	 * @param aggregator The {@link DenialAggregator} to use.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setDenialAggregator(@Nonnull DenialAggregator aggregator) {
+		config.setDenialAggregator(aggregator);
+		return this;
+	}
+
+	/**
+	 * Sets the {@link CooldownStore}, which stores the cooldowns of all commands and subcommands, e.g. a
+	 * {@link xyz.dynxsty.dih4jda.limits.MappedCooldownStore} to keep them between sessions. Commands that set another
+	 * store than the default {@link xyz.dynxsty.dih4jda.limits.CooldownCache} using
+	 * {@link xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#setCooldownStore(CooldownStore)} keep it.
+	 *
+	 * @param store The {@link CooldownStore} to use.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder setCooldownStore(@Nonnull CooldownStore store) {
+		Checks.notNull(store, "Cooldown Store");
+		config.setCooldownStore(store);
+		return this;
+	}
+
+	/**
+	 * Adds {@link InteractionInterceptor}s, which wrap the handling of every interaction in the order they were added.
+	 *
+	 * @param interceptors The {@link InteractionInterceptor}s to add.
+	 * @return The {@link DIH4JDABuilder} for chaining convenience.
+	 * @see xyz.dynxsty.dih4jda.interceptors.TimingInterceptor
+	 * @see xyz.dynxsty.dih4jda.interceptors.MdcInterceptor
+	 * @since v1.7
+	 */
+	@Nonnull
+	public DIH4JDABuilder addInterceptors(@Nonnull InteractionInterceptor... interceptors) {
+		for (InteractionInterceptor interceptor : interceptors) {
+			Checks.notNull(interceptor, "Interceptor");
+			config.getInterceptors().add(interceptor);
+		}
+		return this;
+	}
+
 	/**
 	 * Sets the types of logging that should be disabled.
 	 *
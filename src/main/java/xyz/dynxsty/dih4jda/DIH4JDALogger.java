@@ -29,27 +29,46 @@ public class DIH4JDALogger {
 		blockedLogTypes = types;
 	}
 
-	private static void log0(@Nonnull String msg, @Nonnull Type type, @Nonnull Level level) {
-		if (ArrayUtil.contains(blockedLogTypes, type)) return;
+	private static void log0(@Nonnull String msg, @Nonnull Object[] args, @Nonnull Type type, @Nonnull Level level) {
+		if (ArrayUtil.contains(blockedLogTypes, type) || !isEnabled(level)) return;
+		// only format the message if it is actually logged
+		String formatted = String.format(msg, args);
 		switch (level) {
 			case INFO:
-				log.info(msg);
+				log.info(formatted);
 				break;
 			case WARN:
-				log.warn(msg);
+				log.warn(formatted);
 				break;
 			case ERROR:
-				log.error(msg);
+				log.error(formatted);
 				break;
 			case DEBUG:
-				log.debug(msg);
+				log.debug(formatted);
 				break;
 			case TRACE:
-				log.trace(msg);
+				log.trace(formatted);
 				break;
 		}
 	}
 
+	private static boolean isEnabled(@Nonnull Level level) {
+		switch (level) {
+			case INFO:
+				return log.isInfoEnabled();
+			case WARN:
+				return log.isWarnEnabled();
+			case ERROR:
+				return log.isErrorEnabled();
+			case DEBUG:
+				return log.isDebugEnabled();
+			case TRACE:
+				return log.isTraceEnabled();
+			default:
+				return false;
+		}
+	}
+
 	/**
 	 * Logs a message with the specified {@link DIH4JDALogger.Type} and {@link Level#INFO}.
 	 * @param type The {@link DIH4JDALogger.Type} of the message.
@@ -57,7 +76,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void info(@Nonnull Type type, @Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), type, Level.INFO);
+		log0(msg, args, type, Level.INFO);
 	}
 
 	/**
@@ -66,7 +85,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void info(@Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), Type.INFO, Level.INFO);
+		log0(msg, args, Type.INFO, Level.INFO);
 	}
 
 	/**
@@ -76,7 +95,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void warn(@Nonnull Type type, @Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), type, Level.WARN);
+		log0(msg, args, type, Level.WARN);
 	}
 
 	/**
@@ -85,7 +104,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void warn(@Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), Type.WARN, Level.WARN);
+		log0(msg, args, Type.WARN, Level.WARN);
 	}
 
 	/**
@@ -95,7 +114,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void error(@Nonnull Type type, @Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), type, Level.ERROR);
+		log0(msg, args, type, Level.ERROR);
 	}
 
 	/**
@@ -104,7 +123,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void error(@Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), Type.ERROR, Level.ERROR);
+		log0(msg, args, Type.ERROR, Level.ERROR);
 	}
 
 	/**
@@ -114,7 +133,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void debug(@Nonnull Type type, @Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), type, Level.DEBUG);
+		log0(msg, args, type, Level.DEBUG);
 	}
 
 	/**
@@ -123,7 +142,19 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void debug(@Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), Type.DEBUG, Level.DEBUG);
+		log0(msg, args, Type.DEBUG, Level.DEBUG);
+	}
+
+	/**
+	 * Checks whether messages of the specified {@link DIH4JDALogger.Type} are logged at {@link Level#TRACE}.
+	 * Hot paths check this first, as even a message that is not logged allocates its arguments.
+	 *
+	 * @param type The {@link DIH4JDALogger.Type} of the message.
+	 * @return Whether such messages are logged.
+	 * @since v1.7
+	 */
+	public static boolean isTraceEnabled(@Nonnull Type type) {
+		return log.isTraceEnabled() && !ArrayUtil.contains(blockedLogTypes, type);
 	}
 
 	/**
@@ -133,7 +164,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void trace(@Nonnull Type type, @Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), type, Level.TRACE);
+		log0(msg, args, type, Level.TRACE);
 	}
 
 	/**
@@ -142,7 +173,7 @@ public class DIH4JDALogger {
 	 * @param args The arguments to format the message with.
 	 */
 	public static void trace(@Nonnull String msg, @Nonnull Object... args) {
-		log0(String.format(msg, args), Type.TRACE, Level.TRACE);
+		log0(msg, args, Type.TRACE, Level.TRACE);
 	}
 
 	/**
@@ -222,6 +253,10 @@ public class DIH4JDALogger {
 		/**
 		 * If an implementation for {@link xyz.dynxsty.dih4jda.events.DIH4JDAEventListener} is missing.
 		 */
-		EVENT_MISSING_HANDLER
+		EVENT_MISSING_HANDLER,
+		/**
+		 * If an interaction was handled, including its end-to-end latency.
+		 */
+		INTERACTION_HANDLED
 	}
 }
@@ -0,0 +1,318 @@
+package xyz.dynxsty.dih4jda;
+
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.execution.HashedWheelTimer;
+import xyz.dynxsty.dih4jda.interactions.components.ButtonHandler;
+import xyz.dynxsty.dih4jda.interactions.components.EntitySelectMenuHandler;
+import xyz.dynxsty.dih4jda.interactions.components.IdMapping;
+import xyz.dynxsty.dih4jda.interactions.components.ModalHandler;
+import xyz.dynxsty.dih4jda.interactions.components.StringSelectMenuHandler;
+import xyz.dynxsty.dih4jda.util.Checks;
+import xyz.dynxsty.dih4jda.util.ComponentId;
+import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Handlers which are bound to a generated, unique id instead of an {@link IdMapping}, e.g. for a single
+ * confirmation dialog. Each handler is removed automatically once its timeout elapses and, unless specified otherwise,
+ * once it was used for the first time.
+ * <br>
+ * Incoming interactions whose component-id starts with {@link EphemeralHandlers#PREFIX} are dispatched to these handlers,
+ * using the same executors as all other components of their type. Further arguments may be appended to the generated id
+ * using {@link ComponentIdBuilder#build(String, Object...)}, so that a single handler serves multiple components:
+ *
+ * <pre>{@code
+ * String id = dih4jda.getEphemeralHandlers().addButton((event, button) -> {
+ *     boolean confirmed = ComponentIdBuilder.split(event.getComponentId())[1].equals("confirm");
+ *     event.editMessage(confirmed ? "Confirmed!" : "Cancelled!").setComponents().queue();
+ * }, Duration.ofMinutes(5));
+ * event.reply("Are you sure?").addComponents(ActionRow.of(
+ *         Button.success(ComponentIdBuilder.build(id, "confirm"), "Confirm"),
+ *         Button.danger(ComponentIdBuilder.build(id, "cancel"), "Cancel")
+ * )).queue();
+ * }</pre>
+ *
+ * Timeouts are tracked by a {@link HashedWheelTimer} with a precision of one second, so that every pending handler
+ * costs a single bucket entry, instead of a task in a scheduled executor.
+ *
+ * @see DIH4JDA#getEphemeralHandlers()
+ * @since v1.7
+ */
+public final class EphemeralHandlers {
+	/**
+	 * The prefix of all generated ids. Ids of regular {@link IdMapping}s may not start with this character.
+	 */
+	public static final char PREFIX = '$';
+	// alphanumerics only, as ids are cut at the separator of ComponentIdBuilder, which may be any other character
+	private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+	// 10 characters of almost 6 bits each
+	private static final int TOKEN_LENGTH = 10;
+
+	private final Function<HandlerType, Executor> executors;
+	private final ConcurrentHashMap<String, Handler> handlers = new ConcurrentHashMap<>();
+	private final LongAdder expirations = new LongAdder();
+	private volatile HashedWheelTimer timer;
+
+	EphemeralHandlers(@Nonnull Function<HandlerType, Executor> executors) {
+		this.executors = executors;
+	}
+
+	/**
+	 * Whether the given component-id belongs to an ephemeral handler.
+	 *
+	 * @param componentId The component-id.
+	 * @return True, if the component-id starts with {@link EphemeralHandlers#PREFIX}.
+	 */
+	public static boolean isEphemeral(@Nonnull String componentId) {
+		return !componentId.isEmpty() && componentId.charAt(0) == PREFIX;
+	}
+
+	/**
+	 * Adds a {@link ButtonHandler}, which is removed once it was used or the timeout elapsed.
+	 *
+	 * @param handler The {@link ButtonHandler}.
+	 * @param timeout The time after which the handler is removed.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addButton(@Nonnull ButtonHandler handler, @Nonnull Duration timeout) {
+		return add(handler, HandlerType.BUTTON, timeout, true);
+	}
+
+	/**
+	 * Adds a {@link ButtonHandler}, which is removed once the timeout elapsed.
+	 *
+	 * @param handler   The {@link ButtonHandler}.
+	 * @param timeout   The time after which the handler is removed.
+	 * @param singleUse Whether the handler is removed once it was used for the first time.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addButton(@Nonnull ButtonHandler handler, @Nonnull Duration timeout, boolean singleUse) {
+		return add(handler, HandlerType.BUTTON, timeout, singleUse);
+	}
+
+	/**
+	 * Adds a {@link StringSelectMenuHandler}, which is removed once it was used or the timeout elapsed.
+	 *
+	 * @param handler The {@link StringSelectMenuHandler}.
+	 * @param timeout The time after which the handler is removed.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addStringSelectMenu(@Nonnull StringSelectMenuHandler handler, @Nonnull Duration timeout) {
+		return add(handler, HandlerType.STRING_SELECT_MENU, timeout, true);
+	}
+
+	/**
+	 * Adds a {@link StringSelectMenuHandler}, which is removed once the timeout elapsed.
+	 *
+	 * @param handler   The {@link StringSelectMenuHandler}.
+	 * @param timeout   The time after which the handler is removed.
+	 * @param singleUse Whether the handler is removed once it was used for the first time.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addStringSelectMenu(@Nonnull StringSelectMenuHandler handler, @Nonnull Duration timeout, boolean singleUse) {
+		return add(handler, HandlerType.STRING_SELECT_MENU, timeout, singleUse);
+	}
+
+	/**
+	 * Adds an {@link EntitySelectMenuHandler}, which is removed once it was used or the timeout elapsed.
+	 *
+	 * @param handler The {@link EntitySelectMenuHandler}.
+	 * @param timeout The time after which the handler is removed.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addEntitySelectMenu(@Nonnull EntitySelectMenuHandler handler, @Nonnull Duration timeout) {
+		return add(handler, HandlerType.ENTITY_SELECT_MENU, timeout, true);
+	}
+
+	/**
+	 * Adds an {@link EntitySelectMenuHandler}, which is removed once the timeout elapsed.
+	 *
+	 * @param handler   The {@link EntitySelectMenuHandler}.
+	 * @param timeout   The time after which the handler is removed.
+	 * @param singleUse Whether the handler is removed once it was used for the first time.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addEntitySelectMenu(@Nonnull EntitySelectMenuHandler handler, @Nonnull Duration timeout, boolean singleUse) {
+		return add(handler, HandlerType.ENTITY_SELECT_MENU, timeout, singleUse);
+	}
+
+	/**
+	 * Adds a {@link ModalHandler}, which is removed once it was used or the timeout elapsed.
+	 *
+	 * @param handler The {@link ModalHandler}.
+	 * @param timeout The time after which the handler is removed.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addModal(@Nonnull ModalHandler handler, @Nonnull Duration timeout) {
+		return add(handler, HandlerType.MODAL, timeout, true);
+	}
+
+	/**
+	 * Adds a {@link ModalHandler}, which is removed once the timeout elapsed.
+	 *
+	 * @param handler   The {@link ModalHandler}.
+	 * @param timeout   The time after which the handler is removed.
+	 * @param singleUse Whether the handler is removed once it was used for the first time.
+	 * @return The generated id.
+	 */
+	@Nonnull
+	public String addModal(@Nonnull ModalHandler handler, @Nonnull Duration timeout, boolean singleUse) {
+		return add(handler, HandlerType.MODAL, timeout, singleUse);
+	}
+
+	/**
+	 * Removes the handler of the given id, e.g. once its message was deleted.
+	 *
+	 * @param id The generated id, or a component-id which was built from it.
+	 * @return Whether a handler was removed.
+	 */
+	public boolean remove(@Nonnull String id) {
+		Handler handler = handlers.remove(ComponentId.identifierOf(id));
+		if (handler == null) return false;
+		handler.timeout.cancel();
+		return true;
+	}
+
+	/**
+	 * The current amount of pending handlers.
+	 *
+	 * @return The amount of handlers.
+	 */
+	public int size() {
+		return handlers.size();
+	}
+
+	/**
+	 * The total amount of handlers that were removed, because their timeout elapsed.
+	 *
+	 * @return The amount of expirations.
+	 */
+	public long getExpirationCount() {
+		return expirations.sum();
+	}
+
+	@Nonnull
+	private String add(@Nonnull Object handler, @Nonnull HandlerType type, @Nonnull Duration timeout, boolean singleUse) {
+		Checks.notNull(handler, "Handler");
+		Checks.notNull(timeout, "Timeout");
+		if (timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException("Timeout must be positive");
+		}
+		String id;
+		Handler entry;
+		do {
+			id = newId();
+			entry = new Handler(new ComponentRouter.Route<>(IdMapping.of(handler, id), executors.apply(type)), type, singleUse);
+		} while (handlers.putIfAbsent(id, entry) != null);
+		// the entry is only reachable through its id, which is not yet known to anyone but the caller
+		String expired = id;
+		Handler scheduled = entry;
+		entry.timeout = timer().schedule(() -> {
+			if (handlers.remove(expired, scheduled)) {
+				expirations.increment();
+			}
+		}, timeout.toMillis(), TimeUnit.MILLISECONDS);
+		return id;
+	}
+
+	/**
+	 * Finds the {@link ComponentRouter.Route} of the given ephemeral component-id, without removing single-use handlers.
+	 * The handler must be {@link EphemeralHandlers#claim(String, ComponentRouter.Route) claimed} once the interaction
+	 * was admitted, so that a rejected interaction does not use up the handler.
+	 *
+	 * @param componentId The component-id, which starts with {@link EphemeralHandlers#PREFIX}.
+	 * @param type        The {@link HandlerType} of the interaction.
+	 * @param <T>         The handler's type.
+	 * @return The {@link ComponentRouter.Route}, or null if the handler is unknown, expired or already used.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	<T> ComponentRouter.Route<T> find(@Nonnull String componentId, @Nonnull HandlerType type) {
+		Handler handler = handlers.get(ComponentId.identifierOf(componentId));
+		if (handler == null || handler.type != type) {
+			return null;
+		}
+		return (ComponentRouter.Route<T>) handler.route;
+	}
+
+	/**
+	 * Claims the handler of the given ephemeral component-id right before it runs, which removes single-use handlers.
+	 *
+	 * @param componentId The component-id, which starts with {@link EphemeralHandlers#PREFIX}.
+	 * @param route       The {@link ComponentRouter.Route}, as returned by {@link EphemeralHandlers#find(String, HandlerType)}.
+	 * @return Whether the handler may run, which it may not if it expired or was used by another interaction meanwhile.
+	 */
+	boolean claim(@Nonnull String componentId, @Nonnull ComponentRouter.Route<?> route) {
+		String id = ComponentId.identifierOf(componentId);
+		Handler handler = handlers.get(id);
+		if (handler == null || handler.route != route) {
+			return false;
+		}
+		if (handler.singleUse) {
+			// only a single interaction may claim the handler, even if it was clicked twice
+			if (!handlers.remove(id, handler)) return false;
+			handler.timeout.cancel();
+		}
+		return true;
+	}
+
+	@Nonnull
+	private static String newId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		char[] id = new char[TOKEN_LENGTH + 1];
+		id[0] = PREFIX;
+		for (int i = 1; i <= TOKEN_LENGTH; i++) {
+			id[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		}
+		return new String(id);
+	}
+
+	@Nonnull
+	private HashedWheelTimer timer() {
+		HashedWheelTimer result = timer;
+		if (result == null) {
+			synchronized (this) {
+				result = timer;
+				if (result == null) {
+					// dialogs usually time out after minutes, so one-second ticks are precise enough
+					timer = result = new HashedWheelTimer("DIH4JDA-EphemeralHandlers", 1, TimeUnit.SECONDS, 512);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EphemeralHandlers[pending=%s, expired=%s]", size(), getExpirationCount());
+	}
+
+	private static final class Handler {
+		private final ComponentRouter.Route<?> route;
+		private final HandlerType type;
+		private final boolean singleUse;
+		private volatile HashedWheelTimer.Timeout timeout;
+
+		private Handler(@Nonnull ComponentRouter.Route<?> route, @Nonnull HandlerType type, boolean singleUse) {
+			this.route = route;
+			this.type = type;
+			this.singleUse = singleUse;
+		}
+	}
+}
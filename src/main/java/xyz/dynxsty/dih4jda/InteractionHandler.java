@@ -12,13 +12,19 @@ import net.dv8tion.jda.api.events.interaction.command.UserContextInteractionEven
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.EntitySelectInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
+import net.dv8tion.jda.api.events.session.ShutdownEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
 import net.dv8tion.jda.api.interactions.commands.CommandInteraction;
+import net.dv8tion.jda.api.interactions.commands.CommandInteractionPayload;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
+import net.dv8tion.jda.api.interactions.components.ComponentInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalInteraction;
 import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
 import xyz.dynxsty.dih4jda.config.DIH4JDAConfig;
 import xyz.dynxsty.dih4jda.events.AutoCompleteExceptionEvent;
@@ -31,39 +37,66 @@ import xyz.dynxsty.dih4jda.events.InvalidGuildEvent;
 import xyz.dynxsty.dih4jda.events.InvalidRoleEvent;
 import xyz.dynxsty.dih4jda.events.InvalidUserEvent;
 import xyz.dynxsty.dih4jda.events.ModalExceptionEvent;
+import xyz.dynxsty.dih4jda.events.OverloadEvent;
+import xyz.dynxsty.dih4jda.events.RateLimitEvent;
 import xyz.dynxsty.dih4jda.exceptions.CommandNotRegisteredException;
 import xyz.dynxsty.dih4jda.exceptions.DIH4JDAException;
+import xyz.dynxsty.dih4jda.execution.AdmissionController;
+import xyz.dynxsty.dih4jda.execution.Bulkhead;
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.execution.OrderedLanes;
+import xyz.dynxsty.dih4jda.execution.OrderingMode;
 import xyz.dynxsty.dih4jda.interactions.AutoCompletable;
 import xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand;
+import xyz.dynxsty.dih4jda.interactions.commands.application.ApplicationCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.BaseApplicationCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.ContextCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.RegistrationType;
 import xyz.dynxsty.dih4jda.interactions.commands.application.SlashCommand;
 import xyz.dynxsty.dih4jda.interactions.components.ButtonHandler;
+import xyz.dynxsty.dih4jda.interactions.components.ComponentIds;
+import xyz.dynxsty.dih4jda.interactions.components.ComponentStateStore;
 import xyz.dynxsty.dih4jda.interactions.components.EntitySelectMenuHandler;
 import xyz.dynxsty.dih4jda.interactions.components.IdMapping;
 import xyz.dynxsty.dih4jda.interactions.components.ModalHandler;
 import xyz.dynxsty.dih4jda.interactions.components.StringSelectMenuHandler;
+import xyz.dynxsty.dih4jda.interceptors.InteractionInterceptor;
+import xyz.dynxsty.dih4jda.limits.CooldownScope;
+import xyz.dynxsty.dih4jda.limits.CooldownStore;
+import xyz.dynxsty.dih4jda.limits.RateLimit;
+import xyz.dynxsty.dih4jda.metrics.DenialAggregator;
+import xyz.dynxsty.dih4jda.metrics.InteractionMetrics;
 import xyz.dynxsty.dih4jda.util.Checks;
 import xyz.dynxsty.dih4jda.util.ClassUtils;
 import xyz.dynxsty.dih4jda.util.ClassWalker;
 import xyz.dynxsty.dih4jda.util.CommandUtils;
-import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
+import xyz.dynxsty.dih4jda.util.ComponentId;
 import xyz.dynxsty.dih4jda.util.Pair;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.reflect.Modifier;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -80,11 +113,15 @@ public class InteractionHandler extends ListenerAdapter {
     private static final Map<String, Command> RETRIEVED_COMMANDS;
 
     static {
-        RETRIEVED_COMMANDS = new HashMap<>();
+        RETRIEVED_COMMANDS = new ConcurrentHashMap<>();
     }
 
     protected final Set<SlashCommand> slashCommands;
     protected final Set<ContextCommand<?>> contextCommands;
+    /**
+     * All handlers that were annotated with {@link ComponentIds} and found in the commands packages.
+     */
+    private final List<Object> componentHandlers;
     /**
      * The main {@link DIH4JDA} instance.
      */
@@ -94,35 +131,31 @@ public class InteractionHandler extends ListenerAdapter {
      */
     private final DIH4JDAConfig config;
     /**
-     * An {@link Map} of all {@link SlashCommand}s with their {@link SlashCommandInteractionEvent#getFullCommandName name} as their key.
-     *
-     * @see InteractionHandler#findSlashCommands(String)
+     * The current, immutable {@link RouteTable} which maps all incoming command and autocomplete interactions
+     * to their {@link SlashCommand}, {@link SlashCommand.Subcommand} or {@link ContextCommand}.
+     * The table is compiled once per {@link InteractionHandler#registerInteractions()} call and replaced as a whole.
      */
-    private final Map<String, SlashCommand> slashCommandIndex;
+    private final AtomicReference<RouteTable> routes;
     /**
-     * An Index of all {@link SlashCommand.Subcommand}s.
-     *
-     * @see InteractionHandler#findSlashCommands(String)
+     * The default {@link Executor} for each {@link HandlerType}, indexed by their ordinal.
      */
-    private final Map<String, SlashCommand.Subcommand> subcommandIndex;
+    private final Executor[] typeExecutors;
     /**
-     * An Index of all {@link ContextCommand.Message}s.
-     *
-     * @see InteractionHandler#findContextCommands(String)
+     * The {@link AcknowledgementWatchdog}, or null if automatic deferral is disabled.
      */
-    private final Map<String, ContextCommand.Message> messageContextIndex;
+    private final AcknowledgementWatchdog watchdog;
     /**
-     * An Index of all {@link ContextCommand.User}s.
-     *
-     * @see InteractionHandler#findContextCommands(String)
+     * The {@link OrderedLanes}, or null if interactions are not ordered.
      */
-    private final Map<String, ContextCommand.User> userContextIndex;
+    private final OrderedLanes lanes;
     /**
-     * An Index of all {@link AutoCompletable}s.
-     *
-     * @see InteractionHandler#findSlashCommands(String)
+     * The {@link InteractionMetrics}, or null if interactions are not instrumented.
+     */
+    private final InteractionMetrics metrics;
+    /**
+     * All {@link InteractionInterceptor}s, in the order they wrap every interaction.
      */
-    private final Map<String, AutoCompletable> autoCompleteIndex;
+    private final InteractionInterceptor[] interceptors;
 
     /**
      * Constructs a new {@link InteractionHandler} from the supplied {@link DIH4JDA} instance}.
@@ -135,20 +168,34 @@ public class InteractionHandler extends ListenerAdapter {
 
         slashCommands = new HashSet<>();
         contextCommands = new HashSet<>();
+        componentHandlers = new ArrayList<>();
         for (String pkg : config.getCommandsPackages()) {
             try {
-                findSlashCommands(pkg);
-                findContextCommands(pkg);
+                // walk each package only once, so that component handlers can reuse the command instances
+                Set<Class<?>> classes = new ClassWalker(pkg).getAllClasses();
+                findSlashCommands(classes);
+                findContextCommands(classes);
+                findComponentHandlers(classes);
             } catch (ReflectiveOperationException | DIH4JDAException e) {
                 DIH4JDALogger.error("An error occurred while initializing commands in package %s: %s", pkg, e.getMessage());
             }
         }
-        // initialize indexes
-        slashCommandIndex = new HashMap<>();
-        subcommandIndex = new HashMap<>();
-        messageContextIndex = new HashMap<>();
-        userContextIndex = new HashMap<>();
-        autoCompleteIndex = new HashMap<>();
+        List<ApplicationCommand<?, ?>> commands = getAllCommands();
+        validateBulkheads(commands);
+        assignCooldownNamespaces();
+        if (config.getCooldownStore() != null) {
+            applyCooldownStore(commands, config.getCooldownStore());
+        }
+        routes = new AtomicReference<>(RouteTable.EMPTY);
+        typeExecutors = new Executor[HandlerType.values().length];
+        for (HandlerType type : HandlerType.values()) {
+            typeExecutors[type.ordinal()] = resolveExecutor(null, type);
+        }
+        watchdog = config.getAutoDeferThreshold().isZero() ? null
+                : new AcknowledgementWatchdog(dih4jda, config.getAutoDeferThreshold(), config.isAutoDeferEphemeral());
+        lanes = config.getOrderingMode() == OrderingMode.NONE ? null : new OrderedLanes(config.getOrderingLanes());
+        metrics = config.getMetrics();
+        interceptors = config.getInterceptors().toArray(new InteractionInterceptor[0]);
     }
 
     /**
@@ -172,10 +219,12 @@ public class InteractionHandler extends ListenerAdapter {
     public void registerInteractions() {
         // retrieve (and smartqueue) guild commands
         Pair<Set<SlashCommand>, Set<ContextCommand<?>>> data = new Pair<>(getSlashCommands(), getContextCommandData());
+        // compile and publish the route table before any command ids get bound
+        RouteTable table = routes.updateAndGet(previous -> RouteTable.compile(previous, data.getFirst(), data.getSecond(), this::resolveExecutor));
         for (Guild guild : config.getJda().getGuilds()) {
             guild.retrieveCommands(true).queue(existing -> {
                 Pair<Set<SlashCommand>, Set<ContextCommand<?>>> guildData = CommandUtils.filterByType(data, RegistrationType.GUILD);
-                existing.forEach(this::cacheCommand);
+                cacheCommands(existing);
                 // check if smart queuing is enabled
                 if (config.isGuildSmartQueue()) {
                     guildData = new SmartQueue(guildData.getFirst(), guildData.getSecond(), config.isDeleteUnknownCommands()).checkGuild(guild, existing);
@@ -190,7 +239,7 @@ public class InteractionHandler extends ListenerAdapter {
         // retrieve (and smartqueue) global commands
         config.getJda().retrieveCommands(true).queue(existing -> {
             Pair<Set<SlashCommand>, Set<ContextCommand<?>>> globalData = CommandUtils.filterByType(data, RegistrationType.GLOBAL);
-            existing.forEach(this::cacheCommand);
+            cacheCommands(existing);
             // check if smart queuing is enabled
             if (config.isGlobalSmartQueue()) {
                 globalData = new SmartQueue(globalData.getFirst(), globalData.getSecond(), config.isDeleteUnknownCommands()).checkGlobal(existing);
@@ -203,10 +252,11 @@ public class InteractionHandler extends ListenerAdapter {
             }
         }, error -> DIH4JDALogger.error("Could not retrieve global commands!"));
         // Log autocomplete bindings
-        if (!autoCompleteIndex.isEmpty()) {
+        Map<String, AutoCompletable> autoCompletables = table.getAutoCompletables();
+        if (!autoCompletables.isEmpty()) {
             // print autocomplete bindings
-            DIH4JDALogger.info("Created %s AutoComplete binding(s): %s", autoCompleteIndex.size(),
-                    autoCompleteIndex.entrySet().stream().map(entry -> entry.getKey() + "=" + entry.getValue().getClass().getSimpleName()).collect(Collectors.joining(", ")));
+            DIH4JDALogger.info("Created %s AutoComplete binding(s): %s", autoCompletables.size(),
+                    autoCompletables.entrySet().stream().map(entry -> entry.getKey() + "=" + entry.getValue().getClass().getSimpleName()).collect(Collectors.joining(", ")));
         }
     }
 
@@ -223,7 +273,7 @@ public class InteractionHandler extends ListenerAdapter {
         jda.updateCommands()
                 .addCommands(slashCommands.stream().map(SlashCommand::getCommandData).collect(Collectors.toSet()))
                 .addCommands(contextCommands.stream().map(ContextCommand::getCommandData).collect(Collectors.toSet()))
-                .queue(comdList -> comdList.forEach(this::cacheCommand));
+                .queue(this::cacheCommands);
     }
 
     /**
@@ -243,7 +293,7 @@ public class InteractionHandler extends ListenerAdapter {
         guild.updateCommands()
                 .addCommands(queueableSlashCommands.stream().map(SlashCommand::getCommandData).collect(Collectors.toSet()))
                 .addCommands(queueableContextCommands.stream().map(ContextCommand::getCommandData).collect(Collectors.toSet()))
-                .queue(comdList -> comdList.forEach(this::cacheCommand));
+                .queue(this::cacheCommands);
 
         if (queueableSlashCommands.size() != 0 || queueableContextCommands.size() != 0) {
             List<String> commandNames = queueableSlashCommands.stream()
@@ -307,7 +357,17 @@ public class InteractionHandler extends ListenerAdapter {
     }
 
     private void cacheCommand(@Nonnull Command command) {
-        RETRIEVED_COMMANDS.put(command.getName(), command);
+        cacheCommands(List.of(command));
+    }
+
+    /**
+     * Caches the specified {@link Command}s and binds their ids to the current {@link RouteTable}.
+     *
+     * @param commands The {@link Command}s that were retrieved or queued.
+     */
+    private void cacheCommands(@Nonnull List<Command> commands) {
+        commands.forEach(command -> RETRIEVED_COMMANDS.put(command.getName(), command));
+        routes.updateAndGet(table -> table.bind(commands));
     }
 
     /**
@@ -315,10 +375,9 @@ public class InteractionHandler extends ListenerAdapter {
      * Loops through all classes found in the commands package that is a subclass of
      * {@link SlashCommand}.
      */
-    private void findSlashCommands(@Nonnull String pkg) throws ReflectiveOperationException, DIH4JDAException {
-        ClassWalker classes = new ClassWalker(pkg);
-        Set<Class<? extends SlashCommand>> subTypes = classes.getSubTypesOf(SlashCommand.class);
-        for (Class<? extends SlashCommand> subType : subTypes) {
+    private void findSlashCommands(@Nonnull Set<Class<?>> classes) throws ReflectiveOperationException {
+        for (Class<?> subType : classes) {
+            if (!SlashCommand.class.isAssignableFrom(subType)) continue;
             if (Checks.checkEmptyConstructor(subType)) {
                 slashCommands.add((SlashCommand) ClassUtils.getInstance(subType));
             } else {
@@ -332,10 +391,9 @@ public class InteractionHandler extends ListenerAdapter {
      * Loops through all classes found in the commands package that is a subclass of
      * {@link ContextCommand}.
      */
-    private void findContextCommands(@Nonnull String pkg) throws ReflectiveOperationException, DIH4JDAException {
-        ClassWalker classes = new ClassWalker(pkg);
-        Set<Class<? extends ContextCommand>> subTypes = classes.getSubTypesOf(ContextCommand.class);
-        for (Class<? extends ContextCommand> subType : subTypes) {
+    private void findContextCommands(@Nonnull Set<Class<?>> classes) throws ReflectiveOperationException {
+        for (Class<?> subType : classes) {
+            if (!ContextCommand.class.isAssignableFrom(subType)) continue;
             if (Checks.checkEmptyConstructor(subType)) {
                 contextCommands.add((ContextCommand<?>) ClassUtils.getInstance(subType));
             } else {
@@ -345,54 +403,163 @@ public class InteractionHandler extends ListenerAdapter {
     }
 
     /**
-     * Gets all Commands that were found in {@link InteractionHandler#findSlashCommands(String)} and adds
-     * them to the {@link InteractionHandler#slashCommandIndex}.
+     * Collects all commands and subcommands.
      */
     @Nonnull
-    private Set<SlashCommand> getSlashCommands() {
-        Set<SlashCommand> commands = new HashSet<>();
-        for (SlashCommand command : this.slashCommands) {
-            if (command != null) {
-                SlashCommandData data = getBaseCommandData(command);
-                command.setCommandData(data);
-                if (command.getRegistrationType() != RegistrationType.GUILD && command.getQueueableGuilds().length != 0) {
-                    throw new UnsupportedOperationException(command.getClass().getName() + " attempted to require guilds for a non-global command!");
-                }
-                searchForAutoCompletable(command, command.getClass());
-                commands.add(command);
+    private List<ApplicationCommand<?, ?>> getAllCommands() {
+        List<ApplicationCommand<?, ?>> commands = new ArrayList<>(contextCommands);
+        for (SlashCommand command : slashCommands) {
+            commands.add(command);
+            commands.addAll(List.of(command.getSubcommands()));
+            for (SlashCommand.SubcommandGroup group : command.getSubcommandGroups()) {
+                commands.addAll(List.of(group.getSubcommands()));
             }
         }
         return commands;
     }
 
     /**
-     * Searches for {@link SlashCommand}s or {@link SlashCommand.Subcommand}s which implement the {@link AutoCompletable} interface.
+     * Validates the bulkheads of all commands and subcommands, so that an unknown one fails right away instead of
+     * once the commands get registered.
      *
-     * @param command The base {@link SlashCommand}.
-     * @param clazz   The command's class.
+     * @throws IllegalArgumentException If a command uses an unknown bulkhead.
+     */
+    private void validateBulkheads(@Nonnull List<ApplicationCommand<?, ?>> commands) {
+        for (ApplicationCommand<?, ?> command : commands) {
+            if (command.getBulkhead() != null && !config.getBulkheads().containsKey(command.getBulkhead())) {
+                throw new IllegalArgumentException(String.format("Unknown bulkhead \"%s\" of %s", command.getBulkhead(), command.getClass().getName()));
+            }
+        }
+    }
+
+    /**
+     * Keys the cooldowns of all commands and subcommands by their path, which is stable across restarts and
+     * distinguishes multiple instances of the same class.
+     */
+    private void assignCooldownNamespaces() {
+        for (SlashCommand command : slashCommands) {
+            String path = "slash:" + command.getCommandData().getName();
+            command.setCooldownNamespace(path);
+            for (SlashCommand.Subcommand subcommand : command.getSubcommands()) {
+                subcommand.setCooldownNamespace(path + " " + subcommand.getCommandData().getName());
+            }
+            for (SlashCommand.SubcommandGroup group : command.getSubcommandGroups()) {
+                for (SlashCommand.Subcommand subcommand : group.getSubcommands()) {
+                    subcommand.setCooldownNamespace(path + " " + group.getData().getName() + " " + subcommand.getCommandData().getName());
+                }
+            }
+        }
+        for (ContextCommand<?> command : contextCommands) {
+            command.setCooldownNamespace(command.getCommandData().getType().name().toLowerCase(Locale.ROOT) + ":" + command.getCommandData().getName());
+        }
+    }
+
+    /**
+     * Sets the given {@link CooldownStore} for all commands and subcommands, which did not set their own one.
+     */
+    private void applyCooldownStore(@Nonnull List<ApplicationCommand<?, ?>> commands, @Nonnull CooldownStore store) {
+        for (RestrictedCommand command : commands) {
+            // the default store is replaced, while one that was set explicitly is kept
+            if (!command.hasCustomCooldownStore()) {
+                command.setCooldownStore(store);
+            }
+        }
+    }
+
+    /**
+     * Finds all component handlers that are annotated with {@link ComponentIds}.
+     * Commands (and their subcommands) reuse the instance that was created by
+     * {@link InteractionHandler#findSlashCommands(Set)} or {@link InteractionHandler#findContextCommands(Set)}.
      */
-    private void searchForAutoCompletable(@Nonnull SlashCommand command, @Nonnull Class<? extends SlashCommand> clazz) {
-        // check base command
-        String baseName = command.getCommandData().getName();
-        if (Checks.checkImplementation(clazz, AutoCompletable.class)) {
-            autoCompleteIndex.put(baseName, (AutoCompletable) command);
+    private void findComponentHandlers(@Nonnull Set<Class<?>> classes) throws ReflectiveOperationException {
+        Map<Class<?>, Object> instances = new HashMap<>();
+        for (SlashCommand command : slashCommands) {
+            if (command == null) continue;
+            instances.put(command.getClass(), command);
+            for (SlashCommand.Subcommand subcommand : command.getSubcommands()) {
+                instances.put(subcommand.getClass(), subcommand);
+            }
+            for (SlashCommand.SubcommandGroup group : command.getSubcommandGroups()) {
+                for (SlashCommand.Subcommand subcommand : group.getSubcommands()) {
+                    instances.put(subcommand.getClass(), subcommand);
+                }
+            }
         }
-        // check subcommands
-        for (SlashCommand.Subcommand child : command.getSubcommands()) {
-            if (Checks.checkImplementation(child.getClass(), AutoCompletable.class)) {
-                autoCompleteIndex.put(CommandUtils.buildCommandPath(baseName, child.getCommandData().getName()), (AutoCompletable) child);
+        for (ContextCommand<?> command : contextCommands) {
+            if (command != null) {
+                instances.put(command.getClass(), command);
             }
         }
-        // check subcommand groups
-        for (SlashCommand.SubcommandGroup childGroup : command.getSubcommandGroups()) {
-            String groupName = childGroup.getData().getName();
-            // check subcommands
-            for (SlashCommand.Subcommand child : childGroup.getSubcommands()) {
-                if (Checks.checkImplementation(child.getClass(), AutoCompletable.class)) {
-                    autoCompleteIndex.put(CommandUtils.buildCommandPath(baseName, groupName, child.getCommandData().getName()), (AutoCompletable) child);
+        for (Class<?> type : classes) {
+            if (!type.isAnnotationPresent(ComponentIds.class) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                continue;
+            }
+            if (!ButtonHandler.class.isAssignableFrom(type) && !StringSelectMenuHandler.class.isAssignableFrom(type)
+                    && !EntitySelectMenuHandler.class.isAssignableFrom(type) && !ModalHandler.class.isAssignableFrom(type)) {
+                DIH4JDALogger.warn("%s is annotated with @ComponentIds, but does not implement any handler. It will be ignored.", type.getName());
+                continue;
+            }
+            Object instance = instances.get(type);
+            if (instance == null) {
+                if (!Checks.checkEmptyConstructor(type)) {
+                    DIH4JDALogger.error("Could not initialize %s! The class MUST contain a empty public constructor.", type.getName());
+                    continue;
+                }
+                instance = ClassUtils.getInstance(type);
+            }
+            componentHandlers.add(instance);
+        }
+    }
+
+    /**
+     * Maps all handlers that were found by {@link InteractionHandler#findComponentHandlers(Set)}, compiling each
+     * {@link ComponentRegistry} only once.
+     *
+     * @throws IllegalArgumentException If the same id is mapped more than once.
+     */
+    void addComponentHandlers() {
+        if (componentHandlers.isEmpty()) return;
+        addComponentHandlers(dih4jda.getButtonRegistry(), ButtonHandler.class);
+        addComponentHandlers(dih4jda.getStringSelectMenuRegistry(), StringSelectMenuHandler.class);
+        addComponentHandlers(dih4jda.getEntitySelectMenuRegistry(), EntitySelectMenuHandler.class);
+        addComponentHandlers(dih4jda.getModalRegistry(), ModalHandler.class);
+        DIH4JDALogger.info("Created %s component binding(s): %s", componentHandlers.size(), componentHandlers.stream()
+                .map(handler -> Arrays.toString(handler.getClass().getAnnotation(ComponentIds.class).value()) + "=" + handler.getClass().getSimpleName())
+                .collect(Collectors.joining(", ")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void addComponentHandlers(@Nonnull ComponentRegistry<T> registry, @Nonnull Class<T> type) {
+        List<IdMapping<T>> mappings = new ArrayList<>();
+        for (Object handler : componentHandlers) {
+            if (!type.isInstance(handler)) continue;
+            ComponentIds ids = handler.getClass().getAnnotation(ComponentIds.class);
+            IdMapping<T> mapping = IdMapping.of(type.cast(handler), ids.value());
+            mappings.add(ids.bulkhead().isEmpty() ? mapping : mapping.withBulkhead(ids.bulkhead()));
+        }
+        if (!mappings.isEmpty()) {
+            registry.add(mappings.toArray(new IdMapping[0]));
+        }
+    }
+
+    /**
+     * Gets all Commands that were found in {@link InteractionHandler#findSlashCommands(Set)} and prepares their
+     * complete {@link SlashCommandData}.
+     */
+    @Nonnull
+    private Set<SlashCommand> getSlashCommands() {
+        Set<SlashCommand> commands = new HashSet<>();
+        for (SlashCommand command : this.slashCommands) {
+            if (command != null) {
+                SlashCommandData data = getBaseCommandData(command);
+                command.setCommandData(data);
+                if (command.getRegistrationType() != RegistrationType.GUILD && command.getQueueableGuilds().length != 0) {
+                    throw new UnsupportedOperationException(command.getClass().getName() + " attempted to require guilds for a non-global command!");
                 }
+                commands.add(command);
             }
         }
+        return commands;
     }
 
     /**
@@ -412,7 +579,6 @@ public class InteractionHandler extends ListenerAdapter {
             commandData.addSubcommands(getSubcommandData(command, command.getSubcommands(), null));
         }
         if (command.getSubcommandGroups().length == 0 && command.getSubcommands().length == 0) {
-            slashCommandIndex.put(CommandUtils.buildCommandPath(commandData.getName()), command);
             DIH4JDALogger.info(DIH4JDALogger.Type.SLASH_COMMAND_REGISTERED, "\t[*] Registered command: /%s (%s)", command.getCommandData().getName(), command.getRegistrationType().name());
         }
         return commandData;
@@ -461,7 +627,6 @@ public class InteractionHandler extends ListenerAdapter {
                 } else {
                     commandPath = CommandUtils.buildCommandPath(command.getCommandData().getName(), subGroupName, subcommand.getCommandData().getName());
                 }
-                subcommandIndex.put(commandPath, subcommand);
                 DIH4JDALogger.info(DIH4JDALogger.Type.SLASH_COMMAND_REGISTERED, "\t[*] Registered command: /%s (%s)", commandPath, command.getRegistrationType().name());
                 subDataList.add(subcommand.getCommandData());
             }
@@ -470,7 +635,7 @@ public class InteractionHandler extends ListenerAdapter {
     }
 
     /**
-     * Gets all Guild Context commands registered in {@link InteractionHandler#findContextCommands(String)} and
+     * Gets all Guild Context commands registered in {@link InteractionHandler#findContextCommands(Set)} and
      * returns their {@link CommandData} as a List.
      */
     @Nonnull
@@ -500,11 +665,7 @@ public class InteractionHandler extends ListenerAdapter {
     @Nullable
     private CommandData getContextCommandData(@Nonnull ContextCommand<?> command) {
         CommandData data = command.getCommandData();
-        if (data.getType() == Command.Type.MESSAGE) {
-            messageContextIndex.put(data.getName(), (ContextCommand.Message) command);
-        } else if (command.getCommandData().getType() == Command.Type.USER) {
-            userContextIndex.put(data.getName(), (ContextCommand.User) command);
-        } else {
+        if (data.getType() != Command.Type.MESSAGE && data.getType() != Command.Type.USER) {
             DIH4JDALogger.error("Invalid Command Type \"%s\" for Context Command! This command will be ignored.", data.getType());
             return null;
         }
@@ -516,11 +677,24 @@ public class InteractionHandler extends ListenerAdapter {
      * Handles a single {@link SlashCommand} or {@link SlashCommand.Subcommand}.
      * If a {@link SlashCommandInteractionEvent} is fired the corresponding class is found and the command is executed.
      *
-     * @param event The {@link SlashCommandInteractionEvent} that was fired.
+     * @param event    The {@link SlashCommandInteractionEvent} that was fired.
+     * @param path     The path of the interaction in the {@link InteractionMetrics}, if metrics are enabled.
+     * @param route    The {@link RouteTable.CommandRoute} of the command, if found.
+     * @param subRoute The {@link RouteTable.SubcommandRoute} of the subcommand, if found.
      */
-    private void handleSlashCommand(@Nonnull SlashCommandInteractionEvent event) throws CommandNotRegisteredException {
-        SlashCommand slashcommand = slashCommandIndex.get(event.getFullCommandName());
-        SlashCommand.Subcommand subcommand = subcommandIndex.get(event.getFullCommandName());
+    @Nonnull
+    private CompletionStage<?> handleSlashCommand(@Nonnull SlashCommandInteractionEvent event, @Nullable String path,
+                                                  @Nullable RouteTable.CommandRoute route, @Nullable RouteTable.SubcommandRoute subRoute)
+            throws CommandNotRegisteredException {
+        SlashCommand slashcommand = null;
+        SlashCommand.Subcommand subcommand = null;
+        if (route != null) {
+            if (subRoute != null) {
+                subcommand = subRoute.getSubcommand();
+            } else if (!route.hasSubcommands() && event.getSubcommandName() == null) {
+                slashcommand = (SlashCommand) route.getCommand();
+            }
+        }
         if (slashcommand == null && subcommand == null) {
             if (config.isThrowUnregisteredException()) {
                 throw new CommandNotRegisteredException(String.format("Slash Command \"%s\" is not registered.", event.getFullCommandName()));
@@ -530,14 +704,15 @@ public class InteractionHandler extends ListenerAdapter {
             if (slashcommand == null) {
                 BaseApplicationCommand<SlashCommandInteractionEvent, ?> base = subcommand.getParent();
                 if (base != null) {
-                    if (passesRequirements(event, base, base.getRegistrationType()) && passesRequirements(event, subcommand, base.getRegistrationType())) {
-                        subcommand.execute(event);
+                    if (passesRequirements(event, path, base, subcommand, base.getRegistrationType())) {
+                        return subcommand.executeAsync(event);
                     }
                 }
-            } else if (passesRequirements(event, slashcommand, slashcommand.getRegistrationType())) {
-                slashcommand.execute(event);
+            } else if (passesRequirements(event, path, null, slashcommand, slashcommand.getRegistrationType())) {
+                return slashcommand.executeAsync(event);
             }
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -545,18 +720,24 @@ public class InteractionHandler extends ListenerAdapter {
      * If a {@link UserContextInteractionEvent} is fired the corresponding class is found and the command is executed.
      *
      * @param event The {@link UserContextInteractionEvent} that was fired.
+     * @param path  The path of the interaction in the {@link InteractionMetrics}, if metrics are enabled.
+     * @param route The {@link RouteTable.CommandRoute} of the command, if found.
      */
-    private void handleUserContextCommand(@Nonnull UserContextInteractionEvent event) throws CommandNotRegisteredException {
-        ContextCommand.User context = userContextIndex.get(event.getFullCommandName());
+    @Nonnull
+    private CompletionStage<?> handleUserContextCommand(@Nonnull UserContextInteractionEvent event, @Nullable String path,
+                                                        @Nullable RouteTable.CommandRoute route)
+            throws CommandNotRegisteredException {
+        ContextCommand.User context = route == null ? null : (ContextCommand.User) route.getCommand();
         if (context == null) {
             if (config.isThrowUnregisteredException()) {
                 throw new CommandNotRegisteredException(String.format("Context Command \"%s\" is not registered.", event.getFullCommandName()));
             }
         } else {
-            if (passesRequirements(event, context, context.getRegistrationType())) {
-                context.execute(event);
+            if (passesRequirements(event, path, null, context, context.getRegistrationType())) {
+                return context.executeAsync(event);
             }
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -564,33 +745,326 @@ public class InteractionHandler extends ListenerAdapter {
      * If a {@link MessageContextInteractionEvent} is fired the corresponding class is found and the command is executed.
      *
      * @param event The {@link MessageContextInteractionEvent} that was fired.
+     * @param path  The path of the interaction in the {@link InteractionMetrics}, if metrics are enabled.
+     * @param route The {@link RouteTable.CommandRoute} of the command, if found.
      */
-    private void handleMessageContextCommand(@Nonnull MessageContextInteractionEvent event) throws CommandNotRegisteredException {
-        ContextCommand.Message context = messageContextIndex.get(event.getFullCommandName());
+    @Nonnull
+    private CompletionStage<?> handleMessageContextCommand(@Nonnull MessageContextInteractionEvent event, @Nullable String path,
+                                                           @Nullable RouteTable.CommandRoute route)
+            throws CommandNotRegisteredException {
+        ContextCommand.Message context = route == null ? null : (ContextCommand.Message) route.getCommand();
         if (context == null) {
             if (config.isThrowUnregisteredException()) {
                 throw new CommandNotRegisteredException(String.format("Context Command \"%s\" is not registered.", event.getFullCommandName()));
             }
         } else {
-            if (passesRequirements(event, context, context.getRegistrationType())) {
-                context.execute(event);
+            if (passesRequirements(event, path, null, context, context.getRegistrationType())) {
+                return context.executeAsync(event);
             }
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Finds the {@link RouteTable.SubcommandRoute} for the given {@link CommandInteractionPayload}.
+     *
+     * @param route   The {@link RouteTable.CommandRoute} of the base command.
+     * @param payload The {@link CommandInteractionPayload}.
+     * @return The {@link RouteTable.SubcommandRoute} or null, if the command has no (matching) subcommand.
+     */
+    @Nullable
+    private RouteTable.SubcommandRoute findSubcommand(@Nullable RouteTable.CommandRoute route, @Nonnull CommandInteractionPayload payload) {
+        if (route == null || !route.hasSubcommands()) {
+            return null;
+        }
+        return route.findSubcommand(payload.getSubcommandGroup(), payload.getSubcommandName());
+    }
+
+    /**
+     * Finds the {@link AutoCompletable} for the given {@link CommandAutoCompleteInteractionEvent}.
+     *
+     * @param event The {@link CommandAutoCompleteInteractionEvent} that was fired.
+     * @return The {@link AutoCompletable} or null, if no binding exists.
+     */
+    @Nullable
+    private AutoCompletable findAutoCompletable(@Nonnull CommandAutoCompleteInteractionEvent event) {
+        RouteTable.CommandRoute route = routes.get().find(Command.Type.SLASH, event.getCommandIdLong(), event.getName());
+        if (route == null) {
+            return null;
+        }
+        if (!route.hasSubcommands()) {
+            return route.getAutoCompletable();
+        }
+        RouteTable.SubcommandRoute subRoute = findSubcommand(route, event);
+        return subRoute == null ? null : subRoute.getAutoCompletable();
+    }
+
+    /**
+     * Resolves the {@link Executor} for the specified bulkhead or {@link HandlerType}.
+     * This is only done once, upon registering commands or component mappings.
+     *
+     * @param bulkhead The name of the {@link Bulkhead}, may be null.
+     * @param type     The {@link HandlerType}, whose default {@link Bulkhead} is used if no name was provided.
+     * @return The {@link Executor} to use.
+     * @throws IllegalArgumentException If the bulkhead is unknown.
+     */
+    @Nonnull
+    private Executor resolveExecutor(@Nullable String bulkhead, @Nonnull HandlerType type) {
+        String name = bulkhead != null ? bulkhead : config.getDefaultBulkheads().get(type);
+        if (name == null) {
+            return config.getExecutor();
+        }
+        Bulkhead resolved = config.getBulkheads().get(name);
+        if (resolved == null) {
+            throw new IllegalArgumentException("Unknown bulkhead: " + name);
+        }
+        return resolved;
+    }
+
+    /**
+     * Gets the {@link Executor} that handles all interactions of the given {@link HandlerType}, which are not bound
+     * to a bulkhead.
+     *
+     * @param type The {@link HandlerType}.
+     * @return The {@link Executor}.
+     */
+    @Nonnull
+    Executor getTypeExecutor(@Nonnull HandlerType type) {
+        return typeExecutors[type.ordinal()];
+    }
+
+    /**
+     * Compiles a new {@link ComponentRouter} for the specified mappings, resolving their {@link Executor}s.
+     *
+     * @param mappings The {@link IdMapping}s.
+     * @param type     The {@link HandlerType} of the mappings.
+     * @param <T>      The handlers' type.
+     * @return The compiled {@link ComponentRouter}.
+     * @throws IllegalArgumentException If the same id is mapped more than once.
+     */
+    @Nonnull
+    <T> ComponentRouter<T> compileRouter(@Nonnull IdMapping<T>[] mappings, @Nonnull HandlerType type) {
+        return ComponentRouter.compile(mappings, type, this::resolveExecutor);
+    }
+
+    /**
+     * Resolves the state of the given component-id, using the configured {@link ComponentStateStore}.
+     *
+     * @param componentId The component-id.
+     * @return The state, or null if no store is configured, the id contains no token or the state expired.
+     */
+    @Nullable
+    private Object resolveState(@Nonnull String componentId) {
+        ComponentStateStore store = config.getComponentStateStore();
+        return store == null ? null : store.resolve(componentId);
+    }
+
+    /**
+     * Submits the given task to the specified {@link Executor}. Any {@link Throwable} the task raises, as well as
+     * a {@link RejectedExecutionException} (e.g. if a {@link Bulkhead} is saturated), is passed to the error handler.
+     * If enabled, the {@link AcknowledgementWatchdog} starts watching the interaction right away and the
+     * {@link AdmissionController} decides whether the interaction is admitted at all.
+     *
+     * @param interaction  The {@link Interaction} that is handled.
+     * @param received     The {@link System#nanoTime()} the interaction was received at.
+     * @param executor     The {@link Executor} to run the task on.
+     * @param priority     The priority of the interaction, as used by the {@link AdmissionController}.
+     * @param task         The task to run.
+     * @param errorHandler Handles all errors, usually by firing the corresponding {@link DIH4JDAEvent}.
+     */
+    private void submit(@Nonnull Interaction interaction, long received, @Nonnull Executor executor, int priority,
+                        @Nonnull InteractionTask task, @Nonnull Consumer<Throwable> errorHandler) {
+        long arrival = System.nanoTime();
+        String path = null;
+        if (metrics != null) {
+            path = getMetricPath(interaction);
+            metrics.record(path, InteractionMetrics.Phase.DISPATCH, arrival - received);
+        }
+        AcknowledgementWatchdog.Watch watch = watchdog == null ? null : watchdog.watch(interaction);
+        AdmissionController admission = config.getAdmissionController();
+        if (admission == null) {
+            dispatch(interaction, path, received, executor, arrival, watch, null, task, errorHandler);
+            return;
+        }
+        String metricPath = path;
+        admission.submit(priority, permit -> dispatch(interaction, metricPath, received, executor, arrival, watch, permit, task, errorHandler), (reason, queueWait) -> {
+            if (watch != null) watch.cancel();
+            if (metrics != null) metrics.recordFailure(metricPath);
+            DIH4JDAEvent.fire(new OverloadEvent(dih4jda, interaction, reason, queueWait));
+        });
+    }
+
+    /**
+     * Hands a (admitted) task to its {@link Executor}, or its {@link OrderedLanes lane} if interactions are ordered.
+     * Once the {@link CompletionStage} the task returns completes, all failures are passed to the error handler and
+     * the {@link AdmissionController.Permit} is released.
+     */
+    private void dispatch(@Nonnull Interaction interaction, @Nullable String path, long received, @Nonnull Executor executor, long arrival,
+                          @Nullable AcknowledgementWatchdog.Watch watch, @Nullable AdmissionController.Permit permit,
+                          @Nonnull InteractionTask task, @Nonnull Consumer<Throwable> errorHandler) {
+        Supplier<CompletionStage<?>> run = () -> {
+            long started = System.nanoTime();
+            if (watch != null) watch.started();
+            CompletionStage<?> stage;
+            try {
+                // without interceptors, the task is called directly, so that nothing is allocated
+                stage = interceptors.length == 0 ? task.run(path)
+                        : new InterceptorChain(interaction, path, started - arrival, task, 0).proceed();
+            } catch (Throwable e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            if (stage == null) {
+                stage = CompletableFuture.completedFuture(null);
+            }
+            return stage.whenComplete((result, error) -> {
+                try {
+                    if (error != null) {
+                        if (metrics != null) metrics.recordFailure(path);
+                        errorHandler.accept(unwrap(error));
+                    }
+                } finally {
+                    if (watch != null) watch.finished();
+                    if (permit != null) permit.release();
+                    long completed = System.nanoTime();
+                    if (metrics != null) {
+                        metrics.record(path, InteractionMetrics.Phase.QUEUE, started - arrival);
+                        metrics.record(path, InteractionMetrics.Phase.EXECUTION, completed - started);
+                        metrics.record(path, InteractionMetrics.Phase.TOTAL, completed - received);
+                    }
+                    // checked first, so that the arguments are neither boxed nor allocated unless the message is logged
+                    if (DIH4JDALogger.isTraceEnabled(DIH4JDALogger.Type.INTERACTION_HANDLED)) {
+                        DIH4JDALogger.trace(DIH4JDALogger.Type.INTERACTION_HANDLED, "Handled %s %s in %.2fms (waited %.2fms)",
+                                interaction.getType(), interaction.getId(), (completed - arrival) / 1e6, (started - arrival) / 1e6);
+                    }
+                }
+            });
+        };
+        Consumer<RejectedExecutionException> rejected = e -> {
+            if (watch != null) watch.cancel();
+            if (permit != null) permit.release();
+            if (metrics != null) metrics.recordFailure(path);
+            errorHandler.accept(e);
+        };
+        // autocomplete interactions are never ordered, as they are superseded by the next keystroke anyway
+        if (lanes != null && !(interaction instanceof CommandAutoCompleteInteraction)) {
+            lanes.executeAsync(getOrderingKey(interaction), executor, run, rejected);
+            return;
+        }
+        try {
+            // a bulkhead holds its permit until the stage completed, and rejects the task on its own once queued
+            executor.execute(new Bulkhead.Task() {
+                @Override
+                public CompletionStage<?> start() {
+                    return run.get();
+                }
+
+                @Override
+                public void reject(@Nonnull RejectedExecutionException e) {
+                    rejected.accept(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.accept(e);
+        }
+    }
+
+    /**
+     * Unwraps the {@link CompletionException}s that wrap failures of chained {@link CompletionStage}s.
+     *
+     * @param error The {@link Throwable}.
+     * @return The actual cause.
+     */
+    @Nonnull
+    private static Throwable unwrap(@Nonnull Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Gets the key which the given {@link Interaction} is ordered by, depending on the {@link OrderingMode}.
+     *
+     * @param interaction The {@link Interaction}.
+     * @return The guild's or user's id.
+     */
+    private long getOrderingKey(@Nonnull Interaction interaction) {
+        if (config.getOrderingMode() == OrderingMode.GUILD && interaction.getGuild() != null) {
+            return interaction.getGuild().getIdLong();
+        }
+        return interaction.getUser().getIdLong();
+    }
+
+    /**
+     * Gets the path the given {@link Interaction} is grouped by in the {@link InteractionMetrics}, which is the command
+     * type and full command name for commands, and the component type and the component-id's identifier for components.
+     *
+     * @param interaction The {@link Interaction}.
+     * @return The path, e.g. {@code slash:config set} or {@code button:vote}.
+     */
+    @Nonnull
+    private static String getMetricPath(@Nonnull Interaction interaction) {
+        if (interaction instanceof CommandInteractionPayload) {
+            CommandInteractionPayload payload = (CommandInteractionPayload) interaction;
+            String type = interaction instanceof CommandAutoCompleteInteraction ? "autocomplete" : payload.getCommandType().name();
+            return type.toLowerCase(Locale.ROOT) + ":" + payload.getFullCommandName();
+        }
+        if (interaction instanceof ComponentInteraction) {
+            ComponentInteraction component = (ComponentInteraction) interaction;
+            return component.getComponentType().name().toLowerCase(Locale.ROOT) + ":" + ComponentId.identifierOf(component.getComponentId());
+        }
+        if (interaction instanceof ModalInteraction) {
+            return "modal:" + ComponentId.identifierOf(((ModalInteraction) interaction).getModalId());
+        }
+        return interaction.getType().name().toLowerCase(Locale.ROOT);
     }
 
     /**
      * Checks if the given {@link CommandInteraction} passes the
-     * {@link RestrictedCommand} requirements.
+     * {@link RestrictedCommand} requirements of the command and, for subcommands, of its base command.
      * If not, this will then fire the corresponding event using {@link DIH4JDAEvent#fire(DIH4JDAEvent)}
      *
      * @param interaction The {@link CommandInteraction}.
+     * @param path        The path of the interaction in the {@link InteractionMetrics}, if metrics are enabled.
+     * @param base        The base command of a subcommand, whose restrictions apply as well, or null.
      * @param command     The {@link RestrictedCommand} which contains the (possible) restrictions.
      * @param type        The {@link RegistrationType} of the {@link BaseApplicationCommand}.
      * @return Whether the event was fired.
      * @since v1.5
      */
-    private boolean passesRequirements(@Nonnull CommandInteraction interaction, @Nonnull RestrictedCommand command,
-                                       @Nonnull RegistrationType type) {
+    private boolean passesRequirements(@Nonnull CommandInteraction interaction, @Nullable String path, @Nullable RestrictedCommand base,
+                                       @Nonnull RestrictedCommand command, @Nonnull RegistrationType type) {
+        if (metrics == null) {
+            return checkRequirements(interaction, base, command, type);
+        }
+        long start = System.nanoTime();
+        try {
+            return checkRequirements(interaction, base, command, type);
+        } finally {
+            metrics.record(path, InteractionMetrics.Phase.REQUIREMENTS, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Performs the actual requirement checks of {@link InteractionHandler#passesRequirements}. All restrictions,
+     * rate limits and cooldowns are checked before any of them is used, so that a denied invocation does not use up
+     * the rate limits or cooldowns of the other checks, or those of the base command. Only if a concurrent invocation
+     * passes in between, a rate limit or cooldown may rarely be used up, even though a later one denies it.
+     */
+    private boolean checkRequirements(@Nonnull CommandInteraction interaction, @Nullable RestrictedCommand base,
+                                      @Nonnull RestrictedCommand command, @Nonnull RegistrationType type) {
+        if (base != null && !checkRestrictions(interaction, base, type)) return false;
+        if (!checkRestrictions(interaction, command, type)) return false;
+        if (base != null && !acquireLimits(interaction, base)) return false;
+        return acquireLimits(interaction, command);
+    }
+
+    /**
+     * Checks the restrictions, rate limits and cooldowns of a single {@link RestrictedCommand}, without using any of
+     * them.
+     */
+    private boolean checkRestrictions(@Nonnull CommandInteraction interaction, @Nonnull RestrictedCommand command,
+                                      @Nonnull RegistrationType type) {
         long userId = interaction.getUser().getIdLong();
         Long[] guildIds = command.getRequiredGuilds();
         Permission[] permissions = command.getRequiredPermissions();
@@ -599,38 +1073,101 @@ public class InteractionHandler extends ListenerAdapter {
         if (type == RegistrationType.GUILD && guildIds.length != 0 && interaction.isFromGuild() &&
                 interaction.isFromGuild() && !List.of(guildIds).contains(interaction.getGuild().getIdLong())
         ) {
-            DIH4JDAEvent.fire(new InvalidGuildEvent(dih4jda, interaction, Set.of(guildIds)));
+            deny(interaction, DenialAggregator.Reason.INVALID_GUILD, () -> new InvalidGuildEvent(dih4jda, interaction, Set.of(guildIds)));
             return false;
         }
         if (permissions.length != 0 && interaction.isFromGuild() &&
                 interaction.getMember() != null && !interaction.getMember().hasPermission(permissions)) {
-            DIH4JDAEvent.fire(new InsufficientPermissionsEvent(dih4jda, interaction, Set.of(permissions)));
+            deny(interaction, DenialAggregator.Reason.INSUFFICIENT_PERMISSIONS, () -> new InsufficientPermissionsEvent(dih4jda, interaction, Set.of(permissions)));
             return false;
         }
         if (userIds.length != 0 && !List.of(userIds).contains(userId)) {
-            DIH4JDAEvent.fire(new InvalidUserEvent(dih4jda, interaction, Set.of(userIds)));
+            deny(interaction, DenialAggregator.Reason.INVALID_USER, () -> new InvalidUserEvent(dih4jda, interaction, Set.of(userIds)));
             return false;
         }
         if (interaction.isFromGuild() && interaction.getMember() != null) {
             Member member = interaction.getMember();
             if (roleIds.length != 0 && !member.getRoles().isEmpty() &&
                     member.getRoles().stream().noneMatch(r -> List.of(roleIds).contains(r.getIdLong()))) {
-                DIH4JDAEvent.fire(new InvalidRoleEvent(dih4jda, interaction, Set.of(roleIds)));
+                deny(interaction, DenialAggregator.Reason.INVALID_ROLE, () -> new InvalidRoleEvent(dih4jda, interaction, Set.of(roleIds)));
                 return false;
             }
         }
-        // check if the command has enabled some sort of cooldown
-        if (!command.getCommandCooldown().equals(Duration.ZERO)) {
-            if (command.hasCooldown(userId)) {
-                DIH4JDAEvent.fire(new CommandCooldownEvent(dih4jda, interaction, command.retrieveCooldown(userId)));
+        for (RateLimit rateLimit : command.getRateLimits()) {
+            Duration retryAfter = rateLimit.peek(interaction);
+            if (!retryAfter.isZero()) {
+                denyRateLimit(interaction, rateLimit, retryAfter);
                 return false;
-            } else {
-                command.applyCooldown(userId, Instant.now().plus(command.getCommandCooldown()));
             }
         }
+        CooldownScope scope = command.peekCooldown(interaction);
+        if (scope != null) {
+            denyCooldown(interaction, command, scope);
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Uses the rate limits and applies the cooldown of a single {@link RestrictedCommand}, which were already checked
+     * by {@link InteractionHandler#checkRestrictions}. This only fails if a concurrent invocation used them up in
+     * the meantime.
+     */
+    private boolean acquireLimits(@Nonnull CommandInteraction interaction, @Nonnull RestrictedCommand command) {
+        for (RateLimit rateLimit : command.getRateLimits()) {
+            Duration retryAfter = rateLimit.tryAcquire(interaction);
+            if (!retryAfter.isZero()) {
+                denyRateLimit(interaction, rateLimit, retryAfter);
+                return false;
+            }
+        }
+        // check and apply the cooldown at once, so that concurrent invocations can't both pass
+        CooldownScope scope = command.tryAcquireCooldown(interaction);
+        if (scope != null) {
+            denyCooldown(interaction, command, scope);
+            return false;
+        }
+        return true;
+    }
+
+    private void denyRateLimit(@Nonnull CommandInteraction interaction, @Nonnull RateLimit rateLimit, @Nonnull Duration retryAfter) {
+        deny(interaction, DenialAggregator.Reason.RATE_LIMIT, () -> new RateLimitEvent(dih4jda, interaction, rateLimit, retryAfter));
+    }
+
+    private void denyCooldown(@Nonnull CommandInteraction interaction, @Nonnull RestrictedCommand command, @Nonnull CooldownScope scope) {
+        deny(interaction, DenialAggregator.Reason.COOLDOWN, () -> new CommandCooldownEvent(dih4jda, interaction,
+                command.retrieveCooldown(scope, scope.getId(interaction)), scope));
+    }
+
+    /**
+     * Records a denied command with the {@link DenialAggregator} (if set) and fires the corresponding event, unless
+     * the aggregator replaces the individual events.
+     *
+     * @param interaction The denied {@link CommandInteraction}.
+     * @param reason      The {@link DenialAggregator.Reason} the command was denied.
+     * @param event       Creates the event to fire.
+     */
+    private void deny(@Nonnull CommandInteraction interaction, @Nonnull DenialAggregator.Reason reason,
+                      @Nonnull Supplier<? extends DIH4JDAEvent<?>> event) {
+        DenialAggregator denials = config.getDenialAggregator();
+        if (denials != null) {
+            Guild guild = interaction.getGuild();
+            denials.record(interaction.getFullCommandName(), guild == null ? 0 : guild.getIdLong(), reason);
+            if (!denials.isFiringEvents()) return;
+        }
+        DIH4JDAEvent.fire(event.get());
+    }
+
+    /**
+     * Stops the {@link AcknowledgementWatchdog}'s timer thread, once JDA shut down.
+     *
+     * @param event The {@link ShutdownEvent} that was fired.
+     */
+    @Override
+    public void onShutdown(@Nonnull ShutdownEvent event) {
+        if (watchdog != null) watchdog.stop();
+    }
+
     /**
      * Fired if Discord reports a {@link SlashCommandInteractionEvent}.
      *
@@ -638,13 +1175,14 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                handleSlashCommand(event);
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new CommandExceptionEvent(dih4jda, event, e));
-            }
-        }, config.getExecutor());
+        long received = System.nanoTime();
+        RouteTable.CommandRoute route = routes.get().find(Command.Type.SLASH, event.getCommandIdLong(), event.getName());
+        RouteTable.SubcommandRoute subRoute = findSubcommand(route, event);
+        Executor executor = subRoute != null ? subRoute.getExecutor()
+                : route != null ? route.getExecutor() : typeExecutors[HandlerType.SLASH_COMMAND.ordinal()];
+        int priority = subRoute != null ? subRoute.getPriority() : route != null ? route.getPriority() : 0;
+        submit(event, received, executor, priority, path -> handleSlashCommand(event, path, route, subRoute),
+                e -> DIH4JDAEvent.fire(new CommandExceptionEvent(dih4jda, event, e)));
     }
 
     /**
@@ -654,13 +1192,11 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onUserContextInteraction(@Nonnull UserContextInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                handleUserContextCommand(event);
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new CommandExceptionEvent(dih4jda, event, e));
-            }
-        }, config.getExecutor());
+        long received = System.nanoTime();
+        RouteTable.CommandRoute route = routes.get().find(Command.Type.USER, event.getCommandIdLong(), event.getName());
+        Executor executor = route != null ? route.getExecutor() : typeExecutors[HandlerType.USER_CONTEXT_COMMAND.ordinal()];
+        submit(event, received, executor, route != null ? route.getPriority() : 0, path -> handleUserContextCommand(event, path, route),
+                e -> DIH4JDAEvent.fire(new CommandExceptionEvent(dih4jda, event, e)));
     }
 
     /**
@@ -670,13 +1206,11 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onMessageContextInteraction(@Nonnull MessageContextInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                handleMessageContextCommand(event);
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new CommandExceptionEvent(dih4jda, event, e));
-            }
-        }, config.getExecutor());
+        long received = System.nanoTime();
+        RouteTable.CommandRoute route = routes.get().find(Command.Type.MESSAGE, event.getCommandIdLong(), event.getName());
+        Executor executor = route != null ? route.getExecutor() : typeExecutors[HandlerType.MESSAGE_CONTEXT_COMMAND.ordinal()];
+        submit(event, received, executor, route != null ? route.getPriority() : 0, path -> handleMessageContextCommand(event, path, route),
+                e -> DIH4JDAEvent.fire(new CommandExceptionEvent(dih4jda, event, e)));
     }
 
     /**
@@ -686,16 +1220,14 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onCommandAutoCompleteInteraction(@Nonnull CommandAutoCompleteInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                AutoCompletable autoComplete = autoCompleteIndex.get(event.getFullCommandName());
-                if (autoComplete != null) {
-                    autoComplete.handleAutoComplete(event, event.getFocusedOption());
-                }
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new AutoCompleteExceptionEvent(dih4jda, event, e));
+        long received = System.nanoTime();
+        submit(event, received, typeExecutors[HandlerType.AUTO_COMPLETE.ordinal()], 0, path -> {
+            AutoCompletable autoComplete = findAutoCompletable(event);
+            if (autoComplete != null) {
+                autoComplete.handleAutoComplete(event, event.getFocusedOption());
             }
-        }, config.getExecutor());
+            return CompletableFuture.completedFuture(null);
+        }, e -> DIH4JDAEvent.fire(new AutoCompleteExceptionEvent(dih4jda, event, e)));
     }
 
     /**
@@ -705,22 +1237,24 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onButtonInteraction(@Nonnull ButtonInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                if (dih4jda.getButtonMappings().length == 0) return;
-                Optional<ButtonHandler> buttonOptional = Arrays.stream(dih4jda.getButtonMappings())
-                        .filter(map -> List.of(map.getIds()).contains(ComponentIdBuilder.split(event.getComponentId())[0]))
-                        .map(IdMapping::getHandler)
-                        .findFirst();
-                if (buttonOptional.isEmpty()) {
-                    DIH4JDALogger.warn(DIH4JDALogger.Type.BUTTON_NOT_FOUND, "Button with id \"%s\" could not be found.", event.getComponentId());
-                } else {
-                    buttonOptional.get().handleButton(event, event.getButton());
-                }
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new ComponentExceptionEvent(dih4jda, event, e));
+        long received = System.nanoTime();
+        ComponentRouter.Route<ButtonHandler> route;
+        boolean ephemeral = EphemeralHandlers.isEphemeral(event.getComponentId());
+        if (ephemeral) {
+            route = dih4jda.getEphemeralHandlers().find(event.getComponentId(), HandlerType.BUTTON);
+        } else {
+            ComponentRouter<ButtonHandler> router = dih4jda.getButtonRegistry().getRouter();
+            if (router.isEmpty()) return;
+            route = router.find(event.getComponentId());
+        }
+        submit(event, received, route != null ? route.getExecutor() : typeExecutors[HandlerType.BUTTON.ordinal()], 0, path -> {
+            // single-use handlers are only used up once the interaction was admitted
+            if (route == null || ephemeral && !dih4jda.getEphemeralHandlers().claim(event.getComponentId(), route)) {
+                DIH4JDALogger.warn(DIH4JDALogger.Type.BUTTON_NOT_FOUND, "Button with id \"%s\" could not be found.", event.getComponentId());
+                return CompletableFuture.completedFuture(null);
             }
-        }, config.getExecutor());
+            return route.getHandler().handleButtonAsync(event, event.getButton(), resolveState(event.getComponentId()));
+        }, e -> DIH4JDAEvent.fire(new ComponentExceptionEvent(dih4jda, event, e)));
     }
 
     /**
@@ -730,42 +1264,51 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onStringSelectInteraction(@Nonnull StringSelectInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                if (dih4jda.getStringSelectMenuMappings().length == 0) return;
-                Optional<StringSelectMenuHandler> selectMenuOptional = Arrays.stream(dih4jda.getStringSelectMenuMappings())
-                        .filter(map -> List.of(map.getIds()).contains(ComponentIdBuilder.split(event.getComponentId())[0]))
-                        .map(IdMapping::getHandler)
-                        .findFirst();
-                if (selectMenuOptional.isEmpty()) {
-                    DIH4JDALogger.warn(DIH4JDALogger.Type.SELECT_MENU_NOT_FOUND, "Select Menu with id \"%s\" could not be found.", event.getComponentId());
-                } else {
-                    selectMenuOptional.get().handleStringSelectMenu(event, event.getValues());
-                }
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new ComponentExceptionEvent(dih4jda, event, e));
+        long received = System.nanoTime();
+        ComponentRouter.Route<StringSelectMenuHandler> route;
+        boolean ephemeral = EphemeralHandlers.isEphemeral(event.getComponentId());
+        if (ephemeral) {
+            route = dih4jda.getEphemeralHandlers().find(event.getComponentId(), HandlerType.STRING_SELECT_MENU);
+        } else {
+            ComponentRouter<StringSelectMenuHandler> router = dih4jda.getStringSelectMenuRegistry().getRouter();
+            if (router.isEmpty()) return;
+            route = router.find(event.getComponentId());
+        }
+        submit(event, received, route != null ? route.getExecutor() : typeExecutors[HandlerType.STRING_SELECT_MENU.ordinal()], 0, path -> {
+            // single-use handlers are only used up once the interaction was admitted
+            if (route == null || ephemeral && !dih4jda.getEphemeralHandlers().claim(event.getComponentId(), route)) {
+                DIH4JDALogger.warn(DIH4JDALogger.Type.SELECT_MENU_NOT_FOUND, "Select Menu with id \"%s\" could not be found.", event.getComponentId());
+                return CompletableFuture.completedFuture(null);
             }
-        }, config.getExecutor());
+            return route.getHandler().handleStringSelectMenuAsync(event, event.getValues(), resolveState(event.getComponentId()));
+        }, e -> DIH4JDAEvent.fire(new ComponentExceptionEvent(dih4jda, event, e)));
     }
 
+    /**
+     * Fired if Discord reports a {@link EntitySelectInteractionEvent}.
+     *
+     * @param event The {@link EntitySelectInteractionEvent} that was fired.
+     */
     @Override
     public void onEntitySelectInteraction(@Nonnull EntitySelectInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                if (dih4jda.getEntitySelectMenuMappings().length == 0) return;
-                Optional<EntitySelectMenuHandler> selectMenuOptional = Arrays.stream(dih4jda.getEntitySelectMenuMappings())
-                        .filter(map -> List.of(map.getIds()).contains(ComponentIdBuilder.split(event.getComponentId())[0]))
-                        .map(IdMapping::getHandler)
-                        .findFirst();
-                if (selectMenuOptional.isEmpty()) {
-                    DIH4JDALogger.warn(DIH4JDALogger.Type.SELECT_MENU_NOT_FOUND, "Select Menu with id \"%s\" could not be found.", event.getComponentId());
-                } else {
-                    selectMenuOptional.get().handleEntitySelectMenu(event, event.getValues());
-                }
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new ComponentExceptionEvent(dih4jda, event, e));
+        long received = System.nanoTime();
+        ComponentRouter.Route<EntitySelectMenuHandler> route;
+        boolean ephemeral = EphemeralHandlers.isEphemeral(event.getComponentId());
+        if (ephemeral) {
+            route = dih4jda.getEphemeralHandlers().find(event.getComponentId(), HandlerType.ENTITY_SELECT_MENU);
+        } else {
+            ComponentRouter<EntitySelectMenuHandler> router = dih4jda.getEntitySelectMenuRegistry().getRouter();
+            if (router.isEmpty()) return;
+            route = router.find(event.getComponentId());
+        }
+        submit(event, received, route != null ? route.getExecutor() : typeExecutors[HandlerType.ENTITY_SELECT_MENU.ordinal()], 0, path -> {
+            // single-use handlers are only used up once the interaction was admitted
+            if (route == null || ephemeral && !dih4jda.getEphemeralHandlers().claim(event.getComponentId(), route)) {
+                DIH4JDALogger.warn(DIH4JDALogger.Type.SELECT_MENU_NOT_FOUND, "Select Menu with id \"%s\" could not be found.", event.getComponentId());
+                return CompletableFuture.completedFuture(null);
             }
-        }, config.getExecutor());
+            return route.getHandler().handleEntitySelectMenuAsync(event, event.getValues(), resolveState(event.getComponentId()));
+        }, e -> DIH4JDAEvent.fire(new ComponentExceptionEvent(dih4jda, event, e)));
     }
 
     /**
@@ -775,21 +1318,98 @@ public class InteractionHandler extends ListenerAdapter {
      */
     @Override
     public void onModalInteraction(@Nonnull ModalInteractionEvent event) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                if (dih4jda.getModalMappings().length == 0) return;
-                Optional<ModalHandler> modalOptional = Arrays.stream(dih4jda.getModalMappings())
-                        .filter(map -> List.of(map.getIds()).contains(ComponentIdBuilder.split(event.getModalId())[0]))
-                        .map(IdMapping::getHandler)
-                        .findFirst();
-                if (modalOptional.isEmpty()) {
-                    DIH4JDALogger.warn(DIH4JDALogger.Type.MODAL_NOT_FOUND, "Modal with id \"%s\" could not be found.", event.getModalId());
-                } else {
-                    modalOptional.get().handleModal(event, event.getValues());
-                }
-            } catch (Throwable e) {
-                DIH4JDAEvent.fire(new ModalExceptionEvent(dih4jda, event, e));
+        long received = System.nanoTime();
+        ComponentRouter.Route<ModalHandler> route;
+        boolean ephemeral = EphemeralHandlers.isEphemeral(event.getModalId());
+        if (ephemeral) {
+            route = dih4jda.getEphemeralHandlers().find(event.getModalId(), HandlerType.MODAL);
+        } else {
+            ComponentRouter<ModalHandler> router = dih4jda.getModalRegistry().getRouter();
+            if (router.isEmpty()) return;
+            route = router.find(event.getModalId());
+        }
+        submit(event, received, route != null ? route.getExecutor() : typeExecutors[HandlerType.MODAL.ordinal()], 0, path -> {
+            // single-use handlers are only used up once the interaction was admitted
+            if (route == null || ephemeral && !dih4jda.getEphemeralHandlers().claim(event.getModalId(), route)) {
+                DIH4JDALogger.warn(DIH4JDALogger.Type.MODAL_NOT_FOUND, "Modal with id \"%s\" could not be found.", event.getModalId());
+                return CompletableFuture.completedFuture(null);
+            }
+            return route.getHandler().handleModalAsync(event, event.getValues(), resolveState(event.getModalId()));
+        }, e -> DIH4JDAEvent.fire(new ModalExceptionEvent(dih4jda, event, e)));
+    }
+
+    /**
+     * A single link of the {@link InteractionInterceptor.Chain} of an interaction, which calls the next interceptor
+     * with a new link, or the task itself once all interceptors were called. Every interceptor gets its own link,
+     * so that calling {@link #proceed()} twice is detected at any position of the chain.
+     */
+    private final class InterceptorChain implements InteractionInterceptor.Chain {
+        private final Interaction interaction;
+        private final long queueWaitNanos;
+        private final InteractionTask task;
+        private final int index;
+        // interceptors may proceed from another thread, e.g. once an asynchronous check completed
+        private final AtomicBoolean proceeded = new AtomicBoolean();
+        private String path;
+
+        private InterceptorChain(@Nonnull Interaction interaction, @Nullable String path, long queueWaitNanos,
+                                 @Nonnull InteractionTask task, int index) {
+            this.interaction = interaction;
+            this.path = path;
+            this.queueWaitNanos = queueWaitNanos;
+            this.task = task;
+            this.index = index;
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<?> proceed() throws Exception {
+            if (!proceeded.compareAndSet(false, true)) {
+                throw new IllegalStateException("Chain#proceed may only be called once per interceptor");
+            }
+            if (index < interceptors.length) {
+                return interceptors[index].intercept(interaction, new InterceptorChain(interaction, path, queueWaitNanos, task, index + 1));
             }
-        }, config.getExecutor());
+            CompletionStage<?> stage = task.run(path);
+            return stage == null ? CompletableFuture.completedFuture(null) : stage;
+        }
+
+        @Nonnull
+        @Override
+        public DIH4JDA getDIH4JDA() {
+            return dih4jda;
+        }
+
+        @Nonnull
+        @Override
+        public String getPath() {
+            if (path == null) {
+                path = getMetricPath(interaction);
+            }
+            return path;
+        }
+
+        @Nonnull
+        @Override
+        public Duration getQueueWait() {
+            return Duration.ofNanos(queueWaitNanos);
+        }
+    }
+
+    /**
+     * A task which handles a single interaction and may throw any {@link Exception}.
+     * The interaction is considered to be handled once the returned {@link CompletionStage} completes.
+     */
+    @FunctionalInterface
+    private interface InteractionTask {
+        /**
+         * Handles the interaction.
+         *
+         * @param path The path of the interaction in the {@link InteractionMetrics}, or null if it was not computed,
+         *             as metrics are disabled.
+         * @return The {@link CompletionStage} that completes once the interaction was handled.
+         */
+        @Nonnull
+        CompletionStage<?> run(@Nullable String path) throws Exception;
     }
 }
@@ -0,0 +1,402 @@
+package xyz.dynxsty.dih4jda;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.interactions.AutoCompletable;
+import xyz.dynxsty.dih4jda.interactions.commands.application.BaseApplicationCommand;
+import xyz.dynxsty.dih4jda.interactions.commands.application.ContextCommand;
+import xyz.dynxsty.dih4jda.interactions.commands.application.SlashCommand;
+import xyz.dynxsty.dih4jda.util.Checks;
+import xyz.dynxsty.dih4jda.util.CommandUtils;
+import xyz.dynxsty.dih4jda.util.LongObjectMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable route table which maps incoming command interactions to their corresponding commands.
+ * <br>
+ * Routes are primarily looked up by the commands' id, which is bound once the command was retrieved from
+ * (or queued to) Discord. The commands' name is only used as a fallback, e.g. if the command wasn't cached yet.
+ * <br>
+ * Instances of this class are never modified, but rather replaced as a whole by the {@link InteractionHandler}.
+ *
+ * @since v1.7
+ */
+final class RouteTable {
+
+	/**
+	 * An empty {@link RouteTable}, which is used until {@link InteractionHandler#registerInteractions()} was called.
+	 */
+	static final RouteTable EMPTY = new RouteTable(LongObjectMap.empty(), Map.of(), Map.of(), Map.of());
+
+	private final LongObjectMap<CommandRoute> routesById;
+	private final Map<String, CommandRoute> slashRoutes;
+	private final Map<String, CommandRoute> messageRoutes;
+	private final Map<String, CommandRoute> userRoutes;
+
+	private RouteTable(@Nonnull LongObjectMap<CommandRoute> routesById, @Nonnull Map<String, CommandRoute> slashRoutes,
+					   @Nonnull Map<String, CommandRoute> messageRoutes, @Nonnull Map<String, CommandRoute> userRoutes) {
+		this.routesById = routesById;
+		this.slashRoutes = slashRoutes;
+		this.messageRoutes = messageRoutes;
+		this.userRoutes = userRoutes;
+	}
+
+	/**
+	 * Compiles a new {@link RouteTable} for the specified commands. All ids of the previous table whose commands
+	 * still exist are carried over.
+	 *
+	 * @param previous        The previous {@link RouteTable}.
+	 * @param slashCommands   All {@link SlashCommand}s, whose command data is already complete.
+	 * @param contextCommands All {@link ContextCommand}s.
+	 * @param executors       Resolves the {@link Executor} for a bulkhead name (if set) and {@link HandlerType}.
+	 * @return The compiled {@link RouteTable}.
+	 */
+	@Nonnull
+	static RouteTable compile(@Nonnull RouteTable previous, @Nonnull Set<SlashCommand> slashCommands,
+							  @Nonnull Set<ContextCommand<?>> contextCommands,
+							  @Nonnull BiFunction<String, HandlerType, Executor> executors) {
+		Map<String, CommandRoute> slash = new HashMap<>();
+		Map<String, CommandRoute> message = new HashMap<>();
+		Map<String, CommandRoute> user = new HashMap<>();
+		for (SlashCommand command : slashCommands) {
+			CommandRoute route = CommandRoute.ofSlashCommand(command, executors);
+			slash.put(route.getName(), route);
+		}
+		for (ContextCommand<?> command : contextCommands) {
+			CommandData data = command.getCommandData();
+			if (data.getType() == Command.Type.MESSAGE) {
+				message.put(data.getName(), new CommandRoute(Command.Type.MESSAGE, data.getName(), command,
+						executors.apply(command.getBulkhead(), HandlerType.MESSAGE_CONTEXT_COMMAND), priorityOf(command.getPriority()),
+						null, new SubcommandRoute[0]));
+			} else if (data.getType() == Command.Type.USER) {
+				user.put(data.getName(), new CommandRoute(Command.Type.USER, data.getName(), command,
+						executors.apply(command.getBulkhead(), HandlerType.USER_CONTEXT_COMMAND), priorityOf(command.getPriority()),
+						null, new SubcommandRoute[0]));
+			}
+		}
+		RouteTable table = new RouteTable(LongObjectMap.empty(), Collections.unmodifiableMap(slash),
+				Collections.unmodifiableMap(message), Collections.unmodifiableMap(user));
+		LongObjectMap.Builder<CommandRoute> ids = LongObjectMap.builder();
+		previous.routesById.forEach((id, route) -> {
+			CommandRoute current = table.findByName(route.getType(), route.getName());
+			if (current != null) {
+				ids.put(id, current);
+			}
+		});
+		return new RouteTable(ids.build(), table.slashRoutes, table.messageRoutes, table.userRoutes);
+	}
+
+	/**
+	 * Binds the ids of the specified {@link Command}s to their routes.
+	 *
+	 * @param commands The {@link Command}s that were retrieved from, or queued to Discord.
+	 * @return A new {@link RouteTable} or this instance, if nothing changed.
+	 */
+	@Nonnull
+	RouteTable bind(@Nonnull Collection<Command> commands) {
+		LongObjectMap.Builder<CommandRoute> ids = null;
+		for (Command command : commands) {
+			CommandRoute route = findByName(command.getType(), command.getName());
+			if (route == null || routesById.get(command.getIdLong()) == route) continue;
+			if (ids == null) {
+				ids = routesById.toBuilder();
+			}
+			ids.put(command.getIdLong(), route);
+		}
+		return ids == null ? this : new RouteTable(ids.build(), slashRoutes, messageRoutes, userRoutes);
+	}
+
+	/**
+	 * Finds the {@link CommandRoute} for a single command interaction.
+	 *
+	 * @param type The {@link Command.Type} of the interaction.
+	 * @param id   The commands' id.
+	 * @param name The commands' (base-)name, which is only used if the id is not bound.
+	 * @return The {@link CommandRoute} or null, if the command is not registered.
+	 */
+	@Nullable
+	CommandRoute find(@Nonnull Command.Type type, long id, @Nonnull String name) {
+		CommandRoute route = routesById.get(id);
+		if (route != null && route.getType() == type) {
+			return route;
+		}
+		return findByName(type, name);
+	}
+
+	@Nullable
+	private CommandRoute findByName(@Nonnull Command.Type type, @Nonnull String name) {
+		switch (type) {
+			case SLASH:
+				return slashRoutes.get(name);
+			case MESSAGE:
+				return messageRoutes.get(name);
+			case USER:
+				return userRoutes.get(name);
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Gets all {@link AutoCompletable} bindings as a {@link Map}, where the key is the full command path.
+	 *
+	 * @return An unmodifiable {@link Map} of all {@link AutoCompletable}s.
+	 */
+	@Nonnull
+	Map<String, AutoCompletable> getAutoCompletables() {
+		Map<String, AutoCompletable> bindings = new HashMap<>();
+		for (CommandRoute route : slashRoutes.values()) {
+			if (route.getAutoCompletable() != null) {
+				bindings.put(route.getPath(), route.getAutoCompletable());
+			}
+			for (SubcommandRoute sub : route.getSubcommands()) {
+				if (sub.getAutoCompletable() != null) {
+					bindings.put(sub.getPath(), sub.getAutoCompletable());
+				}
+			}
+		}
+		return Collections.unmodifiableMap(bindings);
+	}
+
+	/**
+	 * Represents the route of a single top-level command.
+	 */
+	static final class CommandRoute {
+		private final Command.Type type;
+		private final String name;
+		private final String path;
+		private final BaseApplicationCommand<?, ?> command;
+		private final Executor executor;
+		private final int priority;
+		private final AutoCompletable autoCompletable;
+		private final SubcommandRoute[] subcommands;
+
+		private CommandRoute(@Nonnull Command.Type type, @Nonnull String name, @Nonnull BaseApplicationCommand<?, ?> command,
+							 @Nonnull Executor executor, int priority, @Nullable AutoCompletable autoCompletable,
+							 @Nonnull SubcommandRoute[] subcommands) {
+			this.type = type;
+			this.name = name;
+			this.path = CommandUtils.buildCommandPath(name);
+			this.command = command;
+			this.executor = executor;
+			this.priority = priority;
+			this.autoCompletable = autoCompletable;
+			this.subcommands = subcommands;
+		}
+
+		@Nonnull
+		private static CommandRoute ofSlashCommand(@Nonnull SlashCommand command,
+												   @Nonnull BiFunction<String, HandlerType, Executor> executors) {
+			String baseName = command.getCommandData().getName();
+			List<SubcommandRoute> subcommands = new ArrayList<>();
+			for (SlashCommand.Subcommand child : command.getSubcommands()) {
+				if (child != null) {
+					subcommands.add(new SubcommandRoute(null, baseName, child, resolve(command, child, executors),
+							priorityOf(child.getPriority() != null ? child.getPriority() : command.getPriority())));
+				}
+			}
+			for (SlashCommand.SubcommandGroup group : command.getSubcommandGroups()) {
+				if (group == null) continue;
+				for (SlashCommand.Subcommand child : group.getSubcommands()) {
+					if (child != null) {
+						subcommands.add(new SubcommandRoute(group.getData().getName(), baseName, child, resolve(command, child, executors),
+								priorityOf(child.getPriority() != null ? child.getPriority() : command.getPriority())));
+					}
+				}
+			}
+			return new CommandRoute(Command.Type.SLASH, baseName, command,
+					executors.apply(command.getBulkhead(), HandlerType.SLASH_COMMAND), priorityOf(command.getPriority()),
+					asAutoCompletable(command),
+					subcommands.toArray(new SubcommandRoute[0]));
+		}
+
+		@Nonnull
+		private static Executor resolve(@Nonnull SlashCommand parent, @Nonnull SlashCommand.Subcommand child,
+										@Nonnull BiFunction<String, HandlerType, Executor> executors) {
+			String bulkhead = child.getBulkhead() != null ? child.getBulkhead() : parent.getBulkhead();
+			return executors.apply(bulkhead, HandlerType.SLASH_COMMAND);
+		}
+
+		@Nonnull
+		Command.Type getType() {
+			return type;
+		}
+
+		@Nonnull
+		String getName() {
+			return name;
+		}
+
+		@Nonnull
+		String getPath() {
+			return path;
+		}
+
+		@Nonnull
+		BaseApplicationCommand<?, ?> getCommand() {
+			return command;
+		}
+
+		/**
+		 * The {@link Executor} this command is executed by.
+		 *
+		 * @return The {@link Executor}.
+		 */
+		@Nonnull
+		Executor getExecutor() {
+			return executor;
+		}
+
+		/**
+		 * The priority of this command, as used by the {@link xyz.dynxsty.dih4jda.execution.AdmissionController}.
+		 *
+		 * @return The priority.
+		 */
+		int getPriority() {
+			return priority;
+		}
+
+		@Nullable
+		AutoCompletable getAutoCompletable() {
+			return autoCompletable;
+		}
+
+		@Nonnull
+		SubcommandRoute[] getSubcommands() {
+			return subcommands;
+		}
+
+		/**
+		 * Whether this route has any subcommands (and thus, cannot be executed directly).
+		 *
+		 * @return true if this route has subcommands.
+		 */
+		boolean hasSubcommands() {
+			return subcommands.length != 0;
+		}
+
+		/**
+		 * Finds a single {@link SubcommandRoute}. As commands may only contain up to 25 subcommands,
+		 * this simply iterates over all subcommands.
+		 *
+		 * @param group The subcommand group's name, if available.
+		 * @param name  The subcommand's name.
+		 * @return The {@link SubcommandRoute} or null, if no subcommand matches.
+		 */
+		@Nullable
+		SubcommandRoute findSubcommand(@Nullable String group, @Nullable String name) {
+			for (SubcommandRoute sub : subcommands) {
+				if (sub.getName().equals(name) && Objects.equals(sub.getGroup(), group)) {
+					return sub;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			return type + " " + name + (hasSubcommands() ? Arrays.toString(subcommands) : "");
+		}
+	}
+
+	/**
+	 * Represents the route of a single {@link SlashCommand.Subcommand}.
+	 */
+	static final class SubcommandRoute {
+		private final String group;
+		private final String name;
+		private final String path;
+		private final SlashCommand.Subcommand subcommand;
+		private final Executor executor;
+		private final int priority;
+		private final AutoCompletable autoCompletable;
+
+		private SubcommandRoute(@Nullable String group, @Nonnull String baseName, @Nonnull SlashCommand.Subcommand subcommand,
+								@Nonnull Executor executor, int priority) {
+			this.group = group;
+			this.name = subcommand.getCommandData().getName();
+			this.path = group == null
+					? CommandUtils.buildCommandPath(baseName, name)
+					: CommandUtils.buildCommandPath(baseName, group, name);
+			this.subcommand = subcommand;
+			this.executor = executor;
+			this.priority = priority;
+			this.autoCompletable = asAutoCompletable(subcommand);
+		}
+
+		@Nullable
+		String getGroup() {
+			return group;
+		}
+
+		@Nonnull
+		String getName() {
+			return name;
+		}
+
+		@Nonnull
+		String getPath() {
+			return path;
+		}
+
+		@Nonnull
+		SlashCommand.Subcommand getSubcommand() {
+			return subcommand;
+		}
+
+		/**
+		 * The {@link Executor} this subcommand is executed by.
+		 *
+		 * @return The {@link Executor}.
+		 */
+		@Nonnull
+		Executor getExecutor() {
+			return executor;
+		}
+
+		/**
+		 * The priority of this subcommand, as used by the {@link xyz.dynxsty.dih4jda.execution.AdmissionController}.
+		 *
+		 * @return The priority.
+		 */
+		int getPriority() {
+			return priority;
+		}
+
+		@Nullable
+		AutoCompletable getAutoCompletable() {
+			return autoCompletable;
+		}
+
+		@Override
+		public String toString() {
+			return path;
+		}
+	}
+
+	private static int priorityOf(@Nullable Integer priority) {
+		return priority == null ? 0 : priority;
+	}
+
+	@Nullable
+	private static AutoCompletable asAutoCompletable(@Nonnull Object command) {
+		if (Checks.checkImplementation(command.getClass(), AutoCompletable.class)) {
+			return (AutoCompletable) command;
+		}
+		return null;
+	}
+}
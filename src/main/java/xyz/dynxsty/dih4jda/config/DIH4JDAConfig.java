@@ -4,9 +4,25 @@ import lombok.Data;
 import net.dv8tion.jda.api.JDA;
 import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.events.AsyncEventBus;
+import xyz.dynxsty.dih4jda.execution.AdmissionController;
+import xyz.dynxsty.dih4jda.execution.Bulkhead;
+import xyz.dynxsty.dih4jda.execution.HandlerType;
+import xyz.dynxsty.dih4jda.execution.OrderingMode;
+import xyz.dynxsty.dih4jda.execution.VirtualThreads;
+import xyz.dynxsty.dih4jda.interactions.components.ComponentStateStore;
+import xyz.dynxsty.dih4jda.interceptors.InteractionInterceptor;
+import xyz.dynxsty.dih4jda.limits.CooldownStore;
+import xyz.dynxsty.dih4jda.metrics.DenialAggregator;
+import xyz.dynxsty.dih4jda.metrics.InteractionMetrics;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 
 /**
@@ -78,11 +94,99 @@ public class DIH4JDAConfig {
 
     /**
      * The {@link Executor} that will be used to handle the executions of commands.<br>
-     * If you have access to Java 21 it's recommended to use the {@link Executors#newVirtualThreadPerTaskExecutor()}.<br>
+     * If you have access to Java 21 it's recommended to use {@link VirtualThreads#newVirtualThreadPerTaskExecutor()}.<br>
      * <b>Standard:</b> {@link ForkJoinPool#commonPool()}
      */
     private Executor executor = ForkJoinPool.commonPool();
 
+    /**
+     * All named {@link Bulkhead}s, with their name as the key.<br>
+     * <b>Standard:</b> {@code new HashMap<>()}
+     */
+    private Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    /**
+     * The names of the {@link Bulkhead}s that are used for each {@link HandlerType}, unless the command or
+     * {@link xyz.dynxsty.dih4jda.interactions.components.IdMapping} specifies its own bulkhead.
+     * Types without an entry use the {@link DIH4JDAConfig#getExecutor() executor} directly.<br>
+     * <b>Standard:</b> {@code new EnumMap<>(HandlerType.class)}
+     */
+    private Map<HandlerType, String> defaultBulkheads = new EnumMap<>(HandlerType.class);
+
+    /**
+     * The time after which interactions, that were not yet acknowledged by their handler, are deferred automatically.
+     * {@link Duration#ZERO} disables this behaviour.<br>
+     * <b>Standard:</b> {@link Duration#ZERO}
+     */
+    private Duration autoDeferThreshold = Duration.ZERO;
+
+    /**
+     * A boolean that decides if automatically deferred replies are ephemeral.<br>
+     * <b>Standard:</b> {@code false}
+     */
+    private boolean autoDeferEphemeral = false;
+
+    /**
+     * The {@link AdmissionController} that limits how many interactions are handed to the executors at once, and
+     * sheds interactions if the bot is overloaded. Null disables admission control.<br>
+     * <b>Standard:</b> {@code null}
+     */
+    private AdmissionController admissionController = null;
+
+    /**
+     * The {@link OrderingMode}, which decides what interactions are executed in the order they arrived.
+     * Autocomplete interactions are never ordered.<br>
+     * <b>Standard:</b> {@link OrderingMode#NONE}
+     */
+    private OrderingMode orderingMode = OrderingMode.NONE;
+
+    /**
+     * The amount of serial lanes that are used if an {@link OrderingMode} is set.<br>
+     * <b>Standard:</b> {@code 256}
+     */
+    private int orderingLanes = 256;
+
+    /**
+     * The {@link InteractionMetrics}, which record the timings of every handled interaction.
+     * Null disables instrumentation.<br>
+     * <b>Standard:</b> {@code null}
+     */
+    private InteractionMetrics metrics = null;
+
+    /**
+     * The {@link ComponentStateStore}, which resolves the state of components whose id contains a token.
+     * Null disables resolving states.<br>
+     * <b>Standard:</b> {@code null}
+     */
+    private ComponentStateStore componentStateStore = null;
+
+    /**
+     * The {@link AsyncEventBus}, which calls all {@link xyz.dynxsty.dih4jda.events.DIH4JDAEventListener}s on its own
+     * executor. Null calls them on the thread that fired the event.<br>
+     * <b>Standard:</b> {@code null}
+     */
+    private AsyncEventBus eventBus = null;
+
+    /**
+     * The {@link DenialAggregator}, which counts all denied commands and passes periodic summaries to all
+     * {@link xyz.dynxsty.dih4jda.events.DIH4JDAEventListener}s. Null disables aggregation.<br>
+     * <b>Standard:</b> {@code null}
+     */
+    private DenialAggregator denialAggregator = null;
+
+    /**
+     * The {@link CooldownStore}, which stores the cooldowns of all commands that did not set their own one.
+     * Null keeps a separate {@link xyz.dynxsty.dih4jda.limits.CooldownCache} for every command.<br>
+     * <b>Standard:</b> {@code null}
+     */
+    private CooldownStore cooldownStore = null;
+
+    /**
+     * All {@link InteractionInterceptor}s, in the order they wrap the handling of every interaction.<br>
+     * <b>Standard:</b> empty
+     */
+    private List<InteractionInterceptor> interceptors = new ArrayList<>();
+
     /**
      * Creates a default instance.
      */
@@ -0,0 +1,211 @@
+package xyz.dynxsty.dih4jda.events;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Passes fired {@link DIH4JDAEvent}s to their {@link DIH4JDAEventListener}s on a separate {@link Executor}, instead of
+ * the thread that handles the interaction. This way, slow listeners (e.g. ones that report errors to a log channel)
+ * do not add latency to the interaction itself.
+ * <br>
+ * Every listener has its own bounded queue, so that it receives all events in the order they were fired, while
+ * different listeners run in parallel. Once a listener's queue is full, the {@link OverflowPolicy} decides which
+ * event is dropped.
+ *
+ * <pre>{@code
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .setEventBus(new AsyncEventBus(Executors.newFixedThreadPool(2), 1024, AsyncEventBus.OverflowPolicy.DROP_OLDEST))
+ *         .build();
+ * }</pre>
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setEventBus(AsyncEventBus)
+ * @since v1.7
+ */
+public final class AsyncEventBus {
+	// the amount of events a listener handles before its lane yields the executor thread
+	private static final int BATCH_SIZE = 64;
+
+	private final Executor executor;
+	private final int queueCapacity;
+	private final OverflowPolicy policy;
+	private final Map<DIH4JDAEventListener, Lane> lanes = new ConcurrentHashMap<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+	private final LongAdder dispatched = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * Creates a new {@link AsyncEventBus}.
+	 *
+	 * @param executor      The {@link Executor} which runs the listeners.
+	 * @param queueCapacity The maximum amount of events that may wait for a single listener.
+	 * @param policy        The {@link OverflowPolicy}, which decides what event is dropped once a queue is full.
+	 */
+	public AsyncEventBus(@Nonnull Executor executor, int queueCapacity, @Nonnull OverflowPolicy policy) {
+		Checks.notNull(executor, "Executor");
+		Checks.notNull(policy, "Overflow Policy");
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("Queue capacity must be at least 1");
+		}
+		this.executor = executor;
+		this.queueCapacity = queueCapacity;
+		this.policy = policy;
+	}
+
+	/**
+	 * Queues the given event for the specified listener.
+	 *
+	 * @param event    The {@link DIH4JDAEvent}.
+	 * @param listener The {@link DIH4JDAEventListener}.
+	 */
+	void publish(@Nonnull DIH4JDAEvent<?> event, @Nonnull DIH4JDAEventListener listener) {
+		lanes.computeIfAbsent(listener, Lane::new).offer(event);
+	}
+
+	/**
+	 * The amount of events that currently wait for their listener.
+	 *
+	 * @return The amount of queued events.
+	 */
+	public int getQueuedCount() {
+		return queued.get();
+	}
+
+	/**
+	 * The total amount of events that were passed to their listener.
+	 *
+	 * @return The amount of dispatched events.
+	 */
+	public long getDispatchedCount() {
+		return dispatched.sum();
+	}
+
+	/**
+	 * The total amount of events that were dropped, as a listener's queue was full or the executor rejected them.
+	 *
+	 * @return The amount of dropped events.
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * The maximum amount of events that may wait for a single listener.
+	 *
+	 * @return The queue capacity.
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * The {@link OverflowPolicy} of this event bus.
+	 *
+	 * @return The {@link OverflowPolicy}.
+	 */
+	@Nonnull
+	public OverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AsyncEventBus[%s, queued=%s, dispatched=%s, dropped=%s]", policy, getQueuedCount(),
+				getDispatchedCount(), getDroppedCount());
+	}
+
+	/**
+	 * Decides which event is dropped once a listener's queue is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Drops the newly fired event, while all queued events are kept.
+		 */
+		DROP_NEWEST,
+		/**
+		 * Drops the oldest queued event in favour of the newly fired one.
+		 */
+		DROP_OLDEST
+	}
+
+	/**
+	 * The queue of a single listener, which is drained by at most one executor thread at once.
+	 */
+	private final class Lane implements Runnable {
+		private final DIH4JDAEventListener listener;
+		// guarded by this
+		private final ArrayDeque<DIH4JDAEvent<?>> events = new ArrayDeque<>();
+		private boolean scheduled = false;
+
+		private Lane(@Nonnull DIH4JDAEventListener listener) {
+			this.listener = listener;
+		}
+
+		private void offer(@Nonnull DIH4JDAEvent<?> event) {
+			synchronized (this) {
+				if (events.size() >= queueCapacity) {
+					dropped.increment();
+					if (policy == OverflowPolicy.DROP_NEWEST) return;
+					events.poll();
+					queued.decrementAndGet();
+				}
+				events.add(event);
+				queued.incrementAndGet();
+				if (scheduled) return;
+				scheduled = true;
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				int rejected;
+				synchronized (this) {
+					rejected = events.size();
+					events.clear();
+					scheduled = false;
+				}
+				queued.addAndGet(-rejected);
+				dropped.add(rejected);
+				DIH4JDALogger.error("Dropped %s event(s) for %s, as the executor rejected them: %s", rejected,
+						listener.getClass().getName(), e.getMessage());
+			}
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				DIH4JDAEvent<?> event;
+				synchronized (this) {
+					event = events.poll();
+					if (event == null) {
+						scheduled = false;
+						return;
+					}
+				}
+				queued.decrementAndGet();
+				try {
+					event.dispatch(listener);
+				} catch (Throwable e) {
+					DIH4JDALogger.error("An exception occurred while handling %s in %s: %s", event.getEventName(),
+							listener.getClass().getName(), e);
+				}
+				dispatched.increment();
+			}
+			// yield the thread to other listeners, but keep the order of this one
+			schedule();
+		}
+	}
+}
@@ -26,4 +26,9 @@ public class AutoCompleteExceptionEvent extends DIH4JDAThrowableEvent<CommandAut
 									  @Nonnull Throwable throwable) {
 		super("onAutoCompleteException", dih4jda, interaction, throwable);
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onAutoCompleteException(this);
+	}
 }
@@ -0,0 +1,53 @@
+package xyz.dynxsty.dih4jda.events;
+
+import lombok.Getter;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import xyz.dynxsty.dih4jda.DIH4JDA;
+import xyz.dynxsty.dih4jda.DIH4JDABuilder;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * An event that gets fired when an interaction was not acknowledged within the configured threshold and was
+ * therefore deferred automatically. Handlers that may run longer than the threshold should check
+ * {@link IReplyCallback#isAcknowledged()} and use the {@link IReplyCallback#getHook() InteractionHook} to reply.
+ *
+ * @see DIH4JDABuilder#enableAutoDefer(Duration, boolean)
+ * @since v1.7
+ */
+public class AutoDeferEvent extends DIH4JDAEvent<IReplyCallback> {
+
+	/**
+	 * The time the interaction waited for an executor, before its handler was started.
+	 */
+	@Getter
+	private final Duration queueWait;
+
+	/**
+	 * The time the handler was running until the interaction was deferred. This is {@link Duration#ZERO} if the
+	 * handler had not been started yet.
+	 */
+	@Getter
+	private final Duration handlerTime;
+
+	/**
+	 * Creates a new instance of this event.
+	 *
+	 * @param dih4jda     the {@link DIH4JDA} instance that fired this event.
+	 * @param interaction the {@link IReplyCallback} that was deferred.
+	 * @param queueWait   the time the interaction waited for an executor.
+	 * @param handlerTime the time the handler was running.
+	 */
+	public AutoDeferEvent(@Nonnull DIH4JDA dih4jda, @Nonnull IReplyCallback interaction,
+						  @Nonnull Duration queueWait, @Nonnull Duration handlerTime) {
+		super("onAutoDefer", dih4jda, interaction);
+		this.queueWait = queueWait;
+		this.handlerTime = handlerTime;
+	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onAutoDefer(this);
+	}
+}
@@ -4,15 +4,18 @@ import lombok.Getter;
 import net.dv8tion.jda.api.interactions.commands.CommandInteraction;
 import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand;
+import xyz.dynxsty.dih4jda.limits.CooldownScope;
 
 import javax.annotation.Nonnull;
 import java.time.Duration;
 
 /**
  * An event that gets fired when the user, which invoked the command, is not yet able to use this command due to
- * a specified {@link RestrictedCommand#setCommandCooldown(Duration) Command Cooldown}
+ * a specified {@link RestrictedCommand#setCommandCooldown(Duration) Command Cooldown}. The
+ * {@link CommandCooldownEvent#getScope() scope} tells whether the user, or e.g. their whole guild, is on cooldown.
  *
- * <b>Command Cooldowns DO NOT persist between sessions!</b>
+ * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent
+ * {@link xyz.dynxsty.dih4jda.limits.CooldownStore} is used!</b>
  *
  * @see RestrictedCommand#setCommandCooldown(Duration)
  */
@@ -21,6 +24,14 @@ public class CommandCooldownEvent extends DIH4JDAEvent<CommandInteraction> {
 	@Getter
 	private final RestrictedCommand.Cooldown cooldown;
 
+	/**
+	 * The {@link CooldownScope} the command is on cooldown in.
+	 *
+	 * @since v1.7
+	 */
+	@Getter
+	private final CooldownScope scope;
+
 	/**
 	 * Creates a new instance of this event.
 	 *
@@ -30,7 +41,27 @@ public class CommandCooldownEvent extends DIH4JDAEvent<CommandInteraction> {
 	 */
 	public CommandCooldownEvent(@Nonnull DIH4JDA dih4jda, @Nonnull CommandInteraction interaction,
 								@Nonnull RestrictedCommand.Cooldown cooldown) {
+		this(dih4jda, interaction, cooldown, CooldownScope.USER);
+	}
+
+	/**
+	 * Creates a new instance of this event.
+	 *
+	 * @param dih4jda the {@link DIH4JDA} instance that fired this event.
+	 * @param interaction the {@link CommandInteraction}.
+	 * @param cooldown the {@link RestrictedCommand.Cooldown} of the scope.
+	 * @param scope the {@link CooldownScope} the command is on cooldown in.
+	 * @since v1.7
+	 */
+	public CommandCooldownEvent(@Nonnull DIH4JDA dih4jda, @Nonnull CommandInteraction interaction,
+								@Nonnull RestrictedCommand.Cooldown cooldown, @Nonnull CooldownScope scope) {
 		super("onCommandCooldown", dih4jda, interaction);
 		this.cooldown = cooldown;
+		this.scope = scope;
+	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onCommandCooldown(this);
 	}
 }
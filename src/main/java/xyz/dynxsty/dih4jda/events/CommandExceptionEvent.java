@@ -28,4 +28,9 @@ public class CommandExceptionEvent extends DIH4JDAThrowableEvent<CommandInteract
 								 @Nonnull Throwable throwable) {
 		super("onCommandException", dih4jda, interaction, throwable);
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onCommandException(this);
+	}
 }
@@ -0,0 +1,77 @@
+package xyz.dynxsty.dih4jda.events;
+
+import lombok.Getter;
+import net.dv8tion.jda.api.interactions.Interaction;
+import xyz.dynxsty.dih4jda.DIH4JDA;
+import xyz.dynxsty.dih4jda.interceptors.TimingInterceptor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * An event that gets fired once a command, component or modal was handled, including the time it took.
+ * This is only fired if the {@link TimingInterceptor} was added.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#addInterceptors(xyz.dynxsty.dih4jda.interceptors.InteractionInterceptor...)
+ * @since v1.7
+ */
+public class CommandExecutedEvent extends DIH4JDAEvent<Interaction> {
+
+	/**
+	 * The path of the interaction, e.g. {@code slash:config set} or {@code button:vote}.
+	 */
+	@Getter
+	private final String path;
+
+	/**
+	 * The time the interaction waited for its executor.
+	 */
+	@Getter
+	private final Duration queueWait;
+
+	/**
+	 * The time it took to handle the interaction, until the handler's (asynchronous) result completed.
+	 */
+	@Getter
+	private final Duration executionTime;
+
+	/**
+	 * The {@link Throwable} the handler failed with, or null if the interaction was handled successfully.
+	 */
+	@Getter
+	private final Throwable throwable;
+
+	/**
+	 * Creates a new instance of this event.
+	 *
+	 * @param dih4jda       the {@link DIH4JDA} instance that fired this event.
+	 * @param interaction   the {@link Interaction} that was handled.
+	 * @param path          the path of the interaction.
+	 * @param queueWait     the time the interaction waited for its executor.
+	 * @param executionTime the time it took to handle the interaction.
+	 * @param throwable     the {@link Throwable} the handler failed with, if any.
+	 */
+	public CommandExecutedEvent(@Nonnull DIH4JDA dih4jda, @Nonnull Interaction interaction, @Nonnull String path,
+								@Nonnull Duration queueWait, @Nonnull Duration executionTime, @Nullable Throwable throwable) {
+		super("onCommandExecuted", dih4jda, interaction);
+		this.path = path;
+		this.queueWait = queueWait;
+		this.executionTime = executionTime;
+		this.throwable = throwable;
+	}
+
+	/**
+	 * Whether the interaction was handled successfully.
+	 *
+	 * @return True, if the handler did not fail.
+	 */
+	public boolean isSuccessful() {
+		return throwable == null;
+	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onCommandExecuted(this);
+	}
+}
@@ -20,4 +20,9 @@ public class ComponentExceptionEvent extends DIH4JDAThrowableEvent<ComponentInte
 								   @Nonnull Throwable throwable) {
 		super("onComponentException", dih4jda, interaction, throwable);
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onComponentException(this);
+	}
 }
@@ -6,7 +6,11 @@ import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.DIH4JDALogger;
 
 import javax.annotation.Nonnull;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A generic event, which holds the events' name, the {@link DIH4JDA} instance and the {@link I follow-up interaction}.
@@ -15,6 +19,17 @@ import java.lang.reflect.Method;
  */
 public abstract class DIH4JDAEvent<I extends Interaction> {
 
+	/**
+	 * The listener methods of events that do not override {@link DIH4JDAEvent#dispatch(DIH4JDAEventListener)},
+	 * by listener class and event name. Each method is only looked up once.
+	 */
+	private static final ClassValue<Map<String, Optional<Method>>> LISTENER_METHODS = new ClassValue<>() {
+		@Override
+		protected Map<String, Optional<Method>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
 	@Getter
 	private final String eventName;
 	@Getter
@@ -29,7 +44,9 @@ public abstract class DIH4JDAEvent<I extends Interaction> {
 	}
 
 	/**
-	 * Fires an event from the {@link DIH4JDAEventListener}.
+	 * Fires an event from the {@link DIH4JDAEventListener}, by passing it to every registered listener instance.
+	 * An exception thrown by one listener does not prevent the others from being called.
+	 * If an {@link AsyncEventBus} is configured, the listeners are called on its executor instead.
 	 *
 	 * @param event The {@link DIH4JDAEvent} to fire.
 	 * @param <I> The follow-up {@link Interaction}
@@ -42,16 +59,49 @@ public abstract class DIH4JDAEvent<I extends Interaction> {
 				((DIH4JDAThrowableEvent<I>) event).getThrowable().printStackTrace();
 			}
 		}
+		AsyncEventBus bus = event.getDih4jda().getConfig().getEventBus();
 		for (DIH4JDAEventListener listener : event.getDih4jda().getEventListeners()) {
+			if (bus != null) {
+				bus.publish(event, listener);
+				continue;
+			}
 			try {
-				for (Method method : listener.getClass().getMethods()) {
-					if (method.getName().equals(event.getEventName())) {
-						method.invoke(listener.getClass().getConstructor().newInstance(), event);
-					}
-				}
-			} catch (ReflectiveOperationException e) {
-				DIH4JDALogger.error(e.getMessage());
+				event.dispatch(listener);
+			} catch (RuntimeException e) {
+				DIH4JDALogger.error("An exception occurred while handling %s in %s: %s", event.getEventName(), listener.getClass().getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * Passes this event to the corresponding method of the given listener. All events of DIH4JDA override this with
+	 * a direct call, while other events fall back to a (cached) lookup of the listener method that matches the
+	 * {@link DIH4JDAEvent#getEventName() event's name}.
+	 *
+	 * @param listener The {@link DIH4JDAEventListener}.
+	 * @since v1.7
+	 */
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		Optional<Method> method = LISTENER_METHODS.get(listener.getClass())
+				.computeIfAbsent(eventName, name -> findListenerMethod(listener.getClass(), name, getClass()));
+		if (method.isEmpty()) return;
+		try {
+			method.get().invoke(listener, this);
+		} catch (IllegalAccessException e) {
+			DIH4JDALogger.error(e.getMessage());
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+		}
+	}
+
+	@Nonnull
+	private static Optional<Method> findListenerMethod(@Nonnull Class<?> listener, @Nonnull String name, @Nonnull Class<?> event) {
+		for (Method method : listener.getMethods()) {
+			if (method.getName().equals(name) && method.getParameterCount() == 1 && method.getParameterTypes()[0].isAssignableFrom(event)) {
+				return Optional.of(method);
 			}
 		}
+		return Optional.empty();
 	}
 }
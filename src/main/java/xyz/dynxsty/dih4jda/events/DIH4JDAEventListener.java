@@ -8,6 +8,8 @@ import xyz.dynxsty.dih4jda.interactions.AutoCompletable;
 import xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.ContextCommand;
 import xyz.dynxsty.dih4jda.interactions.commands.application.SlashCommand;
+import xyz.dynxsty.dih4jda.metrics.DenialAggregator;
+import xyz.dynxsty.dih4jda.metrics.DenialSummary;
 
 import javax.annotation.Nonnull;
 import java.time.Duration;
@@ -92,5 +94,49 @@ public interface DIH4JDAEventListener {
 	 * @see RestrictedCommand#setCommandCooldown(Duration)
 	 */
 	default void onCommandCooldown(@Nonnull CommandCooldownEvent event) {}
-}
 
+	/**
+	 * An event that gets fired when the command was not executed, because one of its
+	 * {@link RestrictedCommand#setRateLimits(xyz.dynxsty.dih4jda.limits.RateLimit...) Rate Limits} was exceeded.
+	 *
+	 * <b>Rate Limits DO NOT persist between sessions!</b><br>
+	 *
+	 * @param event The {@link RateLimitEvent} that was fired.
+	 * @see RestrictedCommand#setRateLimits(xyz.dynxsty.dih4jda.limits.RateLimit...)
+	 */
+	default void onRateLimit(@Nonnull RateLimitEvent event) {}
+
+	/**
+	 * An event that gets fired when an interaction was not acknowledged within the configured threshold and
+	 * was therefore deferred automatically.
+	 *
+	 * @param event The {@link AutoDeferEvent} that was fired.
+	 * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#enableAutoDefer(Duration, boolean)
+	 */
+	default void onAutoDefer(@Nonnull AutoDeferEvent event) {}
+
+	/**
+	 * An event that gets fired when an interaction was shed, because the bot is overloaded.
+	 *
+	 * @param event The {@link OverloadEvent} that was fired.
+	 * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#enableAdmissionControl(xyz.dynxsty.dih4jda.execution.AdmissionController)
+	 */
+	default void onOverload(@Nonnull OverloadEvent event) {}
+
+	/**
+	 * An event that gets fired once a command, component or modal was handled, including the time it took.
+	 *
+	 * @param event The {@link CommandExecutedEvent} that was fired.
+	 * @see xyz.dynxsty.dih4jda.interceptors.TimingInterceptor
+	 */
+	default void onCommandExecuted(@Nonnull CommandExecutedEvent event) {}
+
+	/**
+	 * Called once per window with the summary of all commands that were denied within it, if a
+	 * {@link DenialAggregator} is set and at least one command was denied.
+	 *
+	 * @param summary The {@link DenialSummary} of the window.
+	 * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setDenialAggregator(DenialAggregator)
+	 */
+	default void onDenialSummary(@Nonnull DenialSummary summary) {}
+}
@@ -31,4 +31,9 @@ public class InsufficientPermissionsEvent extends DIH4JDAEvent<CommandInteractio
 		super("onInsufficientPermissions", dih4jda, interaction);
 		this.permissions = permissions;
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onInsufficientPermissions(this);
+	}
 }
@@ -30,4 +30,9 @@ public class InvalidGuildEvent extends DIH4JDAEvent<CommandInteraction> {
 		super("onInvalidGuild", dih4jda, interaction);
 		this.guildIds = guildIds;
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onInvalidGuild(this);
+	}
 }
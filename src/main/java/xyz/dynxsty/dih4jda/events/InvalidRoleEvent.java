@@ -29,4 +29,9 @@ public class InvalidRoleEvent extends DIH4JDAEvent<CommandInteraction> {
 		super("onInvalidRole", dih4jda, interaction);
 		this.roleIds = roleIds;
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onInvalidRole(this);
+	}
 }
@@ -30,4 +30,9 @@ public class InvalidUserEvent extends DIH4JDAEvent<CommandInteraction> {
 		super("onInvalidUser", dih4jda, interaction);
 		this.userIds = userIds;
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onInvalidUser(this);
+	}
 }
@@ -21,4 +21,9 @@ public class ModalExceptionEvent extends DIH4JDAThrowableEvent<ModalInteraction>
 							   @Nonnull Throwable throwable) {
 		super("onModalException", dih4jda, interaction, throwable);
 	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onModalException(this);
+	}
 }
@@ -0,0 +1,54 @@
+package xyz.dynxsty.dih4jda.events;
+
+import lombok.Getter;
+import net.dv8tion.jda.api.interactions.Interaction;
+import xyz.dynxsty.dih4jda.DIH4JDA;
+import xyz.dynxsty.dih4jda.execution.AdmissionController;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * An event that gets fired when an interaction was shed by the {@link AdmissionController}, because the bot is
+ * overloaded. The interaction's handler will NOT be executed.
+ * <br>
+ * This event is usually fired on the JDA thread, which makes it the right place for a cheap "busy" reply.
+ * Note that autocomplete interactions cannot be replied to.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#enableAdmissionControl(AdmissionController)
+ * @since v1.7
+ */
+public class OverloadEvent extends DIH4JDAEvent<Interaction> {
+
+	/**
+	 * The {@link AdmissionController.Reason} the interaction was shed.
+	 */
+	@Getter
+	private final AdmissionController.Reason reason;
+
+	/**
+	 * The time the interaction waited for admission.
+	 */
+	@Getter
+	private final Duration queueWait;
+
+	/**
+	 * Creates a new instance of this event.
+	 *
+	 * @param dih4jda     the {@link DIH4JDA} instance that fired this event.
+	 * @param interaction the {@link Interaction} that was shed.
+	 * @param reason      the {@link AdmissionController.Reason} the interaction was shed.
+	 * @param queueWait   the time the interaction waited for admission.
+	 */
+	public OverloadEvent(@Nonnull DIH4JDA dih4jda, @Nonnull Interaction interaction,
+						 @Nonnull AdmissionController.Reason reason, @Nonnull Duration queueWait) {
+		super("onOverload", dih4jda, interaction);
+		this.reason = reason;
+		this.queueWait = queueWait;
+	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onOverload(this);
+	}
+}
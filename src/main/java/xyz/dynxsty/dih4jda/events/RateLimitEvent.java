@@ -0,0 +1,54 @@
+package xyz.dynxsty.dih4jda.events;
+
+import lombok.Getter;
+import net.dv8tion.jda.api.interactions.commands.CommandInteraction;
+import xyz.dynxsty.dih4jda.DIH4JDA;
+import xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand;
+import xyz.dynxsty.dih4jda.limits.RateLimit;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * An event that gets fired when the command was not executed, because one of its
+ * {@link RestrictedCommand#setRateLimits(RateLimit...) Rate Limits} was exceeded.
+ *
+ * <b>Rate Limits DO NOT persist between sessions!</b>
+ *
+ * @see RestrictedCommand#setRateLimits(RateLimit...)
+ * @since v1.7
+ */
+public class RateLimitEvent extends DIH4JDAEvent<CommandInteraction> {
+
+	/**
+	 * The {@link RateLimit} that was exceeded.
+	 */
+	@Getter
+	private final RateLimit rateLimit;
+
+	/**
+	 * The time after which the command would have been allowed.
+	 */
+	@Getter
+	private final Duration retryAfter;
+
+	/**
+	 * Creates a new instance of this event.
+	 *
+	 * @param dih4jda     the {@link DIH4JDA} instance that fired this event.
+	 * @param interaction the {@link CommandInteraction}.
+	 * @param rateLimit   the {@link RateLimit} that was exceeded.
+	 * @param retryAfter  the time after which the command would have been allowed.
+	 */
+	public RateLimitEvent(@Nonnull DIH4JDA dih4jda, @Nonnull CommandInteraction interaction,
+						  @Nonnull RateLimit rateLimit, @Nonnull Duration retryAfter) {
+		super("onRateLimit", dih4jda, interaction);
+		this.rateLimit = rateLimit;
+		this.retryAfter = retryAfter;
+	}
+
+	@Override
+	protected void dispatch(@Nonnull DIH4JDAEventListener listener) {
+		listener.onRateLimit(this);
+	}
+}
@@ -0,0 +1,368 @@
+package xyz.dynxsty.dih4jda.execution;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded admission queue in front of all interaction executors. At most {@link AdmissionController#getMaxConcurrency()}
+ * interactions are handed to their executor at once, while up to {@link AdmissionController#getQueueCapacity()}
+ * interactions wait for admission. Once the queue is full, the {@link AdmissionPolicy} decides which interaction is shed.
+ * <br>
+ * Shedding load early keeps the latency of all admitted interactions low, instead of letting a burst pile up in the
+ * executor until every interaction misses Discord's deadline. Shed interactions are passed to their
+ * {@link RejectionHandler}, which is usually called on the thread that submitted the newest interaction.
+ * This way, a cheap "busy" reply can be sent right away.
+ *
+ * <pre>{@code
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .enableAdmissionControl(new AdmissionController(32, 256, AdmissionPolicy.PRIORITY, Duration.ofMillis(2500)))
+ *         .build();
+ * }</pre>
+ *
+ * @since v1.7
+ */
+public final class AdmissionController {
+	private final int maxConcurrency;
+	private final int queueCapacity;
+	private final AdmissionPolicy policy;
+	private final long maxQueueAgeNanos;
+
+	// guarded by this
+	private final Queue<Entry> queue;
+	private int active = 0;
+	private long sequence = 0;
+
+	private final AtomicLong admitted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+
+	/**
+	 * Creates a new {@link AdmissionController}.
+	 *
+	 * @param maxConcurrency The maximum amount of interactions that are handed to their executor at once.
+	 * @param queueCapacity  The maximum amount of interactions that may wait for admission.
+	 * @param policy         The {@link AdmissionPolicy}, which decides what interaction is shed once the queue is full.
+	 * @param maxQueueAge    The maximum time an interaction may wait for admission, before it is shed.
+	 *                       {@link Duration#ZERO} disables this limit.
+	 */
+	public AdmissionController(int maxConcurrency, int queueCapacity, @Nonnull AdmissionPolicy policy,
+							   @Nonnull Duration maxQueueAge) {
+		Checks.notNull(policy, "Admission Policy");
+		Checks.notNull(maxQueueAge, "Max Queue Age");
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("Max concurrency must be at least 1");
+		}
+		if (queueCapacity < 0) {
+			throw new IllegalArgumentException("Queue capacity may not be negative");
+		}
+		if (maxQueueAge.isNegative()) {
+			throw new IllegalArgumentException("Max queue age may not be negative");
+		}
+		this.maxConcurrency = maxConcurrency;
+		this.queueCapacity = queueCapacity;
+		this.policy = policy;
+		this.maxQueueAgeNanos = maxQueueAge.toNanos();
+		this.queue = policy == AdmissionPolicy.PRIORITY
+				? new PriorityQueue<>(Comparator.comparingInt((Entry e) -> -e.priority).thenComparingLong(e -> e.sequence))
+				: new ArrayDeque<>();
+	}
+
+	/**
+	 * Submits a single interaction. Once it is admitted, the given consumer is called with a {@link Permit}, which
+	 * MUST be released once the interaction was handled.
+	 *
+	 * @param priority   The interaction's priority. Only used by {@link AdmissionPolicy#PRIORITY}.
+	 * @param onAdmitted Called once the interaction is admitted. This may happen on the calling thread, or on the
+	 *                   thread that released the previous {@link Permit}.
+	 * @param onRejected Called if the interaction is shed.
+	 */
+	public void submit(int priority, @Nonnull Consumer<Permit> onAdmitted, @Nonnull RejectionHandler onRejected) {
+		Entry entry = new Entry(priority, onAdmitted, onRejected, System.nanoTime());
+		List<Entry> shed;
+		boolean admitNow = false;
+		synchronized (this) {
+			entry.sequence = sequence++;
+			shed = expire(entry.enqueued);
+			if (active < maxConcurrency) {
+				active++;
+				admitNow = true;
+			} else if (queue.size() < queueCapacity) {
+				queue.add(entry);
+			} else {
+				Entry victim = selectVictim(entry);
+				if (victim != entry) {
+					queue.remove(victim);
+					queue.add(entry);
+					victim.reason = Reason.EVICTED;
+				} else {
+					entry.reason = Reason.QUEUE_FULL;
+				}
+				shed = add(shed, victim);
+			}
+		}
+		reject(shed, entry.enqueued);
+		if (admitNow) {
+			admit(entry, entry.enqueued);
+		}
+	}
+
+	@Nonnull
+	private Entry selectVictim(@Nonnull Entry entry) {
+		switch (policy) {
+			case REJECT_BY_AGE:
+				return queue.isEmpty() ? entry : queue.peek();
+			case PRIORITY:
+				Entry lowest = entry;
+				for (Entry queued : queue) {
+					// prefer the newest entry among those with the lowest priority
+					if (queued.priority < lowest.priority || (queued.priority == lowest.priority && lowest != entry && queued.sequence > lowest.sequence)) {
+						lowest = queued;
+					}
+				}
+				return lowest;
+			case REJECT_NEWEST:
+			default:
+				return entry;
+		}
+	}
+
+	/**
+	 * Removes all entries that waited longer than the max queue age. Must be called while holding the lock.
+	 */
+	private List<Entry> expire(long now) {
+		if (maxQueueAgeNanos == 0 || queue.isEmpty()) {
+			return null;
+		}
+		List<Entry> expired = null;
+		if (queue instanceof ArrayDeque) {
+			// the head is always the oldest entry
+			while (!queue.isEmpty() && now - queue.peek().enqueued > maxQueueAgeNanos) {
+				Entry entry = queue.poll();
+				entry.reason = Reason.EXPIRED;
+				expired = add(expired, entry);
+			}
+		} else {
+			Iterator<Entry> iterator = queue.iterator();
+			while (iterator.hasNext()) {
+				Entry entry = iterator.next();
+				if (now - entry.enqueued > maxQueueAgeNanos) {
+					iterator.remove();
+					entry.reason = Reason.EXPIRED;
+					expired = add(expired, entry);
+				}
+			}
+		}
+		return expired;
+	}
+
+	private void release() {
+		long now = System.nanoTime();
+		List<Entry> shed;
+		Entry next;
+		synchronized (this) {
+			shed = expire(now);
+			next = queue.poll();
+			if (next == null) {
+				active--;
+			}
+		}
+		reject(shed, now);
+		if (next != null) {
+			admit(next, now);
+		}
+	}
+
+	private void admit(@Nonnull Entry entry, long now) {
+		admitted.incrementAndGet();
+		Permit permit = new Permit(now - entry.enqueued);
+		try {
+			entry.onAdmitted.accept(permit);
+		} catch (Throwable e) {
+			DIH4JDALogger.error("An exception occurred while admitting an interaction: %s", e);
+			permit.release();
+		}
+	}
+
+	private void reject(List<Entry> shed, long now) {
+		if (shed == null) return;
+		for (Entry entry : shed) {
+			rejected.incrementAndGet();
+			try {
+				entry.onRejected.rejected(entry.reason, Duration.ofNanos(now - entry.enqueued));
+			} catch (Throwable e) {
+				DIH4JDALogger.error("An exception occurred while rejecting an interaction: %s", e);
+			}
+		}
+	}
+
+	@Nonnull
+	private static List<Entry> add(List<Entry> list, @Nonnull Entry entry) {
+		if (list == null) {
+			list = new ArrayList<>(2);
+		}
+		list.add(entry);
+		return list;
+	}
+
+	/**
+	 * The maximum amount of interactions that are handed to their executor at once.
+	 *
+	 * @return The concurrency limit.
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * The maximum amount of interactions that may wait for admission.
+	 *
+	 * @return The queue capacity.
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * The {@link AdmissionPolicy} of this controller.
+	 *
+	 * @return The {@link AdmissionPolicy}.
+	 */
+	@Nonnull
+	public AdmissionPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * The amount of interactions that are currently admitted and not yet released.
+	 *
+	 * @return The amount of active interactions.
+	 */
+	public synchronized int getActiveCount() {
+		return active;
+	}
+
+	/**
+	 * The amount of interactions that are currently waiting for admission.
+	 *
+	 * @return The amount of queued interactions.
+	 */
+	public synchronized int getQueuedCount() {
+		return queue.size();
+	}
+
+	/**
+	 * The total amount of admitted interactions.
+	 *
+	 * @return The amount of admitted interactions.
+	 */
+	public long getAdmittedCount() {
+		return admitted.get();
+	}
+
+	/**
+	 * The total amount of shed interactions.
+	 *
+	 * @return The amount of rejected interactions.
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("AdmissionController[%s, active=%s/%s, queued=%s/%s]", policy, getActiveCount(),
+				maxConcurrency, getQueuedCount(), queueCapacity);
+	}
+
+	/**
+	 * The reason an interaction was shed.
+	 */
+	public enum Reason {
+		/**
+		 * The queue was full and the interaction was rejected upon arrival.
+		 */
+		QUEUE_FULL,
+		/**
+		 * The interaction was queued, but evicted in favour of a newer or more important interaction.
+		 */
+		EVICTED,
+		/**
+		 * The interaction waited longer than the max queue age.
+		 */
+		EXPIRED
+	}
+
+	/**
+	 * Handles a single shed interaction.
+	 */
+	@FunctionalInterface
+	public interface RejectionHandler {
+		/**
+		 * Called once an interaction was shed.
+		 *
+		 * @param reason    The {@link Reason} the interaction was shed.
+		 * @param queueWait The time the interaction waited for admission.
+		 */
+		void rejected(@Nonnull Reason reason, @Nonnull Duration queueWait);
+	}
+
+	/**
+	 * Represents a single admitted interaction. Releasing the permit admits the next queued interaction.
+	 */
+	public final class Permit {
+		private final AtomicBoolean released = new AtomicBoolean();
+		private final long queueWaitNanos;
+
+		private Permit(long queueWaitNanos) {
+			this.queueWaitNanos = queueWaitNanos;
+		}
+
+		/**
+		 * The time the interaction waited for admission.
+		 *
+		 * @return The queue wait.
+		 */
+		@Nonnull
+		public Duration getQueueWait() {
+			return Duration.ofNanos(queueWaitNanos);
+		}
+
+		/**
+		 * Releases this permit. Subsequent calls have no effect.
+		 */
+		public void release() {
+			if (released.compareAndSet(false, true)) {
+				AdmissionController.this.release();
+			}
+		}
+	}
+
+	private static final class Entry {
+		private final int priority;
+		private final Consumer<Permit> onAdmitted;
+		private final RejectionHandler onRejected;
+		private final long enqueued;
+		private long sequence;
+		private Reason reason;
+
+		private Entry(int priority, @Nonnull Consumer<Permit> onAdmitted, @Nonnull RejectionHandler onRejected, long enqueued) {
+			this.priority = priority;
+			this.onAdmitted = onAdmitted;
+			this.onRejected = onRejected;
+			this.enqueued = enqueued;
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package xyz.dynxsty.dih4jda.execution;
+
+/**
+ * Decides which interaction is shed once the {@link AdmissionController}'s queue is full.
+ *
+ * @since v1.7
+ */
+public enum AdmissionPolicy {
+	/**
+	 * Rejects the newly arrived interaction, while all queued interactions keep their place.
+	 */
+	REJECT_NEWEST,
+	/**
+	 * Evicts the oldest queued interaction in favour of the newly arrived one, as the oldest interaction is the
+	 * most likely one to miss Discord's deadline anyway.
+	 */
+	REJECT_BY_AGE,
+	/**
+	 * Evicts the queued interaction with the lowest priority, if the newly arrived interaction has a higher priority.
+	 * Otherwise, the newly arrived interaction is rejected. Queued interactions are started in order of their priority.
+	 *
+	 * @see xyz.dynxsty.dih4jda.interactions.commands.application.ApplicationCommand#setPriority(Integer)
+	 */
+	PRIORITY
+}
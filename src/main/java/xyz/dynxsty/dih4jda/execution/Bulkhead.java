@@ -0,0 +1,270 @@
+package xyz.dynxsty.dih4jda.execution;
+
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Deque;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link Executor} which isolates a group of interactions from all others, by limiting how many of its tasks
+ * may run concurrently on the underlying {@link Executor}. Tasks that exceed this limit are queued, and rejected
+ * with a {@link RejectedExecutionException} once the queue is full.
+ * <br>
+ * This way, slow commands only ever occupy their own bulkhead, and cannot starve latency-critical interactions
+ * such as autocomplete, which have to be answered within three seconds.
+ * <br>
+ * Plain {@link Runnable}s occupy their permit until they return. A {@link Bulkhead.Task} occupies it until the
+ * {@link CompletionStage} it returns completes, so that asynchronous handlers are capped as well.
+ *
+ * <pre>{@code
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .addBulkhead("reports", 2, 50)
+ *         .addBulkhead("autocomplete", 8, 200)
+ *         .setBulkhead(HandlerType.AUTO_COMPLETE, "autocomplete")
+ *         .build();
+ *
+ * public class ReportCommand extends SlashCommand {
+ *     public ReportCommand() {
+ *         setCommandData(Commands.slash("report", "Generates a (slow) report"));
+ *         setBulkhead("reports");
+ *     }
+ * }
+ * }</pre>
+ *
+ * @since v1.7
+ */
+public class Bulkhead implements Executor {
+	private final String name;
+	private final Executor delegate;
+	private final int maxConcurrency;
+	private final int queueCapacity;
+
+	private final Deque<Runnable> queue = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicLong rejected = new AtomicLong();
+
+	/**
+	 * Creates a new {@link Bulkhead}.
+	 *
+	 * @param name           The bulkhead's name.
+	 * @param delegate       The {@link Executor} that actually runs the tasks.
+	 * @param maxConcurrency The maximum amount of tasks that may run concurrently.
+	 * @param queueCapacity  The maximum amount of tasks that may wait for execution.
+	 */
+	protected Bulkhead(@Nonnull String name, @Nonnull Executor delegate, int maxConcurrency, int queueCapacity) {
+		Checks.notNull(name, "Name");
+		Checks.notNull(delegate, "Delegate");
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("Max concurrency must be at least 1");
+		}
+		if (queueCapacity < 0) {
+			throw new IllegalArgumentException("Queue capacity may not be negative");
+		}
+		this.name = name;
+		this.delegate = delegate;
+		this.maxConcurrency = maxConcurrency;
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Creates a new {@link Bulkhead}.
+	 *
+	 * @param name           The bulkhead's name.
+	 * @param delegate       The {@link Executor} that actually runs the tasks.
+	 * @param maxConcurrency The maximum amount of tasks that may run concurrently.
+	 * @param queueCapacity  The maximum amount of tasks that may wait for execution.
+	 * @return The {@link Bulkhead}.
+	 */
+	@Nonnull
+	public static Bulkhead of(@Nonnull String name, @Nonnull Executor delegate, int maxConcurrency, int queueCapacity) {
+		return new Bulkhead(name, delegate, maxConcurrency, queueCapacity);
+	}
+
+	/**
+	 * Queues the given task and runs it as soon as less than {@link Bulkhead#getMaxConcurrency()} tasks are active.
+	 * <br>
+	 * If the delegate rejects a task that already waited in the queue, a {@link Bulkhead.Task} is
+	 * {@link Bulkhead.Task#reject(RejectedExecutionException) rejected} on its own, while a plain {@link Runnable}
+	 * is queued again and retried once another task is submitted or completes.
+	 *
+	 * @param task The task to run.
+	 * @throws RejectedExecutionException if the queue is full, or the delegate rejected this very task.
+	 */
+	@Override
+	public void execute(@Nonnull Runnable task) {
+		if (queued.incrementAndGet() > queueCapacity + availablePermits()) {
+			queued.decrementAndGet();
+			rejected.incrementAndGet();
+			throw new RejectedExecutionException(String.format("Bulkhead %s is saturated (%s active, %s queued)",
+					name, active.get(), queued.get()));
+		}
+		queue.offer(task);
+		schedule(task);
+	}
+
+	private int availablePermits() {
+		return Math.max(0, maxConcurrency - active.get());
+	}
+
+	/**
+	 * Hands queued tasks over to the delegate until either the queue is empty or all permits are in use.
+	 *
+	 * @param submitted The task the caller just submitted, which is the only one whose rejection is thrown.
+	 */
+	private void schedule(@Nullable Runnable submitted) {
+		while (true) {
+			int current = active.get();
+			if (current >= maxConcurrency || queue.isEmpty()) {
+				return;
+			}
+			if (!active.compareAndSet(current, current + 1)) {
+				continue;
+			}
+			Runnable task = queue.poll();
+			if (task == null) {
+				active.decrementAndGet();
+				continue;
+			}
+			queued.decrementAndGet();
+			try {
+				delegate.execute(() -> run(task));
+			} catch (RejectedExecutionException e) {
+				active.decrementAndGet();
+				if (task == submitted) {
+					rejected.incrementAndGet();
+					throw e;
+				}
+				if (task instanceof Task) {
+					// another caller's task, which must not be rejected through this caller
+					rejected.incrementAndGet();
+					((Task) task).reject(e);
+					continue;
+				}
+				queued.incrementAndGet();
+				queue.offerFirst(task);
+				return;
+			}
+		}
+	}
+
+	private void run(@Nonnull Runnable task) {
+		CompletionStage<?> stage = null;
+		try {
+			if (task instanceof Task) {
+				stage = ((Task) task).start();
+			} else {
+				task.run();
+			}
+		} finally {
+			if (stage == null) {
+				release();
+			} else {
+				stage.whenComplete((result, error) -> release());
+			}
+		}
+	}
+
+	private void release() {
+		active.decrementAndGet();
+		// never throws, as no task was submitted by this thread
+		schedule(null);
+	}
+
+	/**
+	 * The name of this bulkhead.
+	 *
+	 * @return The name.
+	 */
+	@Nonnull
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * The maximum amount of tasks that may run concurrently.
+	 *
+	 * @return The concurrency limit.
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * The maximum amount of tasks that may wait for execution.
+	 *
+	 * @return The queue capacity.
+	 */
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * The amount of tasks that are currently running.
+	 *
+	 * @return The amount of active tasks.
+	 */
+	public int getActiveCount() {
+		return active.get();
+	}
+
+	/**
+	 * The amount of tasks that are currently waiting for execution.
+	 *
+	 * @return The amount of queued tasks.
+	 */
+	public int getQueuedCount() {
+		return queued.get();
+	}
+
+	/**
+	 * The total amount of tasks that were rejected by this bulkhead.
+	 *
+	 * @return The amount of rejected tasks.
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Bulkhead[%s, active=%s/%s, queued=%s/%s]", name, active.get(), maxConcurrency,
+				queued.get(), queueCapacity);
+	}
+
+	/**
+	 * A task which holds its permit until its asynchronous result completed, and which can be rejected on its own
+	 * if the delegate rejects it after it waited in the queue. Other {@link Executor}s simply {@link Task#run() run}
+	 * it.
+	 */
+	public interface Task extends Runnable {
+		/**
+		 * Runs the task.
+		 *
+		 * @return The {@link CompletionStage} the permit is held until, or null if the task already completed.
+		 */
+		@Nullable
+		CompletionStage<?> start();
+
+		/**
+		 * Called instead of {@link Task#start()}, if the delegate rejected this task after it waited in the queue.
+		 * This may happen on another thread.
+		 *
+		 * @param e The {@link RejectedExecutionException}.
+		 */
+		void reject(@Nonnull RejectedExecutionException e);
+
+		@Override
+		default void run() {
+			start();
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package xyz.dynxsty.dih4jda.execution;
+
+/**
+ * All types of interactions DIH4JDA handles. This is used to assign {@link Bulkhead}s (or other settings)
+ * to all interactions of a specific type.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setBulkhead(HandlerType, String)
+ * @since v1.7
+ */
+public enum HandlerType {
+	/**
+	 * Slash commands and their subcommands.
+	 */
+	SLASH_COMMAND,
+	/**
+	 * User context commands.
+	 */
+	USER_CONTEXT_COMMAND,
+	/**
+	 * Message context commands.
+	 */
+	MESSAGE_CONTEXT_COMMAND,
+	/**
+	 * Autocomplete interactions.
+	 */
+	AUTO_COMPLETE,
+	/**
+	 * Button interactions.
+	 */
+	BUTTON,
+	/**
+	 * String select menu interactions.
+	 */
+	STRING_SELECT_MENU,
+	/**
+	 * Entity select menu interactions.
+	 */
+	ENTITY_SELECT_MENU,
+	/**
+	 * Modal interactions.
+	 */
+	MODAL
+}
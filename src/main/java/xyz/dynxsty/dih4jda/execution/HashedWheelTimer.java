@@ -0,0 +1,279 @@
+package xyz.dynxsty.dih4jda.execution;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A hashed timing wheel, which is optimized for a large amount of (mostly cancelled) short-lived timeouts.
+ * <br>
+ * Scheduling and cancelling a {@link Timeout} are both O(1) and do not involve a scheduled task per timeout.
+ * Instead, a single worker thread advances the wheel once per tick and runs all expired timeouts of the current
+ * bucket. As a result, timeouts expire with a precision of one tick.
+ * <br>
+ * All tasks run on the worker thread and should therefore be short. Longer work should be handed off to an
+ * {@link java.util.concurrent.Executor}.
+ *
+ * @since v1.7
+ */
+public final class HashedWheelTimer {
+	/**
+	 * The maximum amount of new timeouts that are transferred into the wheel per tick, so that a burst of new
+	 * timeouts cannot stall the worker thread.
+	 */
+	private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+	private final long tickNanos;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+	private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+	private final AtomicLong pendingTimeouts = new AtomicLong();
+	private final long startTime;
+	private final Thread worker;
+	private volatile boolean running = true;
+
+	// only accessed by the worker thread
+	private long tick = 0;
+
+	/**
+	 * Creates and starts a new {@link HashedWheelTimer}.
+	 *
+	 * @param name          The name of the worker thread.
+	 * @param tickDuration  The duration of a single tick. This is the timer's precision.
+	 * @param unit          The {@link TimeUnit} of the tick duration.
+	 * @param ticksPerWheel The amount of buckets, which is rounded up to the next power of two.
+	 */
+	public HashedWheelTimer(@Nonnull String name, long tickDuration, @Nonnull TimeUnit unit, int ticksPerWheel) {
+		Checks.notNull(name, "Name");
+		if (tickDuration <= 0) {
+			throw new IllegalArgumentException("Tick duration must be positive");
+		}
+		if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+			throw new IllegalArgumentException("Ticks per wheel must be between 1 and 2^30");
+		}
+		int buckets = Integer.highestOneBit(ticksPerWheel - 1 == 0 ? 1 : ticksPerWheel - 1) << 1;
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.wheel = new Bucket[buckets];
+		for (int i = 0; i < buckets; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = buckets - 1;
+		this.startTime = System.nanoTime();
+		this.worker = new Thread(this::work, name);
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Schedules the given task to run once after the specified delay.
+	 *
+	 * @param task  The task to run on the timer's worker thread.
+	 * @param delay The delay.
+	 * @param unit  The {@link TimeUnit} of the delay.
+	 * @return The {@link Timeout}, which can be used to cancel the task.
+	 * @throws IllegalStateException if this timer was already stopped.
+	 */
+	@Nonnull
+	public Timeout schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+		if (!running) {
+			throw new IllegalStateException("Timer was already stopped");
+		}
+		long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+		Timeout timeout = new Timeout(this, task, deadline);
+		pendingTimeouts.incrementAndGet();
+		newTimeouts.add(timeout);
+		return timeout;
+	}
+
+	/**
+	 * The amount of timeouts that were neither cancelled nor expired yet.
+	 *
+	 * @return The amount of pending timeouts.
+	 */
+	public long getPendingTimeouts() {
+		return pendingTimeouts.get();
+	}
+
+	/**
+	 * Stops the worker thread. All pending timeouts are discarded.
+	 */
+	public void stop() {
+		running = false;
+		worker.interrupt();
+	}
+
+	private void work() {
+		while (running) {
+			long deadline = tickNanos * (tick + 1);
+			long sleepNanos = deadline - (System.nanoTime() - startTime);
+			if (sleepNanos > 0) {
+				try {
+					TimeUnit.NANOSECONDS.sleep(sleepNanos);
+				} catch (InterruptedException e) {
+					if (!running) return;
+					continue;
+				}
+			}
+			removeCancelled();
+			transferNewTimeouts();
+			wheel[(int) (tick & mask)].expire(deadline);
+			tick++;
+		}
+	}
+
+	private void removeCancelled() {
+		Timeout timeout;
+		while ((timeout = cancelledTimeouts.poll()) != null) {
+			if (timeout.bucket != null) {
+				timeout.bucket.remove(timeout);
+			}
+		}
+	}
+
+	private void transferNewTimeouts() {
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+			Timeout timeout = newTimeouts.poll();
+			if (timeout == null) return;
+			if (timeout.state.get() == Timeout.CANCELLED) continue;
+			long calculated = timeout.deadline / tickNanos;
+			timeout.remainingRounds = (calculated - tick) / wheel.length;
+			// expire timeouts whose deadline already passed in the current tick
+			long ticks = Math.max(calculated, tick);
+			wheel[(int) (ticks & mask)].add(timeout);
+		}
+	}
+
+	/**
+	 * A handle for a single scheduled task.
+	 */
+	public static final class Timeout {
+		private static final int INIT = 0;
+		private static final int CANCELLED = 1;
+		private static final int EXPIRED = 2;
+
+		private final HashedWheelTimer timer;
+		private final Runnable task;
+		private final long deadline;
+		private final AtomicInteger state = new AtomicInteger(INIT);
+
+		// only accessed by the worker thread
+		private long remainingRounds;
+		private Bucket bucket;
+		private Timeout next;
+		private Timeout prev;
+
+		private Timeout(@Nonnull HashedWheelTimer timer, @Nonnull Runnable task, long deadline) {
+			this.timer = timer;
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Cancels this timeout, if it did not expire yet.
+		 *
+		 * @return true if the timeout was cancelled by this call.
+		 */
+		public boolean cancel() {
+			if (!state.compareAndSet(INIT, CANCELLED)) {
+				return false;
+			}
+			timer.pendingTimeouts.decrementAndGet();
+			timer.cancelledTimeouts.add(this);
+			return true;
+		}
+
+		/**
+		 * Whether this timeout was cancelled.
+		 *
+		 * @return true if cancelled.
+		 */
+		public boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+
+		/**
+		 * Whether this timeout expired, meaning that its task was run.
+		 *
+		 * @return true if expired.
+		 */
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+
+		private void expire() {
+			if (!state.compareAndSet(INIT, EXPIRED)) {
+				return;
+			}
+			timer.pendingTimeouts.decrementAndGet();
+			try {
+				task.run();
+			} catch (Throwable e) {
+				DIH4JDALogger.error("An exception occurred while running a timeout: %s", e);
+			}
+		}
+	}
+
+	/**
+	 * A single bucket of the wheel, which is a doubly-linked list of {@link Timeout}s.
+	 * Only accessed by the worker thread.
+	 */
+	private static final class Bucket {
+		private Timeout head;
+		private Timeout tail;
+
+		private void add(@Nonnull Timeout timeout) {
+			timeout.bucket = this;
+			if (head == null) {
+				head = tail = timeout;
+			} else {
+				tail.next = timeout;
+				timeout.prev = tail;
+				tail = timeout;
+			}
+		}
+
+		private void expire(long deadline) {
+			Timeout timeout = head;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				if (timeout.remainingRounds <= 0) {
+					remove(timeout);
+					if (timeout.deadline <= deadline) {
+						timeout.expire();
+					}
+				} else if (timeout.isCancelled()) {
+					remove(timeout);
+				} else {
+					timeout.remainingRounds--;
+				}
+				timeout = next;
+			}
+		}
+
+		private void remove(@Nonnull Timeout timeout) {
+			if (timeout.bucket != this) return;
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			if (timeout == head) {
+				head = timeout.next;
+			}
+			if (timeout == tail) {
+				tail = timeout.prev;
+			}
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package xyz.dynxsty.dih4jda.execution;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Stripes tasks by a key (e.g. a guild or user id) onto a fixed amount of serial lanes. Tasks of the same lane run
+ * one after another, in the order they were submitted, while different lanes run in parallel on their (shared)
+ * {@link Executor}s. No lock is involved: each lane simply hands its next task to the executor once the previous
+ * task completed.
+ * <br>
+ * As multiple keys may share a lane, a slow task may delay unrelated keys of the same lane. More lanes reduce this
+ * effect at the cost of a little memory.
+ *
+ * @see OrderingMode
+ * @since v1.7
+ */
+public final class OrderedLanes {
+	private final Lane[] lanes;
+	private final int mask;
+
+	/**
+	 * Creates a new {@link OrderedLanes} instance.
+	 *
+	 * @param lanes The amount of lanes, which is rounded up to the next power of two.
+	 */
+	public OrderedLanes(int lanes) {
+		if (lanes < 1 || lanes > 1 << 20) {
+			throw new IllegalArgumentException("Amount of lanes must be between 1 and 2^20");
+		}
+		int size = lanes == 1 ? 1 : Integer.highestOneBit(lanes - 1) << 1;
+		this.lanes = new Lane[size];
+		for (int i = 0; i < size; i++) {
+			this.lanes[i] = new Lane();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Runs the given task on the specified {@link Executor}, once all previously submitted tasks of the same lane
+	 * have completed.
+	 *
+	 * @param key        The key, e.g. a guild or user id.
+	 * @param executor   The {@link Executor} to run the task on.
+	 * @param task       The task to run.
+	 * @param onRejected Called if the executor rejects the task. This may happen on another thread.
+	 */
+	public void execute(long key, @Nonnull Executor executor, @Nonnull Runnable task,
+						@Nonnull Consumer<RejectedExecutionException> onRejected) {
+		executeAsync(key, executor, () -> {
+			task.run();
+			return null;
+		}, onRejected);
+	}
+
+	/**
+	 * Runs the given asynchronous task on the specified {@link Executor}, once all previously submitted tasks of the
+	 * same lane have completed. The lane does not advance before the returned {@link CompletionStage} completes.
+	 *
+	 * @param key        The key, e.g. a guild or user id.
+	 * @param executor   The {@link Executor} to start the task on.
+	 * @param task       The task to run, which may return a {@link CompletionStage} or null.
+	 * @param onRejected Called if the executor rejects the task. This may happen on another thread.
+	 */
+	public void executeAsync(long key, @Nonnull Executor executor, @Nonnull Supplier<? extends CompletionStage<?>> task,
+							 @Nonnull Consumer<RejectedExecutionException> onRejected) {
+		Lane lane = lanes[spread(key) & mask];
+		lane.execute(new Entry(lane, executor, task, onRejected));
+	}
+
+	/**
+	 * The amount of lanes.
+	 *
+	 * @return The amount of lanes.
+	 */
+	public int getLaneCount() {
+		return lanes.length;
+	}
+
+	/**
+	 * The amount of tasks that are either running or waiting in any lane.
+	 *
+	 * @return The amount of pending tasks.
+	 */
+	public int getPendingCount() {
+		int pending = 0;
+		for (Lane lane : lanes) {
+			pending += lane.size.get();
+		}
+		return pending;
+	}
+
+	private static int spread(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	private static final class Lane {
+		private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+		// the amount of tasks that are either running or queued
+		private final AtomicInteger size = new AtomicInteger();
+
+		private void execute(@Nonnull Entry entry) {
+			queue.offer(entry);
+			if (size.getAndIncrement() == 0) {
+				runNext();
+			}
+		}
+
+		private void runNext() {
+			while (true) {
+				// every increment of size is preceded by an offer, so this is never null
+				Entry entry = queue.poll();
+				try {
+					entry.executor.execute(entry);
+					return;
+				} catch (RejectedExecutionException e) {
+					entry.rejected(e);
+					if (size.decrementAndGet() == 0) {
+						return;
+					}
+				}
+			}
+		}
+
+		@Nullable
+		private CompletionStage<?> run(@Nonnull Entry entry) {
+			CompletionStage<?> stage = null;
+			try {
+				stage = entry.task.get();
+			} finally {
+				if (stage == null) {
+					advance();
+				} else {
+					stage.whenComplete((result, error) -> advance());
+				}
+			}
+			return stage;
+		}
+
+		private void advance() {
+			if (size.decrementAndGet() > 0) {
+				runNext();
+			}
+		}
+	}
+
+	/**
+	 * A single task, which is handed to its {@link Executor} as a {@link Bulkhead.Task}, so that a {@link Bulkhead}
+	 * holds its permit as long as the lane does.
+	 */
+	private static final class Entry implements Bulkhead.Task {
+		private final Lane lane;
+		private final Executor executor;
+		private final Supplier<? extends CompletionStage<?>> task;
+		private final Consumer<RejectedExecutionException> onRejected;
+
+		private Entry(@Nonnull Lane lane, @Nonnull Executor executor, @Nonnull Supplier<? extends CompletionStage<?>> task,
+					  @Nonnull Consumer<RejectedExecutionException> onRejected) {
+			this.lane = lane;
+			this.executor = executor;
+			this.task = task;
+			this.onRejected = onRejected;
+		}
+
+		@Nullable
+		@Override
+		public CompletionStage<?> start() {
+			return lane.run(this);
+		}
+
+		@Override
+		public void reject(@Nonnull RejectedExecutionException e) {
+			// the task waited in a bulkhead's queue, so the lane has to advance on its own
+			rejected(e);
+			lane.advance();
+		}
+
+		private void rejected(@Nonnull RejectedExecutionException e) {
+			try {
+				onRejected.accept(e);
+			} catch (Throwable t) {
+				DIH4JDALogger.error("An exception occurred while rejecting an ordered task: %s", t);
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package xyz.dynxsty.dih4jda.execution;
+
+/**
+ * Decides which interactions are executed in the order they arrived.
+ *
+ * @see OrderedLanes
+ * @since v1.7
+ */
+public enum OrderingMode {
+	/**
+	 * Interactions are executed without any ordering guarantees.
+	 */
+	NONE,
+	/**
+	 * Interactions from the same guild are executed one after another, in the order they arrived.
+	 * Interactions outside of guilds are ordered by their user instead.
+	 */
+	GUILD,
+	/**
+	 * Interactions from the same user are executed one after another, in the order they arrived.
+	 */
+	USER
+}
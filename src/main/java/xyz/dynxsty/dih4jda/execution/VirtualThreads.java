@@ -0,0 +1,68 @@
+package xyz.dynxsty.dih4jda.execution;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Utility class which provides access to virtual threads (Java 21+) while still supporting the Java 11 baseline.
+ * <br>
+ * Virtual threads are well suited for command handlers which block, e.g. on
+ * {@link net.dv8tion.jda.api.requests.RestAction#complete()} or database calls, as a blocked virtual thread
+ * does not occupy one of the (few) platform threads of the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#useVirtualThreads()
+ * @since v1.7
+ */
+public final class VirtualThreads {
+
+	/**
+	 * A handle to {@code Executors#newVirtualThreadPerTaskExecutor()}, or null if the current runtime does not
+	 * support virtual threads.
+	 */
+	private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactory();
+
+	private VirtualThreads() {}
+
+	@Nullable
+	private static MethodHandle findFactory() {
+		try {
+			return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+					MethodType.methodType(ExecutorService.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether the current runtime supports virtual threads.
+	 *
+	 * @return true if virtual threads are available (Java 21 or newer).
+	 */
+	public static boolean isSupported() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Creates a new {@link ExecutorService} which starts a new virtual thread for each task.
+	 *
+	 * @return The {@link ExecutorService}.
+	 * @throws UnsupportedOperationException if the current runtime does not support virtual threads.
+	 * @see VirtualThreads#isSupported()
+	 */
+	@Nonnull
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or newer. Current version: " + Runtime.version());
+		}
+		try {
+			return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+		} catch (Throwable e) {
+			throw new IllegalStateException("Could not create virtual thread executor", e);
+		}
+	}
+}
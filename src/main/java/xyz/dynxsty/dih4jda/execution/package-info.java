@@ -0,0 +1,5 @@
+/**
+ * Contains the building blocks which are used to execute interactions, such as
+ * {@link java.util.concurrent.Executor}-implementations and factories.
+ */
+package xyz.dynxsty.dih4jda.execution;
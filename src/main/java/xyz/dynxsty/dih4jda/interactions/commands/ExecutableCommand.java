@@ -1,6 +1,8 @@
 package xyz.dynxsty.dih4jda.interactions.commands;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Represents an executable command.
@@ -13,4 +15,32 @@ public interface ExecutableCommand<E> {
 	 * @param event the command that is getting passed.
 	 */
 	void execute(@Nonnull E event);
+
+	/**
+	 * The asynchronous variant of {@link ExecutableCommand#execute(Object)}, which allows chaining
+	 * {@link net.dv8tion.jda.api.requests.RestAction RestActions} without blocking a thread.
+	 * The command is considered to be handled once the returned {@link CompletionStage} completes, and a failed
+	 * stage is treated just like an exception thrown by {@link ExecutableCommand#execute(Object)}.
+	 * <br>
+	 * By default, this simply calls {@link ExecutableCommand#execute(Object)}. If you override this method,
+	 * {@link ExecutableCommand#execute(Object)} is no longer called and may be left empty.
+	 *
+	 * <pre>{@code
+	 * @Override
+	 * public CompletionStage<?> executeAsync(SlashCommandInteractionEvent event) {
+	 *     return event.deferReply().submit()
+	 *             .thenCompose(hook -> database.loadProfileAsync(event.getUser().getIdLong()))
+	 *             .thenCompose(profile -> event.getHook().editOriginal(profile.toString()).submit());
+	 * }
+	 * }</pre>
+	 *
+	 * @param event the command that is getting passed.
+	 * @return A {@link CompletionStage} that completes once the command was handled.
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> executeAsync(@Nonnull E event) {
+		execute(event);
+		return CompletableFuture.completedFuture(null);
+	}
 }
@@ -2,12 +2,19 @@ package xyz.dynxsty.dih4jda.interactions.commands;
 
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.Interaction;
+import xyz.dynxsty.dih4jda.limits.CooldownCache;
+import xyz.dynxsty.dih4jda.limits.CooldownScope;
+import xyz.dynxsty.dih4jda.limits.CooldownStore;
+import xyz.dynxsty.dih4jda.limits.RateLimit;
+import xyz.dynxsty.dih4jda.util.Checks;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a basic command.
@@ -15,13 +22,20 @@ import java.util.Map;
  * @since v1.6
  */
 public abstract class RestrictedCommand {
-	private final Map<Long, Cooldown> COOLDOWN_CACHE = new HashMap<>();
+	// unique to this instance, until DIH4JDA derives a stable one from the command's path
+	private long cooldownNamespace = ThreadLocalRandom.current().nextLong();
+	private CooldownStore cooldownStore = new CooldownCache();
+	private boolean customCooldownStore = false;
 
 	private Long[] requiredGuilds = new Long[]{};
 	private Permission[] requiredPermissions = new Permission[]{};
 	private Long[] requiredUsers = new Long[]{};
 	private Long[] requiredRoles = new Long[]{};
-	private Duration commandCooldown = Duration.ZERO;
+	private final Duration[] commandCooldowns = new Duration[CooldownScope.values().length];
+	private final long[] commandCooldownMillis = new long[CooldownScope.values().length];
+	// the scopes that have a cooldown, in the order of their declaration
+	private CooldownScope[] cooldownScopes = new CooldownScope[]{};
+	private RateLimit[] rateLimits = new RateLimit[]{};
 
 	/**
 	 * Creates a default instance.
@@ -110,12 +124,37 @@ public abstract class RestrictedCommand {
 	 * If the user executes the command while they're on cooldown, the {@link xyz.dynxsty.dih4jda.events.CommandCooldownEvent}
 	 * is fired.<br>
 	 *
-	 * <b>Command Cooldowns DO NOT persist between sessions!</b><br>
+	 * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</b><br>
 	 *
 	 * @param commandCooldown The {@link Duration} the user has to wait between command executions.
+	 * @see RestrictedCommand#setCommandCooldown(CooldownScope, Duration)
 	 */
 	public void setCommandCooldown(@Nonnull Duration commandCooldown) {
-		this.commandCooldown = commandCooldown;
+		setCommandCooldown(CooldownScope.USER, commandCooldown);
+	}
+
+	/**
+	 * Allows to set a cooldown for this command in the given {@link CooldownScope}, e.g. to throttle an expensive
+	 * command per guild. A command may have a cooldown in every scope, which are checked in the order of their
+	 * declaration in {@link CooldownScope}. The command is only executed if it is on cooldown in NONE of them, in which case the cooldowns of
+	 * ALL scopes are applied. Otherwise, the {@link xyz.dynxsty.dih4jda.events.CommandCooldownEvent} is fired.<br>
+	 *
+	 * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</b><br>
+	 *
+	 * @param scope           The {@link CooldownScope}, which decides what shares a single cooldown.
+	 * @param commandCooldown The {@link Duration} to wait between command executions, or {@link Duration#ZERO} to
+	 *                        remove the cooldown of the given scope.
+	 * @since v1.7
+	 */
+	public void setCommandCooldown(@Nonnull CooldownScope scope, @Nonnull Duration commandCooldown) {
+		Checks.notNull(scope, "Scope");
+		Checks.notNull(commandCooldown, "Command Cooldown");
+		commandCooldowns[scope.ordinal()] = commandCooldown;
+		// cooldowns are tracked in milliseconds, so shorter ones are rounded up
+		commandCooldownMillis[scope.ordinal()] = commandCooldown.isZero() || commandCooldown.isNegative() ? 0 : Math.max(1, commandCooldown.toMillis());
+		cooldownScopes = Arrays.stream(CooldownScope.values())
+				.filter(s -> commandCooldownMillis[s.ordinal()] != 0)
+				.toArray(CooldownScope[]::new);
 	}
 
 	/**
@@ -126,52 +165,230 @@ public abstract class RestrictedCommand {
 	 */
 	@Nonnull
 	public Duration getCommandCooldown() {
-		return commandCooldown;
+		return getCommandCooldown(CooldownScope.USER);
+	}
+
+	/**
+	 * Returns the {@link Duration} to wait between command executions in the given {@link CooldownScope}.
+	 *
+	 * @param scope The {@link CooldownScope}.
+	 * @return The {@link Duration}, which is {@link Duration#ZERO} if this command has no cooldown in that scope.
+	 * @see RestrictedCommand#setCommandCooldown(CooldownScope, Duration)
+	 * @since v1.7
+	 */
+	@Nonnull
+	public Duration getCommandCooldown(@Nonnull CooldownScope scope) {
+		Duration cooldown = commandCooldowns[scope.ordinal()];
+		return cooldown != null ? cooldown : Duration.ZERO;
+	}
+
+	/**
+	 * Sets the {@link CooldownStore} which stores the cooldowns of this command, e.g. a
+	 * {@link xyz.dynxsty.dih4jda.limits.MappedCooldownStore} to keep them between sessions. A single store may be
+	 * shared between multiple commands.<br>
+	 * By default, every command stores its cooldowns in its own {@link CooldownCache}, unless a store was set using
+	 * {@link xyz.dynxsty.dih4jda.DIH4JDABuilder#setCooldownStore(CooldownStore)}.
+	 *
+	 * @param cooldownStore The {@link CooldownStore} to use.
+	 * @since v1.7
+	 */
+	public final void setCooldownStore(@Nonnull CooldownStore cooldownStore) {
+		Checks.notNull(cooldownStore, "Cooldown Store");
+		this.cooldownStore = cooldownStore;
+		this.customCooldownStore = true;
+	}
+
+	/**
+	 * Whether a {@link CooldownStore} was set using {@link RestrictedCommand#setCooldownStore(CooldownStore)}, instead
+	 * of using the default {@link CooldownCache}.
+	 *
+	 * @return Whether a store was set.
+	 * @since v1.7
+	 */
+	public final boolean hasCustomCooldownStore() {
+		return customCooldownStore;
+	}
+
+	/**
+	 * Sets the name this command's cooldowns are keyed by, so that they can be shared through a single
+	 * {@link CooldownStore} and are found again after a restart. DIH4JDA sets the command's path
+	 * (e.g. {@code slash:config set}) once the command was found, so this only has to be called for commands that
+	 * are not registered through DIH4JDA. Until then, the cooldowns are unique to this instance.
+	 *
+	 * @param name The name, which must be unique among all commands that share a {@link CooldownStore}.
+	 * @since v1.7
+	 */
+	public final void setCooldownNamespace(@Nonnull String name) {
+		Checks.notNull(name, "Name");
+		this.cooldownNamespace = CooldownStore.namespace(name);
+	}
+
+	/**
+	 * The {@link CooldownStore} which stores the cooldowns of this command, e.g. to monitor its
+	 * {@link CooldownStore#getLiveCount() live count} and {@link CooldownStore#getMemoryFootprint() memory footprint}.
+	 *
+	 * @return The {@link CooldownStore}.
+	 * @see RestrictedCommand#setCooldownStore(CooldownStore)
+	 * @since v1.7
+	 */
+	@Nonnull
+	public final CooldownStore getCooldownStore() {
+		return cooldownStore;
+	}
+
+	/**
+	 * Allows to set burst-tolerant {@link RateLimit}s for this command, which are checked before the
+	 * {@link RestrictedCommand#setCommandCooldown(Duration) Command Cooldown}. The command is only executed if
+	 * ALL rate limits allow it. Otherwise, the {@link xyz.dynxsty.dih4jda.events.RateLimitEvent} is fired.<br>
+	 *
+	 * <b>Rate Limits DO NOT persist between sessions!</b><br>
+	 *
+	 * @param rateLimits The {@link RateLimit}s, e.g. {@code RateLimit.perUser(5, Duration.ofSeconds(10))}.
+	 * @since v1.7
+	 */
+	public final void setRateLimits(@Nonnull RateLimit... rateLimits) {
+		this.rateLimits = rateLimits;
+	}
+
+	/**
+	 * The {@link RateLimit}s of this command.
+	 *
+	 * @return The {@link RateLimit} array.
+	 * @see RestrictedCommand#setRateLimits(RateLimit...)
+	 * @since v1.7
+	 */
+	@Nonnull
+	public final RateLimit[] getRateLimits() {
+		return rateLimits;
 	}
 
 	/**
 	 * Manually applies a cooldown for the specified user id.<br>
 	 *
-	 * <b>Command Cooldowns DO NOT persist between sessions!</b><br>
+	 * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</b><br>
 	 *
 	 * @param userId The targets' user id.
 	 * @param nextUse The {@link Instant} that marks the time the command can be used again.
 	 */
 	public void applyCooldown(long userId, @Nonnull Instant nextUse) {
-		COOLDOWN_CACHE.put(userId, new Cooldown(Instant.now(), nextUse));
+		applyCooldown(CooldownScope.USER, userId, nextUse);
+	}
+
+	/**
+	 * Manually applies a cooldown for the specified id in the given {@link CooldownScope}.<br>
+	 *
+	 * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</b><br>
+	 *
+	 * @param scope   The {@link CooldownScope}.
+	 * @param id      The targets' id in that scope, as returned by {@link CooldownScope#getId(Interaction)}.
+	 * @param nextUse The {@link Instant} that marks the time the command can be used again.
+	 * @since v1.7
+	 */
+	public void applyCooldown(@Nonnull CooldownScope scope, long id, @Nonnull Instant nextUse) {
+		cooldownStore.put(cooldownKey(scope, id), System.currentTimeMillis(), nextUse.toEpochMilli());
+	}
+
+	/**
+	 * Atomically checks whether the given {@link Interaction} is on cooldown in any {@link CooldownScope} and, if not,
+	 * applies the {@link RestrictedCommand#setCommandCooldown(CooldownScope, Duration) Command Cooldowns} of all
+	 * scopes. Unlike calling {@link RestrictedCommand#hasCooldown(long)} and
+	 * {@link RestrictedCommand#applyCooldown(long, Instant)} one after another, two concurrent invocations can never
+	 * both pass.<br>
+	 * If a command has cooldowns in multiple scopes, a concurrent invocation may rarely apply the cooldown of one
+	 * scope, even though another one denies it.<br>
+	 *
+	 * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</b><br>
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @return {@code null} if the command can be executed, or the {@link CooldownScope} it is on cooldown in.
+	 * @since v1.7
+	 */
+	@Nullable
+	public CooldownScope tryAcquireCooldown(@Nonnull Interaction interaction) {
+		CooldownScope[] scopes = cooldownScopes;
+		if (scopes.length == 0) return null;
+		if (scopes.length > 1) {
+			// check all scopes first, so that a denied invocation does not use up the cooldowns of the others
+			CooldownScope denied = peekCooldown(interaction);
+			if (denied != null) return denied;
+		}
+		long now = System.currentTimeMillis();
+		for (CooldownScope scope : scopes) {
+			long key = cooldownKey(scope, scope.getId(interaction));
+			if (cooldownStore.tryAcquire(key, now, commandCooldownMillis[scope.ordinal()]) != 0) return scope;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the given {@link Interaction} is on cooldown in any {@link CooldownScope}, without applying any
+	 * cooldown.
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @return {@code null} if the command could be executed, or the {@link CooldownScope} it is on cooldown in.
+	 * @since v1.7
+	 */
+	@Nullable
+	public CooldownScope peekCooldown(@Nonnull Interaction interaction) {
+		long now = System.currentTimeMillis();
+		for (CooldownScope scope : cooldownScopes) {
+			if (cooldownStore.getNextUse(cooldownKey(scope, scope.getId(interaction))) > now) return scope;
+		}
+		return null;
 	}
 
 	/**
 	 * Gets the {@link Cooldown time} the specified user can execute this command again.
-	 * If the user has not executed the command yet, this will return a {@link Cooldown} with
-	 * both the nextUse and the lastUse of {@link Instant#EPOCH} instead.
+	 * If the user has not executed the command yet, or their cooldown expired and was already reclaimed, this will
+	 * return a {@link Cooldown} with both the nextUse and the lastUse of {@link Instant#EPOCH} instead.
 	 *
 	 * @param userId The targets' user id.
 	 * @return The {@link Instant} that marks the time the command can be used again.
 	 */
 	@Nonnull
 	public Cooldown retrieveCooldown(long userId) {
-		Cooldown cooldown = COOLDOWN_CACHE.get(userId);
-		if (cooldown == null) return new Cooldown(Instant.EPOCH, Instant.EPOCH);
-		return cooldown;
+		return retrieveCooldown(CooldownScope.USER, userId);
+	}
+
+	/**
+	 * Gets the {@link Cooldown time} the specified id can execute this command again in the given
+	 * {@link CooldownScope}. If the id has not executed the command yet, or its cooldown expired and was already
+	 * reclaimed, this will return a {@link Cooldown} with both the nextUse and the lastUse of {@link Instant#EPOCH}
+	 * instead.
+	 *
+	 * @param scope The {@link CooldownScope}.
+	 * @param id    The targets' id in that scope, as returned by {@link CooldownScope#getId(Interaction)}.
+	 * @return The {@link Instant} that marks the time the command can be used again.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public Cooldown retrieveCooldown(@Nonnull CooldownScope scope, long id) {
+		long key = cooldownKey(scope, id);
+		long nextUse = cooldownStore.getNextUse(key);
+		if (nextUse == 0) return new Cooldown(Instant.EPOCH, Instant.EPOCH);
+		return new Cooldown(Instant.ofEpochMilli(cooldownStore.getLastUse(key)), Instant.ofEpochMilli(nextUse));
 	}
 
 	/**
 	 * Returns whether the command can be used by the specified user.<br>
 	 *
-	 * <b>Command Cooldowns DO NOT persist between sessions!</b><br>
+	 * <b>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</b><br>
 	 *
 	 * @param userId The targets' user id.
 	 * @return Whether the command can be executed.
 	 */
 	public boolean hasCooldown(long userId) {
-		return retrieveCooldown(userId).getNextUse().isAfter(Instant.now());
+		return cooldownStore.getNextUse(cooldownKey(CooldownScope.USER, userId)) > System.currentTimeMillis();
+	}
+
+	private long cooldownKey(@Nonnull CooldownScope scope, long id) {
+		return CooldownStore.key(scope.namespace(cooldownNamespace), id);
 	}
 
 	/**
 	 * Model class which represents a single command cooldown.
 	 *
-	 * <h2>Command Cooldowns DO NOT persist between sessions!</h2>
+	 * <h2>Command Cooldowns DO NOT persist between sessions, unless a persistent {@link CooldownStore} is used!</h2>
 	 */
 	public static class Cooldown {
 		private final Instant lastUse;
@@ -6,6 +6,7 @@ import xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand;
 import xyz.dynxsty.dih4jda.util.Checks;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Model class for all <a href="https://discord.com/developers/docs/interactions/application-commands">Application Commands</a>.
@@ -16,6 +17,8 @@ import javax.annotation.Nonnull;
  */
 public abstract class ApplicationCommand<E extends GenericCommandInteractionEvent, T> extends RestrictedCommand implements ExecutableCommand<E> {
 	private T data;
+	private String bulkhead;
+	private Integer priority;
 
 	/**
 	 * Creates a default {@link ApplicationCommand}.
@@ -42,4 +45,51 @@ public abstract class ApplicationCommand<E extends GenericCommandInteractionEven
 		Checks.notNull(data, "Command data");
 		return data;
 	}
+
+	/**
+	 * Executes this command using the specified {@link xyz.dynxsty.dih4jda.execution.Bulkhead}, so that it cannot
+	 * starve other interactions. The bulkhead is resolved once the command gets registered.
+	 * {@link SlashCommand.Subcommand}s without a bulkhead use the one of their parent.
+	 *
+	 * @param bulkhead The name of the bulkhead, as added by
+	 *                 {@link xyz.dynxsty.dih4jda.DIH4JDABuilder#addBulkhead(String, int, int)}.
+	 * @since v1.7
+	 */
+	public final void setBulkhead(@Nullable String bulkhead) {
+		this.bulkhead = bulkhead;
+	}
+
+	/**
+	 * Gets the name of the {@link xyz.dynxsty.dih4jda.execution.Bulkhead} this command is executed by.
+	 *
+	 * @return The bulkhead's name, or null if the default one should be used.
+	 * @since v1.7
+	 */
+	@Nullable
+	public final String getBulkhead() {
+		return bulkhead;
+	}
+
+	/**
+	 * Sets the priority of this command, which is used by {@link xyz.dynxsty.dih4jda.execution.AdmissionPolicy#PRIORITY}
+	 * to decide which interactions are shed first if the bot is overloaded. Higher values are more important.
+	 * {@link SlashCommand.Subcommand}s without a priority use the one of their parent.
+	 *
+	 * @param priority The priority, or null to use the default priority of {@code 0}.
+	 * @since v1.7
+	 */
+	public final void setPriority(@Nullable Integer priority) {
+		this.priority = priority;
+	}
+
+	/**
+	 * Gets the priority of this command.
+	 *
+	 * @return The priority, or null if it was not set.
+	 * @since v1.7
+	 */
+	@Nullable
+	public final Integer getPriority() {
+		return priority;
+	}
 }
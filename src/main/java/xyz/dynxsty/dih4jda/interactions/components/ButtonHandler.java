@@ -6,6 +6,9 @@ import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * An interface that contains the method that should be executed when a user interacts with a
@@ -56,4 +59,37 @@ public interface ButtonHandler {
 	 * @since v1.4
 	 */
 	void handleButton(@Nonnull ButtonInteractionEvent event, @Nonnull Button button);
+
+	/**
+	 * The asynchronous variant of {@link ButtonHandler#handleButton(ButtonInteractionEvent, Button)}.
+	 * The interaction is considered to be handled once the returned {@link CompletionStage} completes.
+	 * By default, this simply calls {@link ButtonHandler#handleButton(ButtonInteractionEvent, Button)}.
+	 *
+	 * @param event the {@link ButtonInteractionEvent}.
+	 * @param button the {@link Button} that the user interacted with.
+	 * @return A {@link CompletionStage} that completes once the interaction was handled.
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> handleButtonAsync(@Nonnull ButtonInteractionEvent event, @Nonnull Button button) {
+		handleButton(event, button);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * The variant of {@link ButtonHandler#handleButtonAsync(ButtonInteractionEvent, Button)} which receives the state
+	 * of a button, whose id was built using {@link ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}.
+	 * By default, this simply calls {@link ButtonHandler#handleButtonAsync(ButtonInteractionEvent, Button)}.
+	 *
+	 * @param event the {@link ButtonInteractionEvent}.
+	 * @param button the {@link Button} that the user interacted with.
+	 * @param state the resolved state, or null if the id contains no token or the state expired.
+	 * @return A {@link CompletionStage} that completes once the interaction was handled.
+	 * @see ComponentStateStore
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> handleButtonAsync(@Nonnull ButtonInteractionEvent event, @Nonnull Button button, @Nullable Object state) {
+		return handleButtonAsync(event, button);
+	}
 }
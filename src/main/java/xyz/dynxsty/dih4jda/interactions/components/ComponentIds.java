@@ -0,0 +1,45 @@
+package xyz.dynxsty.dih4jda.interactions.components;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the ids of a {@link ButtonHandler}, {@link StringSelectMenuHandler}, {@link EntitySelectMenuHandler}
+ * or {@link ModalHandler}, which is found in one of the commands packages. This way, the handler is mapped
+ * automatically and does not need to be added using {@link IdMapping}s.
+ * <br>
+ * If the annotated class is a command, its existing instance is used. Otherwise, the class MUST contain an empty
+ * public constructor. A class that implements multiple handler interfaces is mapped to the same ids for all of them.
+ *
+ * <pre>{@code
+ * @ComponentIds("poll")
+ * public class PollCommand extends SlashCommand implements ButtonHandler {
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setCommandPackages(String...)
+ * @since v1.7
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ComponentIds {
+	/**
+	 * The ids, which are matched against the identifier of every incoming component-id.
+	 *
+	 * @return The ids.
+	 */
+	String[] value();
+
+	/**
+	 * The name of the {@link xyz.dynxsty.dih4jda.execution.Bulkhead} which executes the handler's interactions.
+	 *
+	 * @return The bulkhead's name, or an empty string if the default one for the handler type should be used.
+	 * @see IdMapping#withBulkhead(String)
+	 */
+	String bulkhead() default "";
+}
@@ -0,0 +1,328 @@
+package xyz.dynxsty.dih4jda.interactions.components;
+
+import xyz.dynxsty.dih4jda.execution.HashedWheelTimer;
+import xyz.dynxsty.dih4jda.util.Checks;
+import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, server-side store for the state of components, whose state does not fit into their component-id.
+ * The state is stored under a short token, which is embedded into the component-id using
+ * {@link ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}. Once a user interacts with the
+ * component, the state is resolved and passed to the handler, e.g. to
+ * {@link ButtonHandler#handleButtonAsync(net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent, net.dv8tion.jda.api.components.buttons.Button, Object)}.
+ * <br>
+ * The store holds at most {@link ComponentStateStore#getMaximumSize()} states. Once it is full, the least recently
+ * used state is evicted. Additionally, every state expires after its time-to-live, which is tracked by a
+ * {@link HashedWheelTimer} with a precision of one second. The state of an evicted or expired token resolves to null.
+ *
+ * <pre>{@code
+ * ComponentStateStore store = new ComponentStateStore(10_000, Duration.ofMinutes(15));
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .setComponentStateStore(store)
+ *         .build();
+ *
+ * Button.primary(ComponentIdBuilder.build(store, new Cart(items), "checkout"), "Checkout");
+ * }</pre>
+ *
+ * <b>States DO NOT persist between sessions!</b>
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setComponentStateStore(ComponentStateStore)
+ * @since v1.7
+ */
+public final class ComponentStateStore {
+	/**
+	 * The prefix that distinguishes a token from a regular argument of a component-id.
+	 */
+	public static final char TOKEN_PREFIX = '~';
+	// alphanumerics only, as component-ids are split at the separator of ComponentIdBuilder, which may be any other character
+	private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+	// 8 characters of almost 6 bits each
+	private static final int TOKEN_LENGTH = 8;
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+	private static volatile HashedWheelTimer timer;
+
+	private final int maximumSize;
+	private final Duration defaultTtl;
+	// guarded by this
+	private final LinkedHashMap<String, StoredState> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	/**
+	 * Creates a new {@link ComponentStateStore}.
+	 *
+	 * @param maximumSize The maximum amount of states, before the least recently used one is evicted.
+	 * @param defaultTtl  The time-to-live of every state, unless specified otherwise.
+	 */
+	public ComponentStateStore(int maximumSize, @Nonnull Duration defaultTtl) {
+		Checks.notNull(defaultTtl, "Default TTL");
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Maximum size must be at least 1");
+		}
+		if (defaultTtl.isNegative() || defaultTtl.isZero()) {
+			throw new IllegalArgumentException("Default TTL must be positive");
+		}
+		this.maximumSize = maximumSize;
+		this.defaultTtl = defaultTtl;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, StoredState> eldest) {
+				if (size() <= ComponentStateStore.this.maximumSize) {
+					return false;
+				}
+				eldest.getValue().timeout.cancel();
+				evictions.increment();
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Stores the given state using the default time-to-live.
+	 *
+	 * @param state The state.
+	 * @return The token, which resolves to the state.
+	 */
+	@Nonnull
+	public String put(@Nonnull Object state) {
+		return put(state, defaultTtl);
+	}
+
+	/**
+	 * Stores the given state.
+	 *
+	 * @param state The state.
+	 * @param ttl   The time-to-live of the state.
+	 * @return The token, which resolves to the state.
+	 */
+	@Nonnull
+	public String put(@Nonnull Object state, @Nonnull Duration ttl) {
+		Checks.notNull(state, "State");
+		Checks.notNull(ttl, "TTL");
+		StoredState entry = new StoredState(state);
+		String token;
+		synchronized (this) {
+			do {
+				token = newToken();
+			} while (entries.containsKey(token));
+			entries.put(token, entry);
+			// scheduled while holding the lock, so that the entry is never evicted before its timeout is set
+			String expired = token;
+			entry.timeout = timer().schedule(() -> expire(expired, entry), ttl.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		return token;
+	}
+
+	/**
+	 * Gets the state of the given token.
+	 *
+	 * @param token The token, as returned by {@link ComponentStateStore#put(Object)}.
+	 * @return The state, or null if the token is unknown, evicted or expired.
+	 */
+	@Nullable
+	public Object get(@Nonnull String token) {
+		StoredState entry;
+		synchronized (this) {
+			entry = entries.get(token);
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.state;
+	}
+
+	/**
+	 * Gets the state of the given token.
+	 *
+	 * @param token The token, as returned by {@link ComponentStateStore#put(Object)}.
+	 * @param type  The state's class.
+	 * @param <T>   The state's type.
+	 * @return The state, or null if the token is unknown, evicted or expired.
+	 * @throws ClassCastException If the state is not of the given type.
+	 */
+	@Nullable
+	public <T> T get(@Nonnull String token, @Nonnull Class<T> type) {
+		return type.cast(get(token));
+	}
+
+	/**
+	 * Resolves the state of the given component-id, whose first argument is the token.
+	 *
+	 * @param componentId The component-id, as built by {@link ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}.
+	 * @return The state, or null if the component-id contains no token, or the token is unknown, evicted or expired.
+	 */
+	@Nullable
+	public Object resolve(@Nonnull String componentId) {
+		String separator = ComponentIdBuilder.getDefaultSeparator();
+		int start = componentId.indexOf(separator);
+		if (start < 0) return null;
+		start += separator.length();
+		int end = start + 1 + TOKEN_LENGTH;
+		if (end > componentId.length() || componentId.charAt(start) != TOKEN_PREFIX
+				|| (end != componentId.length() && !componentId.startsWith(separator, end))) {
+			return null;
+		}
+		return get(componentId.substring(start, end));
+	}
+
+	/**
+	 * Removes the state of the given token, e.g. once the component was disabled.
+	 *
+	 * @param token The token.
+	 * @return The removed state, or null if the token is unknown, evicted or expired.
+	 */
+	@Nullable
+	public Object remove(@Nonnull String token) {
+		StoredState entry;
+		synchronized (this) {
+			entry = entries.remove(token);
+		}
+		if (entry == null) return null;
+		entry.timeout.cancel();
+		return entry.state;
+	}
+
+	private void expire(@Nonnull String token, @Nonnull StoredState entry) {
+		boolean removed;
+		synchronized (this) {
+			removed = entries.remove(token, entry);
+		}
+		if (removed) {
+			expirations.increment();
+		}
+	}
+
+	@Nonnull
+	private static String newToken() {
+		long bits = RANDOM.nextLong();
+		char[] token = new char[TOKEN_LENGTH + 1];
+		token[0] = TOKEN_PREFIX;
+		// a long holds far more than 62^8 values, so that the remainders are (almost) uniform
+		for (int i = 1; i <= TOKEN_LENGTH; i++) {
+			token[i] = ALPHABET.charAt((int) Long.remainderUnsigned(bits, ALPHABET.length()));
+			bits = Long.divideUnsigned(bits, ALPHABET.length());
+		}
+		return new String(token);
+	}
+
+	@Nonnull
+	private static HashedWheelTimer timer() {
+		HashedWheelTimer result = timer;
+		if (result == null) {
+			synchronized (ComponentStateStore.class) {
+				result = timer;
+				if (result == null) {
+					// a single timer is shared between all stores, as TTLs are usually minutes
+					timer = result = new HashedWheelTimer("DIH4JDA-ComponentState", 1, TimeUnit.SECONDS, 512);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The maximum amount of states, before the least recently used one is evicted.
+	 *
+	 * @return The maximum size.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * The default time-to-live of every state.
+	 *
+	 * @return The default TTL.
+	 */
+	@Nonnull
+	public Duration getDefaultTtl() {
+		return defaultTtl;
+	}
+
+	/**
+	 * The current amount of states.
+	 *
+	 * @return The size.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * The total amount of tokens that were resolved to their state.
+	 *
+	 * @return The amount of hits.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * The total amount of tokens that could not be resolved, as they were unknown, evicted or expired.
+	 *
+	 * @return The amount of misses.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * The ratio of hits to all lookups.
+	 *
+	 * @return The hit rate, between {@code 0} and {@code 1}, or {@code 1} if there were no lookups yet.
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return total == 0 ? 1 : (double) hits / total;
+	}
+
+	/**
+	 * The total amount of states that were evicted, because the store was full.
+	 *
+	 * @return The amount of evictions.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * The total amount of states that expired.
+	 *
+	 * @return The amount of expirations.
+	 */
+	public long getExpirationCount() {
+		return expirations.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ComponentStateStore[size=%s/%s, hitRate=%.2f, evictions=%s, expirations=%s]", size(),
+				maximumSize, getHitRate(), getEvictionCount(), getExpirationCount());
+	}
+
+	private static final class StoredState {
+		private final Object state;
+		private HashedWheelTimer.Timeout timeout;
+
+		private StoredState(@Nonnull Object state) {
+			this.state = state;
+		}
+	}
+}
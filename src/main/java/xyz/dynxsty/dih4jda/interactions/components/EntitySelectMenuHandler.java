@@ -5,7 +5,10 @@ import net.dv8tion.jda.api.events.interaction.component.EntitySelectInteractionE
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * An interface that contains the method that should be executed when a user interacts with a
@@ -51,4 +54,38 @@ public interface EntitySelectMenuHandler {
      * @param values the values that you could select.
      */
     void handleEntitySelectMenu(@Nonnull EntitySelectInteractionEvent event, @Nonnull List<IMentionable> values);
+
+    /**
+     * The asynchronous variant of {@link EntitySelectMenuHandler#handleEntitySelectMenu(EntitySelectInteractionEvent, List)}.
+     * The interaction is considered to be handled once the returned {@link CompletionStage} completes.
+     * By default, this simply calls {@link EntitySelectMenuHandler#handleEntitySelectMenu(EntitySelectInteractionEvent, List)}.
+     *
+     * @param event the {@link EntitySelectInteractionEvent} instance.
+     * @param values the values that you could select.
+     * @return A {@link CompletionStage} that completes once the interaction was handled.
+     * @since v1.7
+     */
+    @Nonnull
+    default CompletionStage<?> handleEntitySelectMenuAsync(@Nonnull EntitySelectInteractionEvent event, @Nonnull List<IMentionable> values) {
+        handleEntitySelectMenu(event, values);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * The variant of {@link EntitySelectMenuHandler#handleEntitySelectMenuAsync(EntitySelectInteractionEvent, List)} which
+     * receives the state of a select menu, whose id was built using
+     * {@link ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}.
+     * By default, this simply calls {@link EntitySelectMenuHandler#handleEntitySelectMenuAsync(EntitySelectInteractionEvent, List)}.
+     *
+     * @param event the {@link EntitySelectInteractionEvent} instance.
+     * @param values the values that you could select.
+     * @param state the resolved state, or null if the id contains no token or the state expired.
+     * @return A {@link CompletionStage} that completes once the interaction was handled.
+     * @see ComponentStateStore
+     * @since v1.7
+     */
+    @Nonnull
+    default CompletionStage<?> handleEntitySelectMenuAsync(@Nonnull EntitySelectInteractionEvent event, @Nonnull List<IMentionable> values, @Nullable Object state) {
+        return handleEntitySelectMenuAsync(event, values);
+    }
 }
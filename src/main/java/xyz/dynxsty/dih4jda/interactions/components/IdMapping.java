@@ -1,6 +1,7 @@
 package xyz.dynxsty.dih4jda.interactions.components;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Simple POJO that holds a handler, {@link T}, and an array of {@link String}s.
@@ -11,9 +12,11 @@ public class IdMapping<T> {
 
 	private final T handler;
 	private final String[] ids;
+	private final String bulkhead;
 
-	private IdMapping(@Nonnull T handler, @Nonnull String... ids) {
+	private IdMapping(@Nonnull T handler, @Nullable String bulkhead, @Nonnull String... ids) {
 		this.handler = handler;
+		this.bulkhead = bulkhead;
 		this.ids = ids;
 	}
 
@@ -27,7 +30,21 @@ public class IdMapping<T> {
 	 */
 	@Nonnull
 	public static <T> IdMapping<T> of(@Nonnull T handler, @Nonnull String... ids) {
-		return new IdMapping<>(handler, ids);
+		return new IdMapping<>(handler, null, ids);
+	}
+
+	/**
+	 * Creates a copy of this {@link IdMapping}, whose interactions are executed by the specified
+	 * {@link xyz.dynxsty.dih4jda.execution.Bulkhead}.
+	 *
+	 * @param bulkhead The name of the bulkhead, as added by
+	 *                 {@link xyz.dynxsty.dih4jda.DIH4JDABuilder#addBulkhead(String, int, int)}.
+	 * @return The new {@link IdMapping} instance.
+	 * @since v1.7
+	 */
+	@Nonnull
+	public IdMapping<T> withBulkhead(@Nonnull String bulkhead) {
+		return new IdMapping<>(handler, bulkhead, ids);
 	}
 
 	/**
@@ -49,4 +66,16 @@ public class IdMapping<T> {
 	public T getHandler() {
 		return handler;
 	}
+
+	/**
+	 * Gets you the name of the {@link xyz.dynxsty.dih4jda.execution.Bulkhead} this mapping's interactions are
+	 * executed by.
+	 *
+	 * @return The bulkhead's name, or null if the default one for the handler type should be used.
+	 * @since v1.7
+	 */
+	@Nullable
+	public String getBulkhead() {
+		return bulkhead;
+	}
 }
@@ -6,7 +6,10 @@ import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * An interface that contains the method that should be executed when a user interacts with a
@@ -69,4 +72,37 @@ public interface ModalHandler {
 	 * @since v1.4
 	 */
 	void handleModal(@Nonnull ModalInteractionEvent event, @Nonnull List<ModalMapping> values);
+
+	/**
+	 * The asynchronous variant of {@link ModalHandler#handleModal(ModalInteractionEvent, List)}.
+	 * The interaction is considered to be handled once the returned {@link CompletionStage} completes.
+	 * By default, this simply calls {@link ModalHandler#handleModal(ModalInteractionEvent, List)}.
+	 *
+	 * @param event the provided {@link ModalInteractionEvent}.
+	 * @param values a {@link List} of the {@link ModalMapping} values.
+	 * @return A {@link CompletionStage} that completes once the interaction was handled.
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> handleModalAsync(@Nonnull ModalInteractionEvent event, @Nonnull List<ModalMapping> values) {
+		handleModal(event, values);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * The variant of {@link ModalHandler#handleModalAsync(ModalInteractionEvent, List)} which receives the state
+	 * of a modal, whose id was built using {@link ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}.
+	 * By default, this simply calls {@link ModalHandler#handleModalAsync(ModalInteractionEvent, List)}.
+	 *
+	 * @param event the provided {@link ModalInteractionEvent}.
+	 * @param values a {@link List} of the {@link ModalMapping} values.
+	 * @param state the resolved state, or null if the id contains no token or the state expired.
+	 * @return A {@link CompletionStage} that completes once the interaction was handled.
+	 * @see ComponentStateStore
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> handleModalAsync(@Nonnull ModalInteractionEvent event, @Nonnull List<ModalMapping> values, @Nullable Object state) {
+		return handleModalAsync(event, values);
+	}
 }
@@ -6,7 +6,10 @@ import xyz.dynxsty.dih4jda.DIH4JDA;
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * An interface that contains the method that should be executed when a user interacts with a
@@ -58,4 +61,38 @@ public interface StringSelectMenuHandler {
 	 * @since v1.4
 	 */
 	void handleStringSelectMenu(@Nonnull StringSelectInteractionEvent event, @Nonnull List<String> values);
+
+	/**
+	 * The asynchronous variant of {@link StringSelectMenuHandler#handleStringSelectMenu(StringSelectInteractionEvent, List)}.
+	 * The interaction is considered to be handled once the returned {@link CompletionStage} completes.
+	 * By default, this simply calls {@link StringSelectMenuHandler#handleStringSelectMenu(StringSelectInteractionEvent, List)}.
+	 *
+	 * @param event the provided {@link StringSelectInteractionEvent}.
+	 * @param values the provided selections.
+	 * @return A {@link CompletionStage} that completes once the interaction was handled.
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> handleStringSelectMenuAsync(@Nonnull StringSelectInteractionEvent event, @Nonnull List<String> values) {
+		handleStringSelectMenu(event, values);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * The variant of {@link StringSelectMenuHandler#handleStringSelectMenuAsync(StringSelectInteractionEvent, List)} which
+	 * receives the state of a select menu, whose id was built using
+	 * {@link ComponentIdBuilder#build(ComponentStateStore, Object, String, Object...)}.
+	 * By default, this simply calls {@link StringSelectMenuHandler#handleStringSelectMenuAsync(StringSelectInteractionEvent, List)}.
+	 *
+	 * @param event the provided {@link StringSelectInteractionEvent}.
+	 * @param values the provided selections.
+	 * @param state the resolved state, or null if the id contains no token or the state expired.
+	 * @return A {@link CompletionStage} that completes once the interaction was handled.
+	 * @see ComponentStateStore
+	 * @since v1.7
+	 */
+	@Nonnull
+	default CompletionStage<?> handleStringSelectMenuAsync(@Nonnull StringSelectInteractionEvent event, @Nonnull List<String> values, @Nullable Object state) {
+		return handleStringSelectMenuAsync(event, values);
+	}
 }
@@ -0,0 +1,88 @@
+package xyz.dynxsty.dih4jda.interceptors;
+
+import net.dv8tion.jda.api.interactions.Interaction;
+import xyz.dynxsty.dih4jda.DIH4JDA;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Wraps the handling of every interaction, including slash commands, context commands, autocomplete, components
+ * and modals. Interceptors run on the interaction's executor, once the handler was found, and before the command's
+ * requirements are checked. This is the place for cross-cutting concerns, such as timing, tracing or custom
+ * authorization, instead of copying them into every command.
+ * <br>
+ * Interceptors are called in the order they were added. Each interceptor decides whether (and when) the next one,
+ * and finally the handler itself, is called:
+ *
+ * <pre>{@code
+ * public class AuditInterceptor implements InteractionInterceptor {
+ *     @Override
+ *     public CompletionStage<?> intercept(Interaction interaction, Chain chain) throws Exception {
+ *         if (isBanned(interaction.getUser())) {
+ *             return CompletableFuture.completedFuture(null);
+ *         }
+ *         return chain.proceed();
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#addInterceptors(InteractionInterceptor...)
+ * @since v1.7
+ */
+@FunctionalInterface
+public interface InteractionInterceptor {
+
+	/**
+	 * Intercepts the handling of a single interaction.
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @param chain       The {@link Chain}, which calls the next interceptor or the handler.
+	 * @return The {@link CompletionStage} which completes once the interaction was handled, usually the one that is
+	 * returned by {@link Chain#proceed()}.
+	 * @throws Exception If the interaction could not be handled. This is passed to the corresponding exception event.
+	 */
+	@Nonnull
+	CompletionStage<?> intercept(@Nonnull Interaction interaction, @Nonnull Chain chain) throws Exception;
+
+	/**
+	 * The remaining interceptors of a single interaction, followed by its handler.
+	 */
+	interface Chain {
+
+		/**
+		 * Calls the next interceptor, or the handler if this was the last one. Must be called at most once.
+		 *
+		 * @return The {@link CompletionStage} which completes once the interaction was handled.
+		 * @throws Exception If the interaction could not be handled.
+		 */
+		@Nonnull
+		CompletionStage<?> proceed() throws Exception;
+
+		/**
+		 * The {@link DIH4JDA} instance which handles the interaction.
+		 *
+		 * @return The {@link DIH4JDA} instance.
+		 */
+		@Nonnull
+		DIH4JDA getDIH4JDA();
+
+		/**
+		 * The path of the interaction, which is the command type and full command name for commands, and the
+		 * component type and the component-id's identifier for components.
+		 *
+		 * @return The path, e.g. {@code slash:config set} or {@code button:vote}.
+		 */
+		@Nonnull
+		String getPath();
+
+		/**
+		 * The time the interaction waited for its executor.
+		 *
+		 * @return The queue wait.
+		 */
+		@Nonnull
+		Duration getQueueWait();
+	}
+}
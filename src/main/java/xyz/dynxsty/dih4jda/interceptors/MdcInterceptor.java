@@ -0,0 +1,55 @@
+package xyz.dynxsty.dih4jda.interceptors;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.Interaction;
+import org.slf4j.MDC;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Puts the interaction's id, path, user and guild into the SLF4J {@link MDC}, so that every log message of a handler
+ * can be correlated with its interaction. The values are set while the (synchronous part of the) handler runs and
+ * removed afterwards. Continuations that run on other threads must copy the context themselves,
+ * e.g. using {@link MDC#getCopyOfContextMap()}.
+ *
+ * @since v1.7
+ */
+public final class MdcInterceptor implements InteractionInterceptor {
+	/**
+	 * The key of the interaction's id.
+	 */
+	public static final String INTERACTION_ID = "dih4jda.interaction";
+	/**
+	 * The key of the interaction's path, e.g. {@code slash:config set}.
+	 */
+	public static final String PATH = "dih4jda.path";
+	/**
+	 * The key of the user's id.
+	 */
+	public static final String USER_ID = "dih4jda.user";
+	/**
+	 * The key of the guild's id, which is only set for interactions in guilds.
+	 */
+	public static final String GUILD_ID = "dih4jda.guild";
+
+	@Nonnull
+	@Override
+	public CompletionStage<?> intercept(@Nonnull Interaction interaction, @Nonnull Chain chain) throws Exception {
+		MDC.put(INTERACTION_ID, interaction.getId());
+		MDC.put(PATH, chain.getPath());
+		MDC.put(USER_ID, interaction.getUser().getId());
+		Guild guild = interaction.getGuild();
+		if (guild != null) {
+			MDC.put(GUILD_ID, guild.getId());
+		}
+		try {
+			return chain.proceed();
+		} finally {
+			MDC.remove(INTERACTION_ID);
+			MDC.remove(PATH);
+			MDC.remove(USER_ID);
+			MDC.remove(GUILD_ID);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package xyz.dynxsty.dih4jda.interceptors;
+
+import net.dv8tion.jda.api.interactions.Interaction;
+import xyz.dynxsty.dih4jda.events.CommandExecutedEvent;
+import xyz.dynxsty.dih4jda.events.DIH4JDAEvent;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Measures the time it takes to handle every interaction, until the handler's (asynchronous) result completed, and
+ * fires a {@link CommandExecutedEvent} for all interactions that took at least the configured threshold.
+ *
+ * <pre>{@code
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .addInterceptors(new TimingInterceptor(Duration.ofMillis(500)))
+ *         .build();
+ * }</pre>
+ *
+ * @since v1.7
+ */
+public final class TimingInterceptor implements InteractionInterceptor {
+	private final long thresholdNanos;
+
+	/**
+	 * Creates a new {@link TimingInterceptor}, which fires an event for every interaction.
+	 */
+	public TimingInterceptor() {
+		this(Duration.ZERO);
+	}
+
+	/**
+	 * Creates a new {@link TimingInterceptor}.
+	 *
+	 * @param threshold The minimum time an interaction must take, before an event is fired for it.
+	 */
+	public TimingInterceptor(@Nonnull Duration threshold) {
+		Checks.notNull(threshold, "Threshold");
+		if (threshold.isNegative()) {
+			throw new IllegalArgumentException("Threshold may not be negative");
+		}
+		this.thresholdNanos = threshold.toNanos();
+	}
+
+	@Nonnull
+	@Override
+	public CompletionStage<?> intercept(@Nonnull Interaction interaction, @Nonnull Chain chain) throws Exception {
+		long start = System.nanoTime();
+		CompletionStage<?> stage;
+		try {
+			stage = chain.proceed();
+		} catch (Exception e) {
+			completed(interaction, chain, start, e);
+			throw e;
+		}
+		return stage.whenComplete((result, error) -> completed(interaction, chain, start, error));
+	}
+
+	private void completed(@Nonnull Interaction interaction, @Nonnull Chain chain, long start, Throwable error) {
+		long elapsed = System.nanoTime() - start;
+		if (elapsed < thresholdNanos) return;
+		if (error instanceof CompletionException && error.getCause() != null) {
+			error = error.getCause();
+		}
+		DIH4JDAEvent.fire(new CommandExecutedEvent(chain.getDIH4JDA(), interaction, chain.getPath(), chain.getQueueWait(),
+				Duration.ofNanos(elapsed), error));
+	}
+
+	/**
+	 * The minimum time an interaction must take, before an event is fired for it.
+	 *
+	 * @return The threshold.
+	 */
+	@Nonnull
+	public Duration getThreshold() {
+		return Duration.ofNanos(thresholdNanos);
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the {@link xyz.dynxsty.dih4jda.interceptors.InteractionInterceptor} extension point, which wraps the
+ * handling of every interaction, and its built-in implementations.
+ */
+package xyz.dynxsty.dih4jda.interceptors;
@@ -0,0 +1,491 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A compact, lock-free, in-heap {@link CooldownStore}, which uses primitive {@code long}s (e.g. snowflakes) as its
+ * keys.
+ * <br>
+ * Each cooldown is represented by two {@code long}s, the epoch milliseconds of its last and next use. Checking
+ * and applying a cooldown is a single compare-and-set on the next use, so that two concurrent invocations can
+ * never both pass, and does not allocate anything.
+ * <br>
+ * Cooldowns are stored in an open-addressed table. Every write sweeps a few slots of the table, to estimate how many
+ * cooldowns did not expire yet. Once the table is half full, or mostly expired, it is migrated to a new one, sized
+ * by that estimate, and expired cooldowns are dropped. The migration is split into small chunks that are taken over
+ * by the following writes, so that no single write has to scan the whole table.
+ *
+ * @see xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#setCommandCooldown(java.time.Duration)
+ * @since v1.7
+ */
+public final class CooldownCache implements CooldownStore {
+	private static final AtomicReferenceFieldUpdater<CooldownCache, Table> TABLE =
+			AtomicReferenceFieldUpdater.newUpdater(CooldownCache.class, Table.class, "table");
+	private static final AtomicReferenceFieldUpdater<Table, Table> NEXT =
+			AtomicReferenceFieldUpdater.newUpdater(Table.class, Table.class, "next");
+
+	private static final long EMPTY = 0;
+	// marks migrated slots, both as a key and as a value
+	private static final long MOVED = Long.MIN_VALUE;
+	// signals that the operation has to be retried on the next table
+	private static final long RETRY = -1;
+	private static final int ABSENT = -1;
+	private static final int RETRY_INDEX = -2;
+	private static final int MIN_CAPACITY = 64;
+	// the amount of slots a single write migrates or sweeps
+	private static final int MIGRATE_STRIDE = 64;
+	private static final int SWEEP_STRIDE = 8;
+	// the approximate amount of bytes a table and its arrays take, in addition to 24 bytes per slot
+	private static final int TABLE_OVERHEAD = 160;
+
+	private final int initialCapacity;
+	private volatile Table table;
+
+	/**
+	 * Creates a new, empty {@link CooldownCache} with an initial capacity of 32 cooldowns.
+	 */
+	public CooldownCache() {
+		this(32);
+	}
+
+	/**
+	 * Creates a new, empty {@link CooldownCache}.
+	 *
+	 * @param initialCapacity The initial capacity, which is rounded up to the next power of two. The cache never
+	 *                        shrinks below it.
+	 */
+	public CooldownCache(int initialCapacity) {
+		if (initialCapacity < 1 || initialCapacity > 1 << 29) {
+			throw new IllegalArgumentException("Initial capacity must be between 1 and 2^29");
+		}
+		this.initialCapacity = Math.max(MIN_CAPACITY, tableSizeFor(initialCapacity * 2));
+		this.table = new Table(this.initialCapacity);
+	}
+
+	/**
+	 * Atomically checks whether the specified key is on cooldown and, if not, applies a new cooldown.
+	 *
+	 * @param key            The key, which must neither be {@code 0} nor {@link Long#MIN_VALUE}.
+	 * @param now            The current time, in epoch milliseconds.
+	 * @param cooldownMillis The duration of the cooldown, in milliseconds.
+	 * @return {@code 0} if the cooldown was applied, or the epoch milliseconds of the next use otherwise.
+	 */
+	@Override
+	public long tryAcquire(long key, long now, long cooldownMillis) {
+		checkKey(key);
+		maintain(now);
+		Table t = table;
+		while (true) {
+			long result = t.tryAcquire(key, now, cooldownMillis);
+			if (result != RETRY) {
+				return result;
+			}
+			t = t.next;
+		}
+	}
+
+	/**
+	 * Applies a cooldown for the specified key, regardless of whether it is already on cooldown.
+	 *
+	 * @param key      The key, which must neither be {@code 0} nor {@link Long#MIN_VALUE}.
+	 * @param lastUse  The epoch milliseconds of the last use.
+	 * @param nextUse  The epoch milliseconds of the next use.
+	 */
+	@Override
+	public void put(long key, long lastUse, long nextUse) {
+		checkKey(key);
+		maintain(System.currentTimeMillis());
+		// 0 marks a key that was never used
+		nextUse = Math.max(1, nextUse);
+		Table t = table;
+		while (!t.put(key, lastUse, nextUse)) {
+			t = t.next;
+		}
+	}
+
+	/**
+	 * Applies a cooldown for the specified key, unless it is already on cooldown until the same time or later. Unlike
+	 * {@link CooldownCache#put(long, long, long)}, applying the same cooldowns in any order always has the same result,
+	 * e.g. when they are replicated from other processes.
+	 *
+	 * @param key      The key, which must neither be {@code 0} nor {@link Long#MIN_VALUE}.
+	 * @param lastUse  The epoch milliseconds of the last use.
+	 * @param nextUse  The epoch milliseconds of the next use.
+	 * @since v1.7
+	 */
+	public void merge(long key, long lastUse, long nextUse) {
+		checkKey(key);
+		maintain(System.currentTimeMillis());
+		nextUse = Math.max(1, nextUse);
+		Table t = table;
+		while (!t.merge(key, lastUse, nextUse)) {
+			t = t.next;
+		}
+	}
+
+	/**
+	 * Gets the next use of the specified key.
+	 *
+	 * @param key The key.
+	 * @return The epoch milliseconds of the next use, or {@code 0} if the key was never used or its cooldown was
+	 * already reclaimed.
+	 */
+	@Override
+	public long getNextUse(long key) {
+		if (key == EMPTY || key == MOVED) return 0;
+		Table t = table;
+		while (true) {
+			int i = t.indexOf(key);
+			if (i == ABSENT) return 0;
+			if (i == RETRY_INDEX) {
+				t = t.next;
+				continue;
+			}
+			long nextUse = t.nextUses.get(i);
+			if (nextUse != MOVED) return nextUse;
+			t = t.next;
+		}
+	}
+
+	/**
+	 * Gets the last use of the specified key.
+	 *
+	 * @param key The key.
+	 * @return The epoch milliseconds of the last use, or {@code 0} if the key was never used or its cooldown was
+	 * already reclaimed.
+	 */
+	@Override
+	public long getLastUse(long key) {
+		if (key == EMPTY || key == MOVED) return 0;
+		Table t = table;
+		while (true) {
+			int i = t.indexOf(key);
+			if (i == ABSENT) return 0;
+			if (i == RETRY_INDEX) {
+				t = t.next;
+				continue;
+			}
+			// the last use is only moved after the next use was
+			long lastUse = t.lastUses.get(i);
+			if (t.nextUses.get(i) != MOVED) return lastUse;
+			t = t.next;
+		}
+	}
+
+	/**
+	 * The approximate amount of cooldowns in this cache, including expired ones that were not yet reclaimed.
+	 *
+	 * @return The amount of cooldowns.
+	 */
+	@Override
+	public int size() {
+		return table.size.get();
+	}
+
+	/**
+	 * The approximate amount of cooldowns that did not expire yet. This is estimated by sweeping the table
+	 * incrementally, so it may lag behind by up to one sweep of the table.
+	 *
+	 * @return The amount of live cooldowns.
+	 */
+	@Override
+	public int getLiveCount() {
+		return table.estimateLive();
+	}
+
+	/**
+	 * The approximate amount of memory this cache takes, including tables that are currently migrated.
+	 *
+	 * @return The memory footprint, in bytes.
+	 */
+	@Override
+	public long getMemoryFootprint() {
+		long bytes = 0;
+		for (Table t = table; t != null; t = t.next) {
+			bytes += TABLE_OVERHEAD + t.keys.length() * 24L;
+		}
+		return bytes;
+	}
+
+	private static void checkKey(long key) {
+		if (key == EMPTY || key == MOVED) {
+			throw new IllegalArgumentException("Key may neither be 0 nor Long.MIN_VALUE");
+		}
+	}
+
+	private static int tableSizeFor(int capacity) {
+		return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	private static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	/**
+	 * Does a bounded amount of housekeeping on behalf of a single write: either migrates a chunk of the current
+	 * table, or sweeps a few of its slots.
+	 */
+	private void maintain(long now) {
+		Table t = table;
+		if (t.next != null) {
+			migrate(t, now);
+		} else if (t.sweep(now) && t.keys.length() > initialCapacity && t.lastLive * 8 < t.keys.length()) {
+			// most of the table expired, so shrink it
+			resize(t);
+		}
+	}
+
+	/**
+	 * Creates the next table, unless another thread already did so. The migration itself is done by the following
+	 * writes.
+	 */
+	private void resize(@Nonnull Table old) {
+		if (old.next != null) return;
+		int capacity = Math.max(initialCapacity, tableSizeFor(Math.max(1, old.estimateLive()) * 4));
+		NEXT.compareAndSet(old, null, new Table(capacity));
+	}
+
+	/**
+	 * Migrates the next chunk of the current table, dropping all cooldowns that expired.
+	 */
+	private void migrate(@Nonnull Table old, long now) {
+		int length = old.keys.length();
+		int start = old.migrateIndex.getAndAdd(MIGRATE_STRIDE);
+		if (start >= length) return;
+		int end = Math.min(length, start + MIGRATE_STRIDE);
+		Table created = old.next;
+		for (int i = start; i < end; i++) {
+			long key = old.keys.get(i);
+			if (key == EMPTY) {
+				if (old.keys.compareAndSet(i, EMPTY, MOVED)) continue;
+				// a cooldown was inserted in the meantime
+				key = old.keys.get(i);
+			}
+			while (true) {
+				long nextUse = old.nextUses.get(i);
+				long lastUse = old.lastUses.get(i);
+				if (nextUse > now) {
+					created.migrate(key, lastUse, nextUse);
+				}
+				if (old.nextUses.compareAndSet(i, nextUse, MOVED)) {
+					// the last use is written after the next use, so it may have changed while this slot was copied
+					long current = old.lastUses.get(i);
+					if (nextUse > now && current != lastUse) {
+						created.fixLastUse(key, current, nextUse);
+					}
+					break;
+				}
+			}
+		}
+		if (old.migrated.addAndGet(end - start) == length) {
+			TABLE.compareAndSet(this, old, created);
+		}
+	}
+
+	private final class Table {
+		private final AtomicLongArray keys;
+		private final AtomicLongArray nextUses;
+		private final AtomicLongArray lastUses;
+		private final int mask;
+		private final int threshold;
+		private final AtomicInteger size = new AtomicInteger();
+		private final AtomicInteger migrateIndex = new AtomicInteger();
+		private final AtomicInteger migrated = new AtomicInteger();
+		private final AtomicInteger sweepIndex = new AtomicInteger();
+		private final AtomicInteger sweepLive = new AtomicInteger();
+		// the result of the last complete sweep, or -1 if the table was never swept completely
+		private volatile int lastLive = -1;
+		private volatile int sizeAtLastSweep;
+		volatile Table next;
+
+		private Table(int capacity) {
+			this.keys = new AtomicLongArray(capacity);
+			this.nextUses = new AtomicLongArray(capacity);
+			this.lastUses = new AtomicLongArray(capacity);
+			this.mask = capacity - 1;
+			this.threshold = capacity / 2;
+		}
+
+		/**
+		 * Counts the live cooldowns of the next few slots.
+		 *
+		 * @return Whether this completed a sweep of the whole table.
+		 */
+		private boolean sweep(long now) {
+			int start = sweepIndex.getAndAdd(SWEEP_STRIDE) & mask;
+			int live = 0;
+			for (int i = start; i < start + SWEEP_STRIDE; i++) {
+				if (nextUses.get(i) > now) live++;
+			}
+			if (start + SWEEP_STRIDE <= mask) {
+				sweepLive.addAndGet(live);
+				return false;
+			}
+			sizeAtLastSweep = size.get();
+			lastLive = sweepLive.getAndSet(0) + live;
+			return true;
+		}
+
+		/**
+		 * Estimates the live cooldowns by the last sweep and all cooldowns that were inserted since.
+		 */
+		private int estimateLive() {
+			int live = lastLive;
+			int size = this.size.get();
+			return live < 0 ? size : live + Math.max(0, size - sizeAtLastSweep);
+		}
+
+		/**
+		 * Finds the slot of an existing key.
+		 *
+		 * @return The slot, {@link #ABSENT} if the key does not exist, or {@link #RETRY_INDEX} if the key has to be
+		 * looked up in the next table.
+		 */
+		private int indexOf(long key) {
+			int i = hash(key) & mask;
+			for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+				long k = keys.get(i);
+				if (k == key) return i;
+				if (k == EMPTY) return ABSENT;
+				if (k == MOVED) return RETRY_INDEX;
+			}
+			return next == null ? ABSENT : RETRY_INDEX;
+		}
+
+		/**
+		 * Finds or inserts the slot of the specified key.
+		 *
+		 * @return The slot, or {@code -1} if the operation has to be retried on the next table.
+		 */
+		private int slotOf(long key) {
+			int i = hash(key) & mask;
+			for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+				long k = keys.get(i);
+				if (k == EMPTY) {
+					if (size.get() >= threshold) {
+						resize(this);
+					}
+					// this slot decides which table the key belongs to, even while migrating: either it is inserted
+					// here and copied later, or the slot was already marked as moved
+					if (keys.compareAndSet(i, EMPTY, key)) {
+						size.incrementAndGet();
+						return i;
+					}
+					k = keys.get(i);
+				}
+				if (k == MOVED) return -1;
+				if (k == key) return i;
+			}
+			resize(this);
+			return -1;
+		}
+
+		private long tryAcquire(long key, long now, long cooldownMillis) {
+			int i = slotOf(key);
+			if (i < 0) return RETRY;
+			while (true) {
+				long nextUse = nextUses.get(i);
+				if (nextUse == MOVED) return RETRY;
+				if (nextUse > now) return nextUse;
+				if (nextUses.compareAndSet(i, nextUse, now + cooldownMillis)) {
+					// only the thread that applied the cooldown writes its last use
+					setLastUse(i, key, now, now + cooldownMillis);
+					return 0;
+				}
+			}
+		}
+
+		private boolean put(long key, long lastUse, long nextUse) {
+			int i = slotOf(key);
+			if (i < 0) return false;
+			while (true) {
+				long current = nextUses.get(i);
+				if (current == MOVED) return false;
+				if (nextUses.compareAndSet(i, current, nextUse)) {
+					setLastUse(i, key, lastUse, nextUse);
+					return true;
+				}
+			}
+		}
+
+		private boolean merge(long key, long lastUse, long nextUse) {
+			int i = slotOf(key);
+			if (i < 0) return false;
+			while (true) {
+				long current = nextUses.get(i);
+				if (current == MOVED) return false;
+				if (current >= nextUse) return true;
+				if (nextUses.compareAndSet(i, current, nextUse)) {
+					setLastUse(i, key, lastUse, nextUse);
+					return true;
+				}
+			}
+		}
+
+		/**
+		 * Writes the last use of a slot whose next use was just set. If the slot was migrated in between, the
+		 * migration may have copied the previous last use, so it is written to the next table as well.
+		 */
+		private void setLastUse(int i, long key, long lastUse, long nextUse) {
+			lastUses.set(i, lastUse);
+			if (nextUses.get(i) == MOVED) {
+				next.fixLastUse(key, lastUse, nextUse);
+			}
+		}
+
+		/**
+		 * Writes the last use of a migrated cooldown, unless its next use was changed in the meantime.
+		 */
+		private void fixLastUse(long key, long lastUse, long nextUse) {
+			int i = indexOf(key);
+			// the cooldown expired, and was dropped by another migration
+			if (i == ABSENT) return;
+			long current = i == RETRY_INDEX ? MOVED : nextUses.get(i);
+			if (current == MOVED) {
+				next.fixLastUse(key, lastUse, nextUse);
+			} else if (current == nextUse) {
+				setLastUse(i, key, lastUse, nextUse);
+			}
+		}
+
+		/**
+		 * Inserts a cooldown while migrating. Only called by the thread that migrates the old slot, before it is
+		 * marked as moved, so no other thread operates on this cooldown yet, except for the migration of this table
+		 * itself.
+		 */
+		private void migrate(long key, long lastUse, long nextUse) {
+			int i = hash(key) & mask;
+			for (int probes = 0; probes <= mask; ) {
+				long k = keys.get(i);
+				if (k == EMPTY) {
+					if (!keys.compareAndSet(i, EMPTY, key)) continue;
+					size.incrementAndGet();
+					k = key;
+				}
+				if (k == key) {
+					// no other thread writes this cooldown yet, so the last use may be written first
+					lastUses.set(i, lastUse);
+					// the old slot may be copied repeatedly, until it is marked as moved
+					long current = nextUses.get(i);
+					if (current != MOVED && nextUses.compareAndSet(i, current, nextUse)) return;
+				}
+				if (k == MOVED || k == key) {
+					// this table is already migrated itself
+					next.migrate(key, lastUse, nextUse);
+					return;
+				}
+				probes++;
+				i = (i + 1) & mask;
+			}
+			// this table was filled by new cooldowns in the meantime
+			resize(this);
+			next.migrate(key, lastUse, nextUse);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import javax.annotation.Nonnull;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The binary protocol between a {@link ReplicatedCooldownStore} and a {@link CooldownServer}.
+ * <br>
+ * After connecting, both sides send {@link CooldownProtocol#MAGIC} and {@link CooldownProtocol#VERSION}. Afterwards,
+ * the client only sends {@link CooldownProtocol#PUT} frames and the server only sends
+ * {@link CooldownProtocol#UPDATE} frames. Both consist of the opcode, the amount of entries and the entries
+ * themselves, each being the key, the last use and the next use. Frames are never acknowledged, so that any amount
+ * of them can be pipelined.
+ * <br>
+ * Both sides merge entries by keeping the later next use, so that they converge regardless of the order in which
+ * entries arrive.
+ */
+final class CooldownProtocol {
+	// "DIHC"
+	static final int MAGIC = 0x44494843;
+	static final int VERSION = 1;
+	static final byte PUT = 1;
+	static final byte UPDATE = 2;
+	static final int MAX_ENTRIES = 1 << 12;
+	static final int ENTRY_SIZE = 3;
+
+	private CooldownProtocol() {}
+
+	static void writeHandshake(@Nonnull DataOutputStream out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.flush();
+	}
+
+	static void readHandshake(@Nonnull DataInputStream in) throws IOException {
+		int magic = in.readInt();
+		int version = in.readInt();
+		if (magic != MAGIC) {
+			throw new IOException("Not a cooldown replication peer");
+		}
+		if (version != VERSION) {
+			throw new IOException(String.format("Unsupported protocol version %s, expected %s", version, VERSION));
+		}
+	}
+
+	/**
+	 * Writes a single frame, without flushing it.
+	 *
+	 * @param out     The stream.
+	 * @param opcode  The opcode.
+	 * @param entries The entries, as consecutive triples of key, last use and next use.
+	 * @param count   The amount of entries to write, at most {@link CooldownProtocol#MAX_ENTRIES}.
+	 */
+	static void writeFrame(@Nonnull DataOutputStream out, byte opcode, @Nonnull long[] entries, int count) throws IOException {
+		out.writeByte(opcode);
+		out.writeInt(count);
+		for (int i = 0; i < count * ENTRY_SIZE; i++) {
+			out.writeLong(entries[i]);
+		}
+	}
+
+	/**
+	 * Reads a single frame.
+	 *
+	 * @param in     The stream.
+	 * @param opcode The expected opcode.
+	 * @return The entries, as consecutive triples of key, last use and next use.
+	 */
+	@Nonnull
+	static long[] readFrame(@Nonnull DataInputStream in, byte opcode) throws IOException {
+		byte actual = in.readByte();
+		if (actual != opcode) {
+			throw new IOException(String.format("Unexpected opcode %s, expected %s", actual, opcode));
+		}
+		int count = in.readInt();
+		if (count < 0 || count > MAX_ENTRIES) {
+			throw new IOException(String.format("Invalid amount of entries: %s", count));
+		}
+		long[] entries = new long[count * ENTRY_SIZE];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = in.readLong();
+		}
+		return entries;
+	}
+}
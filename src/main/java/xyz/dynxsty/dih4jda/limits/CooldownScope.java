@@ -0,0 +1,86 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Decides what shares a single
+ * {@link xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#setCommandCooldown(CooldownScope, java.time.Duration) Command Cooldown}.
+ * Every scope is mixed into the cooldown's key, so that a command may have a cooldown in multiple scopes while every
+ * check is still a single lookup in its {@link CooldownStore}. The scopes are declared from the ones of individual
+ * users to the shared ones, which is also the order they are checked in.
+ *
+ * @since v1.7
+ */
+public enum CooldownScope {
+	/**
+	 * Every user has their own cooldown, regardless of where they use the command.
+	 */
+	// keeps the keys of cooldowns which were stored before scopes existed
+	USER(0),
+	/**
+	 * Every user has their own cooldown in every guild. Interactions outside of guilds share the user's cooldown
+	 * in direct messages.
+	 */
+	MEMBER(0x5851f42d4c957f2dL),
+	/**
+	 * Every channel has its own cooldown. Interactions without a channel use the user's cooldown instead.
+	 */
+	CHANNEL(0x14057b7ef767814fL),
+	/**
+	 * Every guild has its own cooldown. Interactions outside of guilds use the user's cooldown instead.
+	 */
+	GUILD(0x9e3779b97f4a7c15L),
+	/**
+	 * All uses share a single cooldown.
+	 */
+	GLOBAL(0xd1b54a32d192ed03L);
+
+	// the id of the single cooldown in the GLOBAL scope
+	private static final long GLOBAL_ID = 1;
+
+	private final long salt;
+
+	CooldownScope(long salt) {
+		this.salt = salt;
+	}
+
+	/**
+	 * Derives the namespace of this scope within the namespace of a command, which is stable across restarts.
+	 *
+	 * @param namespace The command's namespace, as returned by {@link CooldownStore#namespace(String)}.
+	 * @return The namespace of this scope.
+	 */
+	public long namespace(long namespace) {
+		return namespace ^ salt;
+	}
+
+	/**
+	 * Gets the id of the given {@link Interaction} in this scope. All interactions with the same id share a single
+	 * cooldown.
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @return The id, usually a snowflake.
+	 */
+	public long getId(@Nonnull Interaction interaction) {
+		long userId = interaction.getUser().getIdLong();
+		Guild guild = interaction.getGuild();
+		switch (this) {
+			case MEMBER:
+				// packs both snowflakes into a single id, which is mixed by CooldownStore#key afterwards
+				return guild != null ? Long.rotateLeft(guild.getIdLong(), 32) ^ userId : userId;
+			case CHANNEL:
+				long channelId = interaction.getChannelIdLong();
+				return channelId != 0 ? channelId : userId;
+			case GUILD:
+				return guild != null ? guild.getIdLong() : userId;
+			case GLOBAL:
+				return GLOBAL_ID;
+			case USER:
+			default:
+				return userId;
+		}
+	}
+}
@@ -0,0 +1,284 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small server which relays cooldowns between multiple {@link ReplicatedCooldownStore}s. It keeps the latest
+ * cooldown of every key, sends all of them to every process that connects, and forwards every cooldown it receives
+ * to all other processes. Expired cooldowns are dropped periodically.
+ * <br>
+ * A client that does not keep up with the cooldowns forwarded to it is disconnected, so that it cannot grow the
+ * server's memory. It reconnects on its own and receives all cooldowns again.
+ * <br>
+ * The server can be run in one of the bot's processes, in a process of its own, or in-process next to the stores,
+ * e.g. in tests.
+ *
+ * <pre>{@code
+ * CooldownServer server = new CooldownServer(new InetSocketAddress(7420));
+ * }</pre>
+ *
+ * <b>The server keeps its cooldowns in memory only, and does not authenticate its clients!</b>
+ *
+ * @see ReplicatedCooldownStore
+ * @since v1.7
+ */
+public final class CooldownServer implements Closeable {
+	private static final int HANDSHAKE_TIMEOUT_MILLIS = 5000;
+	private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+	// the amount of entries that may wait for a single client, before it is disconnected for being too slow
+	private static final int MAX_PENDING_ENTRIES = 1 << 16;
+
+	// the last and next use of every key
+	private final Map<Long, long[]> cooldowns = new ConcurrentHashMap<>();
+	private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+	private final AtomicLong lastPurge = new AtomicLong(System.currentTimeMillis());
+	private final ServerSocket serverSocket;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new {@link CooldownServer} and starts to accept connections.
+	 *
+	 * @param address The address to bind to, e.g. {@code new InetSocketAddress(0)} to choose any free port.
+	 * @throws IOException If the server could not be bound.
+	 */
+	public CooldownServer(@Nonnull InetSocketAddress address) throws IOException {
+		Checks.notNull(address, "Address");
+		this.serverSocket = new ServerSocket();
+		serverSocket.bind(address);
+		Thread acceptor = new Thread(this::accept, "DIH4JDA-CooldownServer");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * The address this server is bound to, which includes the actual port.
+	 *
+	 * @return The address.
+	 */
+	@Nonnull
+	public InetSocketAddress getAddress() {
+		return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+	}
+
+	/**
+	 * The amount of cooldowns this server keeps, including expired ones that were not yet dropped.
+	 *
+	 * @return The amount of cooldowns.
+	 */
+	public int size() {
+		return cooldowns.size();
+	}
+
+	/**
+	 * The amount of connected {@link ReplicatedCooldownStore}s.
+	 *
+	 * @return The amount of connections.
+	 */
+	public int getConnectionCount() {
+		return connections.size();
+	}
+
+	/**
+	 * Stops accepting connections and disconnects all {@link ReplicatedCooldownStore}s.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			serverSocket.close();
+		} catch (IOException ignored) {
+			// no new connections are accepted anyway
+		}
+		for (Connection connection : connections) {
+			connection.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CooldownServer[%s, connections=%s]", getAddress(), getConnectionCount());
+	}
+
+	private void accept() {
+		while (!closed) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				new Connection(socket).start();
+			} catch (IOException e) {
+				if (!closed) {
+					DIH4JDALogger.warn("Could not accept a connection to the cooldown server: %s", e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges the given entries and returns the ones that changed, which have to be forwarded.
+	 */
+	@Nonnull
+	private long[] merge(@Nonnull long[] entries) {
+		long now = System.currentTimeMillis();
+		long[] changed = new long[entries.length];
+		int length = 0;
+		for (int i = 0; i < entries.length; i += CooldownProtocol.ENTRY_SIZE) {
+			long key = entries[i];
+			long[] entry = {entries[i + 1], entries[i + 2]};
+			if (entry[1] <= now) continue;
+			if (cooldowns.merge(key, entry, (current, update) -> update[1] > current[1] ? update : current) == entry) {
+				changed[length++] = key;
+				changed[length++] = entry[0];
+				changed[length++] = entry[1];
+			}
+		}
+		long last = lastPurge.get();
+		if (now - last >= PURGE_INTERVAL_MILLIS && lastPurge.compareAndSet(last, now)) {
+			cooldowns.values().removeIf(entry -> entry[1] <= now);
+		}
+		return length == changed.length ? changed : Arrays.copyOf(changed, length);
+	}
+
+	private final class Connection {
+		private final Socket socket;
+		// batches of entries that have to be sent to this connection
+		private final BlockingQueue<long[]> pending = new LinkedBlockingQueue<>();
+		private final AtomicInteger pendingEntries = new AtomicInteger();
+
+		private Connection(@Nonnull Socket socket) {
+			this.socket = socket;
+		}
+
+		private void start() {
+			Thread reader = new Thread(this::read, "DIH4JDA-CooldownServer-Reader");
+			reader.setDaemon(true);
+			reader.start();
+		}
+
+		private void read() {
+			try {
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				// don't wait forever for a peer that is not a cooldown store
+				socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+				CooldownProtocol.writeHandshake(out);
+				CooldownProtocol.readHandshake(in);
+				socket.setSoTimeout(0);
+				// registered before taking the snapshot, so that no cooldown is missed in between
+				connections.add(this);
+				// sent before the writer starts, so that it does not count towards the pending entries
+				writeEntries(out, snapshot());
+				out.flush();
+				Thread writer = new Thread(() -> write(out), "DIH4JDA-CooldownServer-Writer");
+				writer.setDaemon(true);
+				writer.start();
+				while (!socket.isClosed()) {
+					long[] changed = merge(CooldownProtocol.readFrame(in, CooldownProtocol.PUT));
+					if (changed.length == 0) continue;
+					for (Connection connection : connections) {
+						if (connection != this) {
+							connection.forward(changed);
+						}
+					}
+				}
+			} catch (IOException e) {
+				// the client disconnected, or sent an invalid frame
+			} finally {
+				close();
+			}
+		}
+
+		/**
+		 * Queues the given entries for this connection, or disconnects it if too many entries are already queued.
+		 */
+		private void forward(@Nonnull long[] entries) {
+			int count = entries.length / CooldownProtocol.ENTRY_SIZE;
+			if (pendingEntries.addAndGet(count) > MAX_PENDING_ENTRIES) {
+				DIH4JDALogger.warn("Disconnecting %s from the cooldown server, as it does not keep up with %s pending cooldowns",
+						socket.getRemoteSocketAddress(), pendingEntries.get());
+				close();
+				return;
+			}
+			pending.add(entries);
+		}
+
+		private void write(@Nonnull DataOutputStream out) {
+			try {
+				while (!socket.isClosed()) {
+					long[] entries = pending.poll(1, TimeUnit.SECONDS);
+					// pipelines all pending batches into a single flush
+					for (; entries != null; entries = pending.poll()) {
+						writeEntries(out, entries);
+						pendingEntries.addAndGet(-entries.length / CooldownProtocol.ENTRY_SIZE);
+					}
+					out.flush();
+				}
+			} catch (IOException e) {
+				// the client disconnected
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				close();
+			}
+		}
+
+		/**
+		 * Writes the given entries, split into as many frames as necessary.
+		 */
+		private void writeEntries(@Nonnull DataOutputStream out, @Nonnull long[] entries) throws IOException {
+			for (int i = 0; i < entries.length; i += CooldownProtocol.MAX_ENTRIES * CooldownProtocol.ENTRY_SIZE) {
+				int length = Math.min(entries.length - i, CooldownProtocol.MAX_ENTRIES * CooldownProtocol.ENTRY_SIZE);
+				long[] frame = i == 0 && length == entries.length ? entries : Arrays.copyOfRange(entries, i, i + length);
+				CooldownProtocol.writeFrame(out, CooldownProtocol.UPDATE, frame, length / CooldownProtocol.ENTRY_SIZE);
+			}
+		}
+
+		@Nonnull
+		private long[] snapshot() {
+			long now = System.currentTimeMillis();
+			long[] entries = new long[cooldowns.size() * CooldownProtocol.ENTRY_SIZE];
+			int length = 0;
+			for (Map.Entry<Long, long[]> entry : cooldowns.entrySet()) {
+				if (entry.getValue()[1] <= now) continue;
+				// the map may have grown in the meantime
+				if (length == entries.length) {
+					entries = Arrays.copyOf(entries, Math.max(entries.length * 2, CooldownProtocol.ENTRY_SIZE * 64));
+				}
+				entries[length++] = entry.getKey();
+				entries[length++] = entry.getValue()[0];
+				entries[length++] = entry.getValue()[1];
+			}
+			return Arrays.copyOf(entries, length);
+		}
+
+		private void close() {
+			connections.remove(this);
+			pending.clear();
+			try {
+				socket.close();
+			} catch (IOException ignored) {
+				// the socket is unusable anyway
+			}
+		}
+	}
+}
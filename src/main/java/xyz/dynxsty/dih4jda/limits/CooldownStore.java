@@ -0,0 +1,112 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores the cooldowns of {@link xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand}s, keyed by primitive
+ * {@code long}s. Every cooldown consists of its last and next use, in epoch milliseconds.
+ * <br>
+ * By default, every command keeps its cooldowns in its own {@link CooldownCache}, which lives on the heap and is lost
+ * on every restart. A {@link MappedCooldownStore} keeps them in a file instead, so that they survive restarts, and a
+ * {@link ReplicatedCooldownStore} shares them with other processes. A single store may be shared between all
+ * commands, as every command derives distinct keys using {@link CooldownStore#key(long, long)}.
+ * <br>
+ * Implementations must be thread-safe. Keys are never {@code 0} or {@link Long#MIN_VALUE}.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setCooldownStore(CooldownStore)
+ * @see xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#setCooldownStore(CooldownStore)
+ * @since v1.7
+ */
+public interface CooldownStore {
+
+	/**
+	 * Atomically checks whether the specified key is on cooldown and, if not, applies a new cooldown. Two concurrent
+	 * calls for the same key must never both succeed.
+	 *
+	 * @param key            The key.
+	 * @param now            The current time, in epoch milliseconds.
+	 * @param cooldownMillis The duration of the cooldown, in milliseconds.
+	 * @return {@code 0} if the cooldown was applied, or the epoch milliseconds of the next use otherwise.
+	 */
+	long tryAcquire(long key, long now, long cooldownMillis);
+
+	/**
+	 * Applies a cooldown for the specified key, regardless of whether it is already on cooldown.
+	 *
+	 * @param key     The key.
+	 * @param lastUse The epoch milliseconds of the last use.
+	 * @param nextUse The epoch milliseconds of the next use.
+	 */
+	void put(long key, long lastUse, long nextUse);
+
+	/**
+	 * Gets the next use of the specified key.
+	 *
+	 * @param key The key.
+	 * @return The epoch milliseconds of the next use, or {@code 0} if the key is unknown.
+	 */
+	long getNextUse(long key);
+
+	/**
+	 * Gets the last use of the specified key.
+	 *
+	 * @param key The key.
+	 * @return The epoch milliseconds of the last use, or {@code 0} if the key is unknown.
+	 */
+	long getLastUse(long key);
+
+	/**
+	 * The approximate amount of cooldowns in this store, including expired ones that were not yet reclaimed.
+	 *
+	 * @return The amount of cooldowns.
+	 */
+	int size();
+
+	/**
+	 * The approximate amount of cooldowns that did not expire yet.
+	 *
+	 * @return The amount of live cooldowns.
+	 */
+	int getLiveCount();
+
+	/**
+	 * The approximate amount of memory this store takes.
+	 *
+	 * @return The memory footprint, in bytes.
+	 */
+	long getMemoryFootprint();
+
+	/**
+	 * Derives a namespace from the given name, which is stable across restarts.
+	 *
+	 * @param name The name, e.g. the command's path.
+	 * @return The namespace.
+	 */
+	static long namespace(@Nonnull String name) {
+		// 64-bit FNV-1a
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Derives the key of the given id within a namespace, so that multiple commands can share a single store.
+	 *
+	 * @param namespace The namespace, as returned by {@link CooldownStore#namespace(String)}.
+	 * @param id        The id, usually a snowflake.
+	 * @return The key, which is neither {@code 0} nor {@link Long#MIN_VALUE}.
+	 */
+	static long key(long namespace, long id) {
+		long key = namespace ^ (id * 0x9e3779b97f4a7c15L);
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return key == 0 || key == Long.MIN_VALUE ? 1 : key;
+	}
+}
@@ -0,0 +1,445 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link CooldownStore}, which keeps all cooldowns in a memory-mapped file, so that they survive restarts (and
+ * crashes) without any external service.
+ * <br>
+ * The file consists of a small header, followed by a fixed amount of slots of 24 bytes each (the key, the next and the
+ * last use), which form an open-addressed table. Cooldowns of known keys are checked and applied with a single
+ * compare-and-set on the mapped memory, just like the in-heap {@link CooldownCache}. Only new keys are inserted while
+ * holding a lock, which reuses the slots of expired cooldowns.
+ * <br>
+ * On startup, the file is validated and rebuilt with only the cooldowns that did not expire yet. The rebuilt file is
+ * prepared on the heap, written next to the old one and then moved over it, so that a crash during the recovery never
+ * loses the old file. Files that cannot be read are replaced with an empty one.
+ *
+ * <pre>{@code
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .setCooldownStore(new MappedCooldownStore(Path.of("cooldowns.bin")))
+ *         .build();
+ * }</pre>
+ *
+ * The capacity is fixed, so it should be at least twice the amount of cooldowns that may be active at the same time.
+ * Once the store is full, new keys are not put on cooldown, until other cooldowns expire.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setCooldownStore(CooldownStore)
+ * @since v1.7
+ */
+public final class MappedCooldownStore implements CooldownStore, Closeable {
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+	// "DIH4COOL"
+	private static final long MAGIC = 0x4c4f4f4334484944L;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 64;
+	private static final int SLOT_SIZE = 24;
+	private static final int NEXT_USE = 8;
+	private static final int LAST_USE = 16;
+	private static final int MIN_CAPACITY = 64;
+	private static final int MAX_CAPACITY = 1 << 24;
+
+	private static final long EMPTY = 0;
+	// marks a slot whose key is being replaced
+	private static final long BUSY = Long.MAX_VALUE;
+	private static final int ABSENT = -1;
+	private static final int FULL = -2;
+	private static final int INSERTED = -3;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int mask;
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicBoolean warnedFull = new AtomicBoolean();
+
+	/**
+	 * Opens (or creates) a {@link MappedCooldownStore} with a capacity of 2^20 cooldowns, which takes 24 MiB.
+	 *
+	 * @param path The file.
+	 * @throws IOException If the file could not be opened.
+	 */
+	public MappedCooldownStore(@Nonnull Path path) throws IOException {
+		this(path, 1 << 20);
+	}
+
+	/**
+	 * Opens (or creates) a {@link MappedCooldownStore}. If the file already exists, all cooldowns that did not expire
+	 * yet are recovered.
+	 *
+	 * @param path     The file.
+	 * @param capacity The amount of slots, which is rounded up to the next power of two. If the file contains more
+	 *                 cooldowns, the capacity is increased accordingly.
+	 * @throws IOException If the file could not be opened.
+	 */
+	public MappedCooldownStore(@Nonnull Path path, int capacity) throws IOException {
+		Checks.notNull(path, "Path");
+		if (capacity < 1 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^24");
+		}
+		this.path = path;
+		int slots = recover(path, Math.max(MIN_CAPACITY, tableSizeFor(capacity)));
+		this.mask = slots - 1;
+		this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+		int used = 0;
+		for (int i = 0; i < slots; i++) {
+			if (key(i) != EMPTY) used++;
+		}
+		size.set(used);
+	}
+
+	@Override
+	public long tryAcquire(long key, long now, long cooldownMillis) {
+		checkKey(key);
+		while (true) {
+			int i = indexOf(key);
+			if (i == ABSENT) {
+				i = insert(key, now, now, now + cooldownMillis);
+				if (i == INSERTED || i == FULL) return 0;
+			}
+			int offset = offset(i);
+			long nextUse = (long) LONGS.getVolatile(buffer, offset + NEXT_USE);
+			// the slot may have been reused in the meantime
+			if (nextUse == BUSY || key(i) != key) {
+				Thread.onSpinWait();
+				continue;
+			}
+			if (nextUse > now) return nextUse;
+			if (LONGS.compareAndSet(buffer, offset + NEXT_USE, nextUse, now + cooldownMillis)) {
+				// written afterwards, as the slot can't be reused while the cooldown is active
+				LONGS.setVolatile(buffer, offset + LAST_USE, now);
+				return 0;
+			}
+		}
+	}
+
+	@Override
+	public void put(long key, long lastUse, long nextUse) {
+		checkKey(key);
+		long now = System.currentTimeMillis();
+		// an expired cooldown is equivalent to none, and BUSY is reserved
+		nextUse = Math.max(1, Math.min(nextUse, BUSY - 1));
+		while (true) {
+			int i = indexOf(key);
+			if (i == ABSENT) {
+				if (nextUse <= now) return;
+				i = insert(key, now, lastUse, nextUse);
+				if (i == INSERTED || i == FULL) return;
+			}
+			int offset = offset(i);
+			long current = (long) LONGS.getVolatile(buffer, offset + NEXT_USE);
+			if (current == BUSY || key(i) != key) {
+				Thread.onSpinWait();
+				continue;
+			}
+			if (LONGS.compareAndSet(buffer, offset + NEXT_USE, current, nextUse)) {
+				LONGS.setVolatile(buffer, offset + LAST_USE, lastUse);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public long getNextUse(long key) {
+		return get(key, NEXT_USE);
+	}
+
+	@Override
+	public long getLastUse(long key) {
+		return get(key, LAST_USE);
+	}
+
+	/**
+	 * The amount of slots that are in use, including the ones of expired cooldowns, which are reused for new keys.
+	 *
+	 * @return The amount of used slots.
+	 */
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * The amount of cooldowns that did not expire yet. This scans the whole file, so it is meant for occasional
+	 * monitoring only.
+	 *
+	 * @return The amount of live cooldowns.
+	 */
+	@Override
+	public int getLiveCount() {
+		long now = System.currentTimeMillis();
+		int live = 0;
+		for (int i = 0; i <= mask; i++) {
+			long nextUse = (long) LONGS.getVolatile(buffer, offset(i) + NEXT_USE);
+			if (nextUse > now && nextUse != BUSY) live++;
+		}
+		return live;
+	}
+
+	/**
+	 * The size of the mapped file. It is only loaded into memory as far as the operating system decides to.
+	 *
+	 * @return The size of the file, in bytes.
+	 */
+	@Override
+	public long getMemoryFootprint() {
+		return buffer.capacity();
+	}
+
+	/**
+	 * The amount of slots, which is the maximum amount of cooldowns.
+	 *
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * The file of this store.
+	 *
+	 * @return The {@link Path} of the file.
+	 */
+	@Nonnull
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Writes all changes to the storage device. This is only required to survive a crash of the operating system, as
+	 * the changes are otherwise written by the operating system on its own, even if the JVM crashes.
+	 */
+	public void flush() {
+		buffer.force();
+	}
+
+	/**
+	 * Writes all changes to the storage device and closes the file.
+	 *
+	 * @throws IOException If the file could not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	private long get(long key, int field) {
+		if (key == EMPTY || key == Long.MIN_VALUE) return 0;
+		while (true) {
+			int i = indexOf(key);
+			if (i == ABSENT) return 0;
+			int offset = offset(i);
+			long value = (long) LONGS.getVolatile(buffer, offset + field);
+			if ((long) LONGS.getVolatile(buffer, offset + NEXT_USE) != BUSY && key(i) == key) return value;
+			Thread.onSpinWait();
+		}
+	}
+
+	private long key(int i) {
+		return (long) LONGS.getVolatile(buffer, offset(i));
+	}
+
+	private static int offset(int i) {
+		return HEADER_SIZE + i * SLOT_SIZE;
+	}
+
+	/**
+	 * Finds the slot of an existing key, without locking.
+	 *
+	 * @return The slot, or {@link #ABSENT} if the key does not exist.
+	 */
+	private int indexOf(long key) {
+		int i = hash(key) & mask;
+		for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+			long k = key(i);
+			if (k == key) return i;
+			if (k == EMPTY) return ABSENT;
+		}
+		return ABSENT;
+	}
+
+	/**
+	 * Inserts a new key into the first free slot, which is either empty or belongs to an expired cooldown. Keys are
+	 * only inserted while holding this lock, so that a key can't be inserted twice.
+	 *
+	 * @return {@link #INSERTED}, {@link #FULL}, or the slot of the key, if it was inserted by another thread before.
+	 */
+	private synchronized int insert(long key, long now, long lastUse, long nextUse) {
+		while (true) {
+			int free = ABSENT;
+			int i = hash(key) & mask;
+			for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+				long k = key(i);
+				if (k == key) return i;
+				if (k == EMPTY) {
+					if (free == ABSENT) free = i;
+					break;
+				}
+				if (free == ABSENT) {
+					long current = (long) LONGS.getVolatile(buffer, offset(i) + NEXT_USE);
+					if (current <= now) free = i;
+				}
+			}
+			if (free == ABSENT) {
+				if (warnedFull.compareAndSet(false, true)) {
+					DIH4JDALogger.warn("The cooldown store %s is full (%s slots). New cooldowns are not applied until others expire.", path, mask + 1);
+				}
+				return FULL;
+			}
+			int offset = offset(free);
+			if (key(free) == EMPTY) {
+				LONGS.setVolatile(buffer, offset + LAST_USE, lastUse);
+				LONGS.setVolatile(buffer, offset + NEXT_USE, nextUse);
+				// the key is written last, so that it is never found without its cooldown
+				LONGS.setVolatile(buffer, offset, key);
+				size.incrementAndGet();
+				return INSERTED;
+			}
+			long expired = (long) LONGS.getVolatile(buffer, offset + NEXT_USE);
+			// fails if the old key acquired a new cooldown in the meantime, so the slot is searched again
+			if (expired <= now && LONGS.compareAndSet(buffer, offset + NEXT_USE, expired, BUSY)) {
+				LONGS.setVolatile(buffer, offset, key);
+				LONGS.setVolatile(buffer, offset + LAST_USE, lastUse);
+				// always greater than the expired cooldown, so that a concurrent compare-and-set of the old key fails
+				LONGS.setVolatile(buffer, offset + NEXT_USE, nextUse);
+				return INSERTED;
+			}
+		}
+	}
+
+	/**
+	 * Validates the file and rebuilds it with all cooldowns that did not expire yet.
+	 *
+	 * @return The amount of slots of the rebuilt file.
+	 */
+	private static int recover(@Nonnull Path path, int slots) throws IOException {
+		long now = System.currentTimeMillis();
+		long[] keys = new long[0];
+		long[] nextUses = new long[0];
+		long[] lastUses = new long[0];
+		int live = 0;
+		if (Files.exists(path)) {
+			try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				readFully(in, header);
+				header.flip();
+				int stored = header.remaining() == HEADER_SIZE && header.getLong(0) == MAGIC && header.getInt(8) == VERSION
+						&& header.getInt(12) == SLOT_SIZE ? header.getInt(16) : 0;
+				if (stored < 1 || stored > MAX_CAPACITY || Integer.bitCount(stored) != 1
+						|| in.size() < HEADER_SIZE + (long) stored * SLOT_SIZE) {
+					DIH4JDALogger.warn("The cooldown store %s is invalid and is replaced with an empty one.", path);
+				} else {
+					keys = new long[stored];
+					nextUses = new long[stored];
+					lastUses = new long[stored];
+					ByteBuffer chunk = ByteBuffer.allocate(SLOT_SIZE * 4096).order(ByteOrder.LITTLE_ENDIAN);
+					in.position(HEADER_SIZE);
+					for (int i = 0; i < stored; ) {
+						chunk.clear();
+						chunk.limit(Math.min(chunk.capacity(), (stored - i) * SLOT_SIZE));
+						readFully(in, chunk);
+						chunk.flip();
+						for (; chunk.remaining() >= SLOT_SIZE; i++) {
+							long key = chunk.getLong();
+							long nextUse = chunk.getLong();
+							long lastUse = chunk.getLong();
+							// slots that were reused while crashing are treated as expired
+							if (key == EMPTY || key == Long.MIN_VALUE || nextUse <= now || nextUse == BUSY) continue;
+							keys[live] = key;
+							nextUses[live] = nextUse;
+							lastUses[live] = lastUse;
+							live++;
+						}
+					}
+				}
+			}
+		}
+		slots = Math.min(MAX_CAPACITY, Math.max(slots, tableSizeFor(live * 2)));
+		ByteBuffer table = ByteBuffer.allocate(HEADER_SIZE + slots * SLOT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		table.putLong(0, MAGIC).putInt(8, VERSION).putInt(12, SLOT_SIZE).putInt(16, slots);
+		int mask = slots - 1;
+		for (int j = 0; j < live; j++) {
+			int i = hash(keys[j]) & mask;
+			while (true) {
+				int offset = HEADER_SIZE + i * SLOT_SIZE;
+				long key = table.getLong(offset);
+				if (key == EMPTY) {
+					table.putLong(offset, keys[j]).putLong(offset + NEXT_USE, nextUses[j]).putLong(offset + LAST_USE, lastUses[j]);
+					break;
+				}
+				if (key == keys[j]) {
+					// a duplicate, which may be left by a crash of the operating system
+					if (nextUses[j] > table.getLong(offset + NEXT_USE)) {
+						table.putLong(offset + NEXT_USE, nextUses[j]).putLong(offset + LAST_USE, lastUses[j]);
+					}
+					break;
+				}
+				i = (i + 1) & mask;
+			}
+		}
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (table.hasRemaining()) {
+				out.write(table);
+			}
+			out.force(true);
+		}
+		try {
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return slots;
+	}
+
+	private static void readFully(@Nonnull FileChannel in, @Nonnull ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (in.read(buffer) < 0) return;
+		}
+	}
+
+	private static void checkKey(long key) {
+		if (key == EMPTY || key == Long.MIN_VALUE) {
+			throw new IllegalArgumentException("Key may neither be 0 nor Long.MIN_VALUE");
+		}
+	}
+
+	private static int tableSizeFor(int capacity) {
+		return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	private static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MappedCooldownStore[%s, size=%s/%s]", path, size(), getCapacity());
+	}
+}
@@ -0,0 +1,205 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import net.dv8tion.jda.api.interactions.Interaction;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * A burst-tolerant rate limit, which allows up to {@link RateLimit#getPermits()} uses per {@link RateLimit#getPeriod()}
+ * and continuously refills, instead of resetting once per period. Unlike a
+ * {@link xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#setCommandCooldown(Duration) Command Cooldown},
+ * this allows a user to use a command multiple times in quick succession, while still limiting the overall rate.
+ *
+ * <pre>{@code
+ * public PingCommand() {
+ *     setCommandData(Commands.slash("ping", "Pong!"));
+ *     setRateLimits(
+ *             RateLimit.perUser(5, Duration.ofSeconds(10)),
+ *             RateLimit.perGuild(100, Duration.ofMinutes(1))
+ *     );
+ * }
+ * }</pre>
+ *
+ * Each instance tracks its own buckets, so sharing a single instance between multiple commands also shares its budget.
+ * <b>Rate Limits DO NOT persist between sessions!</b>
+ *
+ * @see xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#setRateLimits(RateLimit...)
+ * @since v1.7
+ */
+public final class RateLimit {
+	// the key of the single bucket in the COMMAND scope
+	private static final long GLOBAL_KEY = 1;
+
+	private final Scope scope;
+	private final int permits;
+	private final Duration period;
+	private final long emissionNanos;
+	private final long burstNanos;
+	private final TokenBucketStore store = new TokenBucketStore();
+
+	private RateLimit(@Nonnull Scope scope, int permits, @Nonnull Duration period) {
+		this.scope = scope;
+		this.permits = permits;
+		this.period = period;
+		this.emissionNanos = period.toNanos() / permits;
+		this.burstNanos = emissionNanos * (permits - 1);
+	}
+
+	/**
+	 * Creates a new {@link RateLimit}.
+	 *
+	 * @param scope   The {@link Scope}, which decides what shares a single bucket.
+	 * @param permits The amount of uses per period.
+	 * @param period  The period, which must be at least one millisecond.
+	 * @return The {@link RateLimit}.
+	 */
+	@Nonnull
+	public static RateLimit of(@Nonnull Scope scope, int permits, @Nonnull Duration period) {
+		Checks.notNull(scope, "Scope");
+		Checks.notNull(period, "Period");
+		if (permits < 1) {
+			throw new IllegalArgumentException("Permits must be at least 1");
+		}
+		if (period.compareTo(Duration.ofMillis(1)) < 0) {
+			throw new IllegalArgumentException("Period must be at least one millisecond");
+		}
+		return new RateLimit(scope, permits, period);
+	}
+
+	/**
+	 * Creates a new {@link RateLimit}, which limits every user on their own.
+	 *
+	 * @param permits The amount of uses per period.
+	 * @param period  The period.
+	 * @return The {@link RateLimit}.
+	 */
+	@Nonnull
+	public static RateLimit perUser(int permits, @Nonnull Duration period) {
+		return of(Scope.USER, permits, period);
+	}
+
+	/**
+	 * Creates a new {@link RateLimit}, which limits every guild on its own.
+	 *
+	 * @param permits The amount of uses per period.
+	 * @param period  The period.
+	 * @return The {@link RateLimit}.
+	 */
+	@Nonnull
+	public static RateLimit perGuild(int permits, @Nonnull Duration period) {
+		return of(Scope.GUILD, permits, period);
+	}
+
+	/**
+	 * Creates a new {@link RateLimit}, which limits all uses of the command together.
+	 *
+	 * @param permits The amount of uses per period.
+	 * @param period  The period.
+	 * @return The {@link RateLimit}.
+	 */
+	@Nonnull
+	public static RateLimit perCommand(int permits, @Nonnull Duration period) {
+		return of(Scope.COMMAND, permits, period);
+	}
+
+	/**
+	 * Tries to use this rate limit for the given {@link Interaction}.
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @return {@link Duration#ZERO} if the interaction may proceed, or the time until it would have been allowed.
+	 */
+	@Nonnull
+	public Duration tryAcquire(@Nonnull Interaction interaction) {
+		long wait = tryAcquire(getKey(interaction));
+		return wait == 0 ? Duration.ZERO : Duration.ofNanos(wait);
+	}
+
+	/**
+	 * Tries to use this rate limit for the given key.
+	 *
+	 * @param key The key of the bucket, usually a snowflake id.
+	 * @return {@code 0} if the key may proceed, or the nanoseconds until it would have been allowed.
+	 */
+	public long tryAcquire(long key) {
+		return store.tryAcquire(key, emissionNanos, burstNanos);
+	}
+
+	/**
+	 * Checks whether the given {@link Interaction} could use this rate limit, without using it.
+	 *
+	 * @param interaction The {@link Interaction}.
+	 * @return {@link Duration#ZERO} if the interaction may proceed, or the time until it would be allowed.
+	 */
+	@Nonnull
+	public Duration peek(@Nonnull Interaction interaction) {
+		long wait = store.peek(getKey(interaction), emissionNanos, burstNanos);
+		return wait == 0 ? Duration.ZERO : Duration.ofNanos(wait);
+	}
+
+	private long getKey(@Nonnull Interaction interaction) {
+		switch (scope) {
+			case GUILD:
+				// direct messages are limited per user instead
+				return interaction.getGuild() != null ? interaction.getGuild().getIdLong() : interaction.getUser().getIdLong();
+			case COMMAND:
+				return GLOBAL_KEY;
+			case USER:
+			default:
+				return interaction.getUser().getIdLong();
+		}
+	}
+
+	/**
+	 * The {@link Scope} of this rate limit.
+	 *
+	 * @return The {@link Scope}.
+	 */
+	@Nonnull
+	public Scope getScope() {
+		return scope;
+	}
+
+	/**
+	 * The amount of uses per {@link RateLimit#getPeriod()}.
+	 *
+	 * @return The amount of permits.
+	 */
+	public int getPermits() {
+		return permits;
+	}
+
+	/**
+	 * The period in which up to {@link RateLimit#getPermits()} uses are allowed.
+	 *
+	 * @return The period.
+	 */
+	@Nonnull
+	public Duration getPeriod() {
+		return period;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RateLimit[%s, %s per %s]", scope, permits, period);
+	}
+
+	/**
+	 * Decides what shares a single bucket.
+	 */
+	public enum Scope {
+		/**
+		 * Every user has their own bucket.
+		 */
+		USER,
+		/**
+		 * Every guild has its own bucket. Interactions outside of guilds use the user's bucket instead.
+		 */
+		GUILD,
+		/**
+		 * All uses share a single bucket.
+		 */
+		COMMAND
+	}
+}
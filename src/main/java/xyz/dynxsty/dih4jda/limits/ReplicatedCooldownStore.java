@@ -0,0 +1,340 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import xyz.dynxsty.dih4jda.DIH4JDALogger;
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link CooldownStore} which shares its cooldowns with other processes through a {@link CooldownServer}, e.g. so
+ * that a user can't bypass a cooldown by using the command on a shard that runs in another process.
+ *
+ * <pre>{@code
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .setCooldownStore(new ReplicatedCooldownStore(new InetSocketAddress("cooldowns.internal", 7420)))
+ *         .build();
+ * }</pre>
+ *
+ * Every cooldown is checked and applied in a local {@link CooldownCache}, so that acquiring a cooldown stays
+ * lock-free and never waits for the network. Applied cooldowns are only queued, and sent to the server in batches
+ * once every flush interval, without waiting for any acknowledgement. The server forwards them to all other
+ * processes, which merge them into their own cache in the background.
+ * <br>
+ * Cooldowns are therefore eventually consistent: while connected, a cooldown is known to all other processes
+ * after at most the flush interval plus the network latency. Within that window, two processes may both allow the
+ * same user. Shortening a cooldown, e.g. using
+ * {@link xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand#applyCooldown(long, java.time.Instant)}, is not
+ * replicated, as processes always keep the later next use.
+ * <br>
+ * While the server is unreachable, every process keeps enforcing its cooldowns locally and reconnects in the
+ * background. Cooldowns that do not fit into the queue in the meantime are only known locally.
+ *
+ * @see CooldownServer
+ * @since v1.7
+ */
+public final class ReplicatedCooldownStore implements CooldownStore, Closeable {
+	private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+	private static final long MIN_BACKOFF_MILLIS = 500;
+	private static final long MAX_BACKOFF_MILLIS = 30000;
+
+	private final InetSocketAddress address;
+	private final long flushNanos;
+	private final CooldownCache cache = new CooldownCache(1024);
+
+	// a bounded multi-producer, single-consumer queue of the keys that were written since the last flush
+	private final AtomicLongArray queue;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	// only written by the writer thread
+	private volatile long head;
+	private final AtomicLong droppedWrites = new AtomicLong();
+
+	private final Thread writer;
+	private volatile Socket socket;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new {@link ReplicatedCooldownStore}, which flushes its cooldowns every 50 milliseconds and queues up
+	 * to 65536 of them.
+	 *
+	 * @param address The address of the {@link CooldownServer}.
+	 */
+	public ReplicatedCooldownStore(@Nonnull InetSocketAddress address) {
+		this(address, Duration.ofMillis(50), 1 << 16);
+	}
+
+	/**
+	 * Creates a new {@link ReplicatedCooldownStore} and starts to connect to the {@link CooldownServer} in the
+	 * background.
+	 *
+	 * @param address       The address of the {@link CooldownServer}.
+	 * @param flushInterval The interval in which cooldowns are sent to the server, which bounds how long other
+	 *                      processes may not know about a cooldown.
+	 * @param queueCapacity The amount of cooldowns that may be queued between two flushes, or while the server is
+	 *                      unreachable, which is rounded up to the next power of two.
+	 */
+	public ReplicatedCooldownStore(@Nonnull InetSocketAddress address, @Nonnull Duration flushInterval, int queueCapacity) {
+		Checks.notNull(address, "Address");
+		Checks.notNull(flushInterval, "Flush Interval");
+		if (flushInterval.compareTo(Duration.ofMillis(1)) < 0) {
+			throw new IllegalArgumentException("Flush interval must be at least one millisecond");
+		}
+		if (queueCapacity < 1 || queueCapacity > 1 << 24) {
+			throw new IllegalArgumentException("Queue capacity must be between 1 and 2^24");
+		}
+		this.address = address;
+		this.flushNanos = flushInterval.toNanos();
+		int capacity = queueCapacity == 1 ? 1 : Integer.highestOneBit(queueCapacity - 1) << 1;
+		this.queue = new AtomicLongArray(capacity);
+		this.mask = capacity - 1;
+		this.writer = new Thread(this::run, "DIH4JDA-CooldownReplicator");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override
+	public long tryAcquire(long key, long now, long cooldownMillis) {
+		long result = cache.tryAcquire(key, now, cooldownMillis);
+		if (result == 0) {
+			enqueue(key);
+		}
+		return result;
+	}
+
+	@Override
+	public void put(long key, long lastUse, long nextUse) {
+		cache.put(key, lastUse, nextUse);
+		enqueue(key);
+	}
+
+	@Override
+	public long getNextUse(long key) {
+		return cache.getNextUse(key);
+	}
+
+	@Override
+	public long getLastUse(long key) {
+		return cache.getLastUse(key);
+	}
+
+	@Override
+	public int size() {
+		return cache.size();
+	}
+
+	@Override
+	public int getLiveCount() {
+		return cache.getLiveCount();
+	}
+
+	@Override
+	public long getMemoryFootprint() {
+		return cache.getMemoryFootprint() + (long) queue.length() * Long.BYTES;
+	}
+
+	/**
+	 * The address of the {@link CooldownServer}.
+	 *
+	 * @return The address.
+	 */
+	@Nonnull
+	public InetSocketAddress getAddress() {
+		return address;
+	}
+
+	/**
+	 * Whether this store is currently connected to the {@link CooldownServer}.
+	 *
+	 * @return Whether it is connected.
+	 */
+	public boolean isConnected() {
+		Socket s = socket;
+		return s != null && !s.isClosed();
+	}
+
+	/**
+	 * The amount of cooldowns that were not sent to the {@link CooldownServer}, because the queue was full.
+	 *
+	 * @return The amount of dropped writes.
+	 */
+	public long getDroppedWrites() {
+		return droppedWrites.get();
+	}
+
+	/**
+	 * Sends all queued cooldowns one last time, if connected, and disconnects from the {@link CooldownServer}.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(TimeUnit.NANOSECONDS.toMillis(flushNanos) + CONNECT_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		closeSocket(socket);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ReplicatedCooldownStore[%s, connected=%s]", address, isConnected());
+	}
+
+	private void enqueue(long key) {
+		while (true) {
+			long t = tail.get();
+			if (t - head > mask) {
+				// the writer is behind, or the server is unreachable; the cooldown still applies locally
+				droppedWrites.incrementAndGet();
+				return;
+			}
+			if (tail.compareAndSet(t, t + 1)) {
+				queue.set((int) t & mask, key);
+				return;
+			}
+		}
+	}
+
+	private void run() {
+		long backoff = MIN_BACKOFF_MILLIS;
+		while (!closed) {
+			Socket s = new Socket();
+			try {
+				s.setTcpNoDelay(true);
+				s.connect(address, CONNECT_TIMEOUT_MILLIS);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+				DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+				// don't wait forever for a peer that is not a cooldown server
+				s.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+				CooldownProtocol.writeHandshake(out);
+				CooldownProtocol.readHandshake(in);
+				s.setSoTimeout(0);
+				socket = s;
+				backoff = MIN_BACKOFF_MILLIS;
+				DIH4JDALogger.info("Connected to the cooldown server at %s", address);
+				Thread reader = new Thread(() -> read(s, in), "DIH4JDA-CooldownReplicator-Reader");
+				reader.setDaemon(true);
+				reader.start();
+				long[] entries = new long[CooldownProtocol.MAX_ENTRIES * CooldownProtocol.ENTRY_SIZE];
+				long[] keys = new long[CooldownProtocol.MAX_ENTRIES * 2];
+				while (!s.isClosed()) {
+					flush(out, entries, keys);
+					if (closed) break;
+					LockSupport.parkNanos(this, flushNanos);
+				}
+				if (!closed) {
+					throw new IOException("The connection was closed");
+				}
+			} catch (IOException e) {
+				if (!closed) {
+					DIH4JDALogger.warn("Disconnected from the cooldown server at %s, retrying in %sms: %s", address, backoff, e.getMessage());
+				}
+			} finally {
+				closeSocket(s);
+			}
+			if (!closed) {
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(backoff));
+				backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+			}
+		}
+	}
+
+	/**
+	 * Sends all queued cooldowns that did not expire yet. Only called by the writer thread.
+	 *
+	 * @param entries The buffer of a single frame.
+	 * @param keys    An open-addressed set of the keys in the current frame, which must be empty.
+	 */
+	private void flush(@Nonnull DataOutputStream out, @Nonnull long[] entries, @Nonnull long[] keys) throws IOException {
+		long now = System.currentTimeMillis();
+		int count = 0;
+		for (long h = head, t = tail.get(); h < t; h++) {
+			long key = queue.get((int) h & mask);
+			// the producer claimed this slot, but did not write its key yet
+			if (key == 0) break;
+			queue.set((int) h & mask, 0);
+			head = h + 1;
+			long nextUse = cache.getNextUse(key);
+			if (nextUse <= now) continue;
+			// the current state is sent, so later writes of the same key within this frame are skipped. Only keys
+			// of the frame are added, which keeps the set at most half full, however many keys expired meanwhile
+			if (!addKey(keys, key)) continue;
+			int i = count * CooldownProtocol.ENTRY_SIZE;
+			entries[i] = key;
+			entries[i + 1] = cache.getLastUse(key);
+			entries[i + 2] = nextUse;
+			if (++count == CooldownProtocol.MAX_ENTRIES) {
+				CooldownProtocol.writeFrame(out, CooldownProtocol.PUT, entries, count);
+				Arrays.fill(keys, 0);
+				count = 0;
+			}
+		}
+		if (count > 0) {
+			CooldownProtocol.writeFrame(out, CooldownProtocol.PUT, entries, count);
+			Arrays.fill(keys, 0);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Adds the given key to an open-addressed set, which holds the keys of a single frame and is therefore never more
+	 * than half full.
+	 *
+	 * @return Whether the key was not contained yet.
+	 */
+	private static boolean addKey(@Nonnull long[] keys, long key) {
+		int mask = keys.length - 1;
+		// keys are already mixed by CooldownStore#key
+		for (int i = (int) (key ^ key >>> 32) & mask; ; i = (i + 1) & mask) {
+			if (keys[i] == key) return false;
+			if (keys[i] == 0) {
+				keys[i] = key;
+				return true;
+			}
+		}
+	}
+
+	private void read(@Nonnull Socket s, @Nonnull DataInputStream in) {
+		try {
+			while (!s.isClosed()) {
+				long[] entries = CooldownProtocol.readFrame(in, CooldownProtocol.UPDATE);
+				long now = System.currentTimeMillis();
+				for (int i = 0; i < entries.length; i += CooldownProtocol.ENTRY_SIZE) {
+					long key = entries[i];
+					if (key == 0 || key == Long.MIN_VALUE || entries[i + 2] <= now) continue;
+					cache.merge(key, entries[i + 1], entries[i + 2]);
+				}
+			}
+		} catch (IOException e) {
+			// the writer thread notices the closed socket and reconnects
+		} finally {
+			closeSocket(s);
+			LockSupport.unpark(writer);
+		}
+	}
+
+	private static void closeSocket(Socket s) {
+		if (s == null) return;
+		try {
+			s.close();
+		} catch (IOException ignored) {
+			// the socket is unusable anyway
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package xyz.dynxsty.dih4jda.limits;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A compact, lock-free store of token buckets, which uses primitive {@code long}s (e.g. snowflakes) as its keys.
+ * <br>
+ * Each bucket is represented by a single {@code long}, its "theoretical arrival time" as known from the generic cell
+ * rate algorithm (GCRA), which behaves exactly like a token bucket that is refilled continuously. Acquiring a token
+ * is therefore a single compare-and-set, without any allocation.
+ * <br>
+ * Buckets are stored in an open-addressed table. Once it is half full, the table is migrated to a new one, sized by
+ * the amount of buckets that are still in use, so that the memory of idle buckets is reclaimed. Other threads keep
+ * acquiring tokens during the migration.
+ *
+ * @since v1.7
+ */
+public final class TokenBucketStore {
+	private static final AtomicReferenceFieldUpdater<TokenBucketStore, Table> TABLE =
+			AtomicReferenceFieldUpdater.newUpdater(TokenBucketStore.class, Table.class, "table");
+	private static final AtomicReferenceFieldUpdater<Table, Table> NEXT =
+			AtomicReferenceFieldUpdater.newUpdater(Table.class, Table.class, "next");
+
+	private static final long EMPTY = 0;
+	// marks migrated slots, both as a key and as a value
+	private static final long MOVED = Long.MIN_VALUE;
+	// signals that the operation has to be retried on the next table
+	private static final long RETRY = -1;
+	private static final int MIN_CAPACITY = 64;
+
+	private final long base = System.nanoTime();
+	private final int initialCapacity;
+	private volatile Table table;
+
+	/**
+	 * Creates a new, empty {@link TokenBucketStore} with an initial capacity of 1024 buckets.
+	 */
+	public TokenBucketStore() {
+		this(1024);
+	}
+
+	/**
+	 * Creates a new, empty {@link TokenBucketStore}.
+	 *
+	 * @param initialCapacity The initial capacity, which is rounded up to the next power of two.
+	 */
+	public TokenBucketStore(int initialCapacity) {
+		if (initialCapacity < 1 || initialCapacity > 1 << 29) {
+			throw new IllegalArgumentException("Initial capacity must be between 1 and 2^29");
+		}
+		this.initialCapacity = Math.max(MIN_CAPACITY, tableSizeFor(initialCapacity * 2));
+		this.table = new Table(this.initialCapacity);
+	}
+
+	/**
+	 * Tries to take a single token from the bucket of the specified key.
+	 *
+	 * @param key           The key, which must neither be {@code 0} nor {@link Long#MIN_VALUE}.
+	 * @param emissionNanos The time it takes to refill a single token, in nanoseconds.
+	 * @param burstNanos    The burst tolerance, which is {@code (capacity - 1) * emissionNanos}.
+	 * @return {@code 0} if a token was taken, or the nanoseconds until the next token is available.
+	 */
+	public long tryAcquire(long key, long emissionNanos, long burstNanos) {
+		if (key == EMPTY || key == MOVED) {
+			throw new IllegalArgumentException("Key may neither be 0 nor Long.MIN_VALUE");
+		}
+		long now = now();
+		Table t = table;
+		while (true) {
+			long result = t.tryAcquire(key, now, emissionNanos, burstNanos);
+			if (result != RETRY) {
+				return result;
+			}
+			t = t.next;
+		}
+	}
+
+	/**
+	 * Checks whether a token could be taken from the bucket of the specified key, without taking it.
+	 *
+	 * @param key           The key, which must neither be {@code 0} nor {@link Long#MIN_VALUE}.
+	 * @param emissionNanos The time it takes to refill a single token, in nanoseconds.
+	 * @param burstNanos    The burst tolerance, which is {@code (capacity - 1) * emissionNanos}.
+	 * @return {@code 0} if a token is available, or the nanoseconds until the next token is available.
+	 */
+	public long peek(long key, long emissionNanos, long burstNanos) {
+		if (key == EMPTY || key == MOVED) {
+			throw new IllegalArgumentException("Key may neither be 0 nor Long.MIN_VALUE");
+		}
+		long now = now();
+		Table t = table;
+		while (true) {
+			long tat = t.get(key);
+			if (tat != MOVED) {
+				return Math.max(0, Math.max(tat, now) - now - burstNanos);
+			}
+			t = t.next;
+		}
+	}
+
+	/**
+	 * The approximate amount of buckets in this store, including idle ones that were not yet reclaimed.
+	 *
+	 * @return The amount of buckets.
+	 */
+	public int size() {
+		return table.size.get();
+	}
+
+	private long now() {
+		// 0 marks a bucket that was never used, so time starts at 1
+		return System.nanoTime() - base + 1;
+	}
+
+	private static int tableSizeFor(int capacity) {
+		return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	private static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	/**
+	 * Creates the next table and migrates all buckets that are still in use, unless another thread already does so.
+	 */
+	private void resize(@Nonnull Table old) {
+		if (old.next != null) return;
+		long now = now();
+		int live = 0;
+		for (int i = 0; i < old.tats.length(); i++) {
+			if (old.tats.get(i) > now) live++;
+		}
+		Table created = new Table(Math.max(initialCapacity, tableSizeFor(Math.max(1, live) * 4)));
+		if (!NEXT.compareAndSet(old, null, created)) return;
+		for (int i = 0; i < old.keys.length(); i++) {
+			long key = old.keys.get(i);
+			if (key == EMPTY) {
+				if (old.keys.compareAndSet(i, EMPTY, MOVED)) continue;
+				// a bucket was inserted in the meantime
+				key = old.keys.get(i);
+			}
+			while (true) {
+				long tat = old.tats.get(i);
+				// idle buckets are simply dropped, as they are equivalent to fresh ones
+				if (tat > now) {
+					created.put(key, tat);
+				}
+				if (old.tats.compareAndSet(i, tat, MOVED)) break;
+			}
+		}
+		TABLE.compareAndSet(this, old, created);
+	}
+
+	private final class Table {
+		private final AtomicLongArray keys;
+		private final AtomicLongArray tats;
+		private final int mask;
+		private final int threshold;
+		private final AtomicInteger size = new AtomicInteger();
+		volatile Table next;
+
+		private Table(int capacity) {
+			this.keys = new AtomicLongArray(capacity);
+			this.tats = new AtomicLongArray(capacity);
+			this.mask = capacity - 1;
+			this.threshold = capacity / 2;
+		}
+
+		private long tryAcquire(long key, long now, long emissionNanos, long burstNanos) {
+			int i = hash(key) & mask;
+			for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+				long k = keys.get(i);
+				if (k == EMPTY) {
+					// never insert into a table that is (about to be) migrated
+					if (next != null || size.get() >= threshold) {
+						resize(this);
+						return RETRY;
+					}
+					if (keys.compareAndSet(i, EMPTY, key)) {
+						size.incrementAndGet();
+						k = key;
+					} else {
+						k = keys.get(i);
+					}
+				}
+				if (k == MOVED) return RETRY;
+				if (k != key) continue;
+				while (true) {
+					long tat = tats.get(i);
+					if (tat == MOVED) return RETRY;
+					long start = Math.max(tat, now);
+					if (start - now > burstNanos) {
+						return start - now - burstNanos;
+					}
+					if (tats.compareAndSet(i, tat, start + emissionNanos)) return 0;
+				}
+			}
+			resize(this);
+			return RETRY;
+		}
+
+		/**
+		 * Gets the theoretical arrival time of a bucket, without inserting it.
+		 *
+		 * @return The theoretical arrival time, {@code 0} if the bucket does not exist, or {@link #MOVED} if it has
+		 * to be looked up in the next table.
+		 */
+		private long get(long key) {
+			int i = hash(key) & mask;
+			for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+				long k = keys.get(i);
+				if (k == key) return tats.get(i);
+				// new buckets are only inserted into the next table, once it exists
+				if (k == EMPTY) return next == null ? EMPTY : MOVED;
+				if (k == MOVED) return MOVED;
+			}
+			return next == null ? EMPTY : MOVED;
+		}
+
+		/**
+		 * Inserts or replaces a bucket while migrating. Only called by the migrating thread, before the old slot is
+		 * marked as moved, so no other thread operates on this bucket yet.
+		 */
+		private void put(long key, long tat) {
+			int i = hash(key) & mask;
+			while (true) {
+				long k = keys.get(i);
+				if (k == key || (k == EMPTY && keys.compareAndSet(i, EMPTY, key))) {
+					if (k == EMPTY) size.incrementAndGet();
+					tats.set(i, tat);
+					return;
+				}
+				if (k == MOVED) {
+					// this table is already migrated itself
+					next.put(key, tat);
+					return;
+				}
+				if (k == EMPTY) continue;
+				i = (i + 1) & mask;
+			}
+		}
+	}
+}
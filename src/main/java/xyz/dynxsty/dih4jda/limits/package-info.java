@@ -0,0 +1,4 @@
+/**
+ * Contains burst-tolerant rate limits and cooldown stores for commands.
+ */
+package xyz.dynxsty.dih4jda.limits;
@@ -0,0 +1,159 @@
+package xyz.dynxsty.dih4jda.metrics;
+
+import xyz.dynxsty.dih4jda.util.Checks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The dependency-free default implementation of {@link InteractionMetrics}, which keeps a {@link RollingHistogram}
+ * per path and {@link InteractionMetrics.Phase}, as well as throughput counters per path.
+ *
+ * <pre>{@code
+ * DefaultInteractionMetrics metrics = new DefaultInteractionMetrics();
+ * DIH4JDA dih4jda = DIH4JDABuilder
+ *         .setJDA(jda)
+ *         .setMetrics(metrics)
+ *         .build();
+ * // later, e.g. in an admin command
+ * HistogramSnapshot snapshot = metrics.getPath("slash:ping").getSnapshot(InteractionMetrics.Phase.TOTAL);
+ * Duration p99 = snapshot.getDurationAtPercentile(99);
+ * }</pre>
+ *
+ * @since v1.7
+ */
+public final class DefaultInteractionMetrics implements InteractionMetrics {
+	private final Map<String, PathMetrics> paths = new ConcurrentHashMap<>();
+	private final Duration span;
+	private final int windows;
+
+	/**
+	 * Creates a new {@link DefaultInteractionMetrics} instance, whose histograms cover the last minute.
+	 */
+	public DefaultInteractionMetrics() {
+		this(Duration.ofMinutes(1), 6);
+	}
+
+	/**
+	 * Creates a new {@link DefaultInteractionMetrics} instance.
+	 *
+	 * @param span    The time span all histograms cover.
+	 * @param windows The amount of windows the span is split into.
+	 * @see RollingHistogram#RollingHistogram(Duration, int)
+	 */
+	public DefaultInteractionMetrics(@Nonnull Duration span, int windows) {
+		Checks.notNull(span, "Span");
+		this.span = span;
+		this.windows = windows;
+		// fail early on invalid arguments
+		new RollingHistogram(span, windows);
+	}
+
+	@Override
+	public void record(@Nonnull String path, @Nonnull Phase phase, long nanos) {
+		PathMetrics metrics = getOrCreate(path);
+		metrics.histograms[phase.ordinal()].record(nanos);
+		if (phase == Phase.TOTAL) {
+			metrics.handled.increment();
+		}
+	}
+
+	@Override
+	public void recordFailure(@Nonnull String path) {
+		getOrCreate(path).failed.increment();
+	}
+
+	@Nonnull
+	private PathMetrics getOrCreate(@Nonnull String path) {
+		// avoid computeIfAbsent's locking for the common case
+		PathMetrics metrics = paths.get(path);
+		return metrics != null ? metrics : paths.computeIfAbsent(path, p -> new PathMetrics());
+	}
+
+	/**
+	 * All paths that were recorded so far.
+	 *
+	 * @return An unmodifiable view of all paths.
+	 */
+	@Nonnull
+	public Set<String> getPaths() {
+		return Collections.unmodifiableSet(paths.keySet());
+	}
+
+	/**
+	 * Gets the {@link PathMetrics} of a single path.
+	 *
+	 * @param path The path, e.g. {@code slash:ping}.
+	 * @return The {@link PathMetrics}, or null if nothing was recorded for this path yet.
+	 */
+	@Nullable
+	public PathMetrics getPath(@Nonnull String path) {
+		return paths.get(path);
+	}
+
+	/**
+	 * The metrics of a single path.
+	 */
+	public final class PathMetrics {
+		private final RollingHistogram[] histograms = new RollingHistogram[Phase.values().length];
+		private final LongAdder handled = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+
+		private PathMetrics() {
+			for (int i = 0; i < histograms.length; i++) {
+				histograms[i] = new RollingHistogram(span, windows);
+			}
+		}
+
+		/**
+		 * Takes a {@link HistogramSnapshot} of the durations of the given {@link Phase}, in nanoseconds.
+		 *
+		 * @param phase The {@link Phase}.
+		 * @return The {@link HistogramSnapshot}.
+		 */
+		@Nonnull
+		public HistogramSnapshot getSnapshot(@Nonnull Phase phase) {
+			return histograms[phase.ordinal()].snapshot();
+		}
+
+		/**
+		 * The average amount of interactions that were handled per second, during the covered time span.
+		 *
+		 * @return The throughput.
+		 */
+		public double getThroughput() {
+			RollingHistogram total = histograms[Phase.TOTAL.ordinal()];
+			return total.snapshot().getCount() / (total.getSpan().toNanos() / 1e9);
+		}
+
+		/**
+		 * The total amount of handled interactions.
+		 *
+		 * @return The amount of handled interactions.
+		 */
+		public long getHandledCount() {
+			return handled.sum();
+		}
+
+		/**
+		 * The total amount of interactions that failed, or were never handled.
+		 *
+		 * @return The amount of failed interactions.
+		 */
+		public long getFailedCount() {
+			return failed.sum();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("PathMetrics[handled=%s, failed=%s, total=%s]", getHandledCount(), getFailedCount(),
+					getSnapshot(Phase.TOTAL));
+		}
+	}
+}
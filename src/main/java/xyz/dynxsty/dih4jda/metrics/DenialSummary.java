@@ -0,0 +1,153 @@
+package xyz.dynxsty.dih4jda.metrics;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable summary of all denials a {@link DenialAggregator} recorded within a single window.
+ *
+ * @since v1.7
+ */
+public final class DenialSummary {
+	private final Instant windowStart;
+	private final Instant windowEnd;
+	private final List<Entry> entries;
+	private final long total;
+
+	DenialSummary(@Nonnull Instant windowStart, @Nonnull Instant windowEnd, @Nonnull List<Entry> entries) {
+		this.windowStart = windowStart;
+		this.windowEnd = windowEnd;
+		List<Entry> sorted = new ArrayList<>(entries);
+		sorted.sort(Comparator.comparingLong(Entry::getCount).reversed());
+		this.entries = Collections.unmodifiableList(sorted);
+		long total = 0;
+		for (Entry entry : entries) {
+			total += entry.getCount();
+		}
+		this.total = total;
+	}
+
+	/**
+	 * The start of the window.
+	 *
+	 * @return The {@link Instant} the window started.
+	 */
+	@Nonnull
+	public Instant getWindowStart() {
+		return windowStart;
+	}
+
+	/**
+	 * The end of the window.
+	 *
+	 * @return The {@link Instant} the window ended.
+	 */
+	@Nonnull
+	public Instant getWindowEnd() {
+		return windowEnd;
+	}
+
+	/**
+	 * All counters of the window, from the highest to the lowest count.
+	 *
+	 * @return An unmodifiable {@link List} of all {@link Entry entries}.
+	 */
+	@Nonnull
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * The total amount of denials within the window.
+	 *
+	 * @return The amount of denials.
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * The amount of denials within the window, by their {@link DenialAggregator.Reason}.
+	 *
+	 * @return A {@link Map} of all reasons that occurred and their amount.
+	 */
+	@Nonnull
+	public Map<DenialAggregator.Reason, Long> getTotalByReason() {
+		Map<DenialAggregator.Reason, Long> totals = new EnumMap<>(DenialAggregator.Reason.class);
+		for (Entry entry : entries) {
+			totals.merge(entry.getReason(), entry.getCount(), Long::sum);
+		}
+		return totals;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DenialSummary[%s - %s, total=%s, by reason=%s]", windowStart, windowEnd, total, getTotalByReason());
+	}
+
+	/**
+	 * The amount of denials of a single command, guild and reason.
+	 */
+	public static final class Entry {
+		private final String command;
+		private final long guildId;
+		private final DenialAggregator.Reason reason;
+		private final long count;
+
+		Entry(@Nonnull String command, long guildId, @Nonnull DenialAggregator.Reason reason, long count) {
+			this.command = command;
+			this.guildId = guildId;
+			this.reason = reason;
+			this.count = count;
+		}
+
+		/**
+		 * The full name of the command.
+		 *
+		 * @return The command's name.
+		 */
+		@Nonnull
+		public String getCommand() {
+			return command;
+		}
+
+		/**
+		 * The id of the guild the command was used in.
+		 *
+		 * @return The guild's id, or {@code 0} if the command was used outside a guild.
+		 */
+		public long getGuildId() {
+			return guildId;
+		}
+
+		/**
+		 * The reason the command was denied.
+		 *
+		 * @return The {@link DenialAggregator.Reason}.
+		 */
+		@Nonnull
+		public DenialAggregator.Reason getReason() {
+			return reason;
+		}
+
+		/**
+		 * The amount of denials.
+		 *
+		 * @return The count.
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s@%s[%s]=%s", command, guildId, reason, count);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package xyz.dynxsty.dih4jda.metrics;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+/**
+ * An immutable snapshot of a {@link LogLinearHistogram} or {@link RollingHistogram}.
+ *
+ * @since v1.7
+ */
+public final class HistogramSnapshot {
+	private final long[] counts;
+	private final long count;
+
+	HistogramSnapshot(@Nonnull long[] counts) {
+		this.counts = counts;
+		long count = 0;
+		for (long c : counts) {
+			count += c;
+		}
+		this.count = count;
+	}
+
+	/**
+	 * The amount of recorded values.
+	 *
+	 * @return The count.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * The value at the given percentile, which is the highest value that is equivalent to it within the
+	 * histogram's precision.
+	 *
+	 * @param percentile The percentile, between {@code 0} and {@code 100}.
+	 * @return The value, or {@code 0} if no values were recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100");
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return LogLinearHistogram.highestValueOf(i);
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * The duration at the given percentile, if nanoseconds were recorded.
+	 *
+	 * @param percentile The percentile, between {@code 0} and {@code 100}.
+	 * @return The {@link Duration}.
+	 * @see HistogramSnapshot#getValueAtPercentile(double)
+	 */
+	@Nonnull
+	public Duration getDurationAtPercentile(double percentile) {
+		return Duration.ofNanos(getValueAtPercentile(percentile));
+	}
+
+	/**
+	 * The approximate mean of all recorded values.
+	 *
+	 * @return The mean, or {@code 0} if no values were recorded.
+	 */
+	public double getMean() {
+		if (count == 0) {
+			return 0;
+		}
+		double sum = 0;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] != 0) {
+				// the middle of the bucket
+				sum += counts[i] * ((LogLinearHistogram.lowestValueOf(i) + LogLinearHistogram.highestValueOf(i)) / 2.0);
+			}
+		}
+		return sum / count;
+	}
+
+	/**
+	 * The approximate maximum of all recorded values.
+	 *
+	 * @return The maximum, or {@code 0} if no values were recorded.
+	 */
+	public long getMax() {
+		for (int i = counts.length - 1; i >= 0; i--) {
+			if (counts[i] != 0) {
+				return LogLinearHistogram.highestValueOf(i);
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("HistogramSnapshot[count=%s, p50=%s, p99=%s, max=%s]", count,
+				getValueAtPercentile(50), getValueAtPercentile(99), getMax());
+	}
+}
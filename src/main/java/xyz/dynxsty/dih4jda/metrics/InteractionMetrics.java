@@ -0,0 +1,59 @@
+package xyz.dynxsty.dih4jda.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the timings of every handled interaction. Implementations may forward them to any metrics library, or
+ * use {@link DefaultInteractionMetrics}, which keeps rolling histograms in memory.
+ * <br>
+ * Interactions are grouped by their path, which is the command type and the full command name for commands
+ * (e.g. {@code slash:config set}), and the component type and the component-id's identifier for components
+ * (e.g. {@code button:vote}). All methods are called on the hot path and MUST NOT block.
+ *
+ * @see xyz.dynxsty.dih4jda.DIH4JDABuilder#setMetrics(InteractionMetrics)
+ * @since v1.7
+ */
+public interface InteractionMetrics {
+
+	/**
+	 * Records the duration of a single {@link Phase}.
+	 *
+	 * @param path  The interaction's path.
+	 * @param phase The {@link Phase}.
+	 * @param nanos The duration, in nanoseconds.
+	 */
+	void record(@Nonnull String path, @Nonnull Phase phase, long nanos);
+
+	/**
+	 * Records an interaction whose handler failed, or which was never handled, because it was shed or rejected.
+	 *
+	 * @param path The interaction's path.
+	 */
+	void recordFailure(@Nonnull String path);
+
+	/**
+	 * The phases of handling a single interaction.
+	 */
+	enum Phase {
+		/**
+		 * Finding the interaction's handler and executor, on the thread that received the interaction.
+		 */
+		DISPATCH,
+		/**
+		 * Waiting for admission and for the executor to start the handler.
+		 */
+		QUEUE,
+		/**
+		 * Checking the {@link xyz.dynxsty.dih4jda.interactions.commands.RestrictedCommand requirements} of a command.
+		 */
+		REQUIREMENTS,
+		/**
+		 * Running the handler, until the returned {@link java.util.concurrent.CompletionStage} completed.
+		 */
+		EXECUTION,
+		/**
+		 * The whole time from receiving the interaction until it was handled.
+		 */
+		TOTAL
+	}
+}
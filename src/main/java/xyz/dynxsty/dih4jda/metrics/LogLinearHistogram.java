@@ -0,0 +1,89 @@
+package xyz.dynxsty.dih4jda.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values (usually nanoseconds), whose buckets grow exponentially,
+ * with 16 linear sub-buckets per power of two. This bounds the relative error of every recorded value to 6.25%,
+ * while covering everything from a single nanosecond to several minutes in less than 5 KiB.
+ * <br>
+ * Recording a value is a single atomic increment, without any allocation.
+ *
+ * @since v1.7
+ */
+public final class LogLinearHistogram {
+	static final int SUB_BUCKET_BITS = 4;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	// values are capped at 2^40 - 1 nanoseconds, which is roughly 18 minutes
+	static final int MAX_EXPONENT = 39;
+	static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+	static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Records a single value. Negative values are recorded as {@code 0}, values above roughly 18 minutes
+	 * (in nanoseconds) are capped.
+	 *
+	 * @param value The value.
+	 */
+	public void record(long value) {
+		counts.incrementAndGet(indexOf(value));
+	}
+
+	/**
+	 * Takes a {@link HistogramSnapshot} of all values recorded so far. Values recorded concurrently may or may not
+	 * be part of the snapshot.
+	 *
+	 * @return The {@link HistogramSnapshot}.
+	 */
+	@Nonnull
+	public HistogramSnapshot snapshot() {
+		long[] copy = new long[BUCKETS];
+		addTo(copy);
+		return new HistogramSnapshot(copy);
+	}
+
+	/**
+	 * Removes all recorded values.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+	}
+
+	void addTo(@Nonnull long[] target) {
+		for (int i = 0; i < BUCKETS; i++) {
+			target[i] += counts.get(i);
+		}
+	}
+
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return value < 0 ? 0 : (int) value;
+		}
+		if (value > MAX_VALUE) {
+			value = MAX_VALUE;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	static long lowestValueOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+	}
+
+	static long highestValueOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		return lowestValueOf(index) + (1L << (index / SUB_BUCKETS - 1)) - 1;
+	}
+}
@@ -0,0 +1,90 @@
+package xyz.dynxsty.dih4jda.metrics;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link LogLinearHistogram} that only covers the most recent values. The covered time span is split into a ring
+ * of windows, of which the oldest one is cleared and reused once the ring moves on. Snapshots therefore contain the
+ * values of the last {@code windows - 1} complete windows, plus the current one.
+ *
+ * @since v1.7
+ */
+public final class RollingHistogram {
+	private final long windowNanos;
+	private final LogLinearHistogram[] histograms;
+	private final AtomicLong[] epochs;
+	private final long base = System.nanoTime();
+
+	/**
+	 * Creates a new {@link RollingHistogram}.
+	 *
+	 * @param span    The time span the histogram covers.
+	 * @param windows The amount of windows the span is split into. More windows make the span more precise, at the
+	 *                cost of memory and slower snapshots.
+	 */
+	public RollingHistogram(@Nonnull Duration span, int windows) {
+		if (windows < 1) {
+			throw new IllegalArgumentException("Windows must be at least 1");
+		}
+		if (span.toNanos() < windows) {
+			throw new IllegalArgumentException("Span is too short");
+		}
+		this.windowNanos = span.toNanos() / windows;
+		this.histograms = new LogLinearHistogram[windows];
+		this.epochs = new AtomicLong[windows];
+		for (int i = 0; i < windows; i++) {
+			histograms[i] = new LogLinearHistogram();
+			epochs[i] = new AtomicLong(i == 0 ? 0 : -1);
+		}
+	}
+
+	/**
+	 * Records a single value in the current window.
+	 *
+	 * @param value The value.
+	 */
+	public void record(long value) {
+		long epoch = epoch();
+		int slot = (int) (epoch % histograms.length);
+		AtomicLong slotEpoch = epochs[slot];
+		long current = slotEpoch.get();
+		// the first thread that enters a new window clears it, values recorded concurrently may get lost
+		if (current < epoch && slotEpoch.compareAndSet(current, epoch)) {
+			histograms[slot].reset();
+		}
+		histograms[slot].record(value);
+	}
+
+	/**
+	 * Takes a {@link HistogramSnapshot} of all values in the covered time span.
+	 *
+	 * @return The {@link HistogramSnapshot}.
+	 */
+	@Nonnull
+	public HistogramSnapshot snapshot() {
+		long epoch = epoch();
+		long[] counts = new long[LogLinearHistogram.BUCKETS];
+		for (int i = 0; i < histograms.length; i++) {
+			if (epochs[i].get() > epoch - histograms.length) {
+				histograms[i].addTo(counts);
+			}
+		}
+		return new HistogramSnapshot(counts);
+	}
+
+	/**
+	 * The time span this histogram covers.
+	 *
+	 * @return The span.
+	 */
+	@Nonnull
+	public Duration getSpan() {
+		return Duration.ofNanos(windowNanos * histograms.length);
+	}
+
+	private long epoch() {
+		return (System.nanoTime() - base) / windowNanos;
+	}
+}
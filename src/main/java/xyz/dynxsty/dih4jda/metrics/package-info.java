@@ -0,0 +1,5 @@
+/**
+ * Contains the instrumentation of interaction handling, such as the {@link xyz.dynxsty.dih4jda.metrics.InteractionMetrics}
+ * SPI and its dependency-free default implementation.
+ */
+package xyz.dynxsty.dih4jda.metrics;
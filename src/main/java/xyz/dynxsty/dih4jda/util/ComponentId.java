@@ -0,0 +1,322 @@
+package xyz.dynxsty.dih4jda.util;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A parsed view of a component-id, as built by {@link ComponentIdBuilder#build(String, Object...)}.
+ * <br>
+ * Unlike {@link ComponentIdBuilder#split(String)}, the id is scanned only once, for the literal separator, and
+ * arguments are parsed lazily into typed values straight from the id, without creating a {@link String} per argument.
+ * Instances may be reused using {@link ComponentId#reset(String)}, which makes parsing allocation-free.
+ *
+ * <pre>{@code
+ * // "self-role:1048977410521198632:ADD"
+ * ComponentId id = ComponentId.parse(event.getComponentId());
+ * long roleId = id.getLong(0);
+ * Action action = id.getEnum(1, Action.class);
+ * }</pre>
+ *
+ * @since v1.7
+ */
+public final class ComponentId {
+	private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<>() {
+		@Override
+		protected Object[] computeValue(Class<?> type) {
+			return type.getEnumConstants();
+		}
+	};
+
+	private final Segment identifier = new Segment();
+	private String id;
+	private String separator;
+	// the end of every segment, where the first segment is the identifier
+	private int[] ends = new int[8];
+	private int segments;
+
+	/**
+	 * Creates an empty {@link ComponentId}, which must be {@link ComponentId#reset(String) reset} before using it.
+	 */
+	public ComponentId() {}
+
+	/**
+	 * Parses the given component-id, using the {@link ComponentIdBuilder#getDefaultSeparator() default separator}.
+	 *
+	 * @param id The component-id.
+	 * @return The parsed {@link ComponentId}.
+	 */
+	@Nonnull
+	public static ComponentId parse(@Nonnull String id) {
+		return new ComponentId().reset(id);
+	}
+
+	/**
+	 * Parses the given component-id.
+	 *
+	 * @param id        The component-id.
+	 * @param separator The separator, which is matched literally.
+	 * @return The parsed {@link ComponentId}.
+	 */
+	@Nonnull
+	public static ComponentId parse(@Nonnull String id, @Nonnull String separator) {
+		return new ComponentId().reset(id, separator);
+	}
+
+	/**
+	 * Gets the identifier of the given component-id, which is everything before the first occurrence of the
+	 * {@link ComponentIdBuilder#getDefaultSeparator() default separator}.
+	 *
+	 * @param id The component-id.
+	 * @return The identifier.
+	 */
+	@Nonnull
+	public static String identifierOf(@Nonnull String id) {
+		int end = id.indexOf(ComponentIdBuilder.getDefaultSeparator());
+		return end < 0 ? id : id.substring(0, end);
+	}
+
+	/**
+	 * Parses another component-id into this instance, using the
+	 * {@link ComponentIdBuilder#getDefaultSeparator() default separator}. All previously returned
+	 * {@link CharSequence}s become invalid.
+	 *
+	 * @param id The component-id.
+	 * @return This instance, for chaining convenience.
+	 */
+	@Nonnull
+	public ComponentId reset(@Nonnull String id) {
+		return reset(id, ComponentIdBuilder.getDefaultSeparator());
+	}
+
+	/**
+	 * Parses another component-id into this instance. All previously returned {@link CharSequence}s become invalid.
+	 *
+	 * @param id        The component-id.
+	 * @param separator The separator, which is matched literally.
+	 * @return This instance, for chaining convenience.
+	 */
+	@Nonnull
+	public ComponentId reset(@Nonnull String id, @Nonnull String separator) {
+		Checks.notNull(id, "Component-Id");
+		Checks.notNull(separator, "Separator");
+		if (separator.isEmpty()) {
+			throw new IllegalArgumentException("Separator may not be empty");
+		}
+		this.id = id;
+		this.separator = separator;
+		segments = 0;
+		int start = 0;
+		int end;
+		while ((end = id.indexOf(separator, start)) >= 0) {
+			addSegment(end);
+			start = end + separator.length();
+		}
+		addSegment(id.length());
+		identifier.start = 0;
+		identifier.end = ends[0];
+		return this;
+	}
+
+	private void addSegment(int end) {
+		if (segments == ends.length) {
+			ends = Arrays.copyOf(ends, segments * 2);
+		}
+		ends[segments++] = end;
+	}
+
+	/**
+	 * The whole component-id.
+	 *
+	 * @return The component-id.
+	 */
+	@Nonnull
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * The identifier of the component-id, which is everything before the first separator.
+	 * The returned {@link CharSequence} is a view and only valid until this instance is reset.
+	 *
+	 * @return The identifier.
+	 */
+	@Nonnull
+	public CharSequence getIdentifier() {
+		return identifier;
+	}
+
+	/**
+	 * Whether the identifier of the component-id equals the given {@link String}.
+	 *
+	 * @param identifier The identifier to compare with.
+	 * @return True, if both are equal.
+	 */
+	public boolean isIdentifier(@Nonnull String identifier) {
+		return identifier.length() == ends[0] && id.regionMatches(0, identifier, 0, ends[0]);
+	}
+
+	/**
+	 * The amount of arguments after the identifier. Empty arguments are counted as well.
+	 *
+	 * @return The amount of arguments.
+	 */
+	public int getArgumentCount() {
+		return segments - 1;
+	}
+
+	/**
+	 * Gets a single argument as a {@link String}.
+	 *
+	 * @param index The argument's index, starting at {@code 0} for the first argument after the identifier.
+	 * @return The argument.
+	 */
+	@Nonnull
+	public String getString(int index) {
+		int segment = checkIndex(index);
+		return id.substring(startOf(segment), ends[segment]);
+	}
+
+	/**
+	 * Parses a single argument as a {@code long}.
+	 *
+	 * @param index The argument's index, starting at {@code 0} for the first argument after the identifier.
+	 * @return The parsed value.
+	 * @throws NumberFormatException If the argument is not a valid {@code long}.
+	 */
+	public long getLong(int index) {
+		int segment = checkIndex(index);
+		return Long.parseLong(id, startOf(segment), ends[segment], 10);
+	}
+
+	/**
+	 * Parses a single argument as an {@code int}.
+	 *
+	 * @param index The argument's index, starting at {@code 0} for the first argument after the identifier.
+	 * @return The parsed value.
+	 * @throws NumberFormatException If the argument is not a valid {@code int}.
+	 */
+	public int getInt(int index) {
+		int segment = checkIndex(index);
+		return Integer.parseInt(id, startOf(segment), ends[segment], 10);
+	}
+
+	/**
+	 * Parses a single argument as a {@code boolean}, ignoring case.
+	 *
+	 * @param index The argument's index, starting at {@code 0} for the first argument after the identifier.
+	 * @return The parsed value.
+	 * @throws IllegalArgumentException If the argument is neither {@code true} nor {@code false}.
+	 */
+	public boolean getBoolean(int index) {
+		int segment = checkIndex(index);
+		int start = startOf(segment);
+		int length = ends[segment] - start;
+		if (length == 4 && id.regionMatches(true, start, "true", 0, 4)) return true;
+		if (length == 5 && id.regionMatches(true, start, "false", 0, 5)) return false;
+		throw new IllegalArgumentException("Not a boolean: " + getString(index));
+	}
+
+	/**
+	 * Parses a single argument as an enum constant, by its {@link Enum#name() name}.
+	 *
+	 * @param index The argument's index, starting at {@code 0} for the first argument after the identifier.
+	 * @param type  The enum's class.
+	 * @param <E>   The enum's type.
+	 * @return The enum constant.
+	 * @throws IllegalArgumentException If the enum has no constant with this name.
+	 */
+	@Nonnull
+	public <E extends Enum<E>> E getEnum(int index, @Nonnull Class<E> type) {
+		int segment = checkIndex(index);
+		int start = startOf(segment);
+		int length = ends[segment] - start;
+		for (Object constant : ENUM_CONSTANTS.get(type)) {
+			String name = ((Enum<?>) constant).name();
+			if (name.length() == length && id.regionMatches(start, name, 0, length)) {
+				return type.cast(constant);
+			}
+		}
+		throw new IllegalArgumentException(String.format("No enum constant %s.%s", type.getName(), getString(index)));
+	}
+
+	/**
+	 * Parses a single argument as an {@link UUID}, in its standard form of 36 characters.
+	 *
+	 * @param index The argument's index, starting at {@code 0} for the first argument after the identifier.
+	 * @return The parsed {@link UUID}.
+	 * @throws IllegalArgumentException If the argument is not a valid {@link UUID}.
+	 */
+	@Nonnull
+	public UUID getUUID(int index) {
+		int segment = checkIndex(index);
+		int start = startOf(segment);
+		if (ends[segment] - start != 36 || id.charAt(start + 8) != '-' || id.charAt(start + 13) != '-'
+				|| id.charAt(start + 18) != '-' || id.charAt(start + 23) != '-') {
+			throw new IllegalArgumentException("Not an UUID: " + getString(index));
+		}
+		long most = parseHex(start, 8) << 32 | parseHex(start + 9, 4) << 16 | parseHex(start + 14, 4);
+		long least = parseHex(start + 19, 4) << 48 | parseHex(start + 24, 12);
+		return new UUID(most, least);
+	}
+
+	private long parseHex(int start, int length) {
+		long value = 0;
+		for (int i = start; i < start + length; i++) {
+			int digit = Character.digit(id.charAt(i), 16);
+			if (digit < 0) {
+				throw new IllegalArgumentException("Not an UUID: " + id);
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+
+	private int checkIndex(int index) {
+		if (id == null) {
+			throw new IllegalStateException("No component-id was parsed yet");
+		}
+		return Objects.checkIndex(index, segments - 1) + 1;
+	}
+
+	private int startOf(int segment) {
+		return segment == 0 ? 0 : ends[segment - 1] + separator.length();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ComponentId[%s]", id);
+	}
+
+	/**
+	 * A view of a single segment of the component-id.
+	 */
+	private final class Segment implements CharSequence {
+		private int start;
+		private int end;
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return id.charAt(start + Objects.checkIndex(index, end - start));
+		}
+
+		@Nonnull
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			Objects.checkFromToIndex(from, to, end - start);
+			return id.subSequence(start + from, start + to);
+		}
+
+		@Nonnull
+		@Override
+		public String toString() {
+			return id.substring(start, end);
+		}
+	}
+}
@@ -2,9 +2,11 @@ package xyz.dynxsty.dih4jda.util;
 
 import lombok.Getter;
 import lombok.Setter;
+import xyz.dynxsty.dih4jda.interactions.components.ComponentStateStore;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -41,7 +43,32 @@ public class ComponentIdBuilder {
 	}
 
 	/**
-	 * Splits the given id by the current separator.
+	 * Builds a component-id whose first argument is a token, which resolves to the given state once a user interacts
+	 * with the component. This way, the component may carry state that does not fit into its id.
+	 * <pre>{@code
+	 * Button.primary(ComponentIdBuilder.build(store, new Cart(items), "checkout"), "Checkout");
+	 * }</pre>
+	 *
+	 * @param store      The {@link ComponentStateStore} the state is stored in.
+	 * @param state      The state.
+	 * @param identifier The component's identifier.
+	 * @param args       An optional parameter for further arguments.
+	 * @return The built component-id, as a {@link String}.
+	 * @see ComponentStateStore
+	 * @since v1.7
+	 */
+	@Nonnull
+	public static String build(@Nonnull ComponentStateStore store, @Nonnull Object state, @Nonnull String identifier,
+							   @Nonnull Object... args) {
+		Object[] withToken = new Object[args.length + 1];
+		withToken[0] = store.put(state);
+		System.arraycopy(args, 0, withToken, 1, args.length);
+		return build(identifier, withToken);
+	}
+
+	/**
+	 * Splits the given id by the current separator, which is matched literally.
+	 * Use {@link ComponentId#parse(String)} to parse typed arguments without creating a {@link String} for each of them.
 	 *
 	 * @param id The component-id that should be split.
 	 * @return The split String as an array.
@@ -49,6 +76,6 @@ public class ComponentIdBuilder {
 	 */
 	@Nonnull
 	public static String[] split(@Nonnull String id) {
-		return id.split(defaultSeparator);
+		return id.split(Pattern.quote(defaultSeparator));
 	}
 }
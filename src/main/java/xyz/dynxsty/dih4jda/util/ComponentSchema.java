@@ -0,0 +1,632 @@
+package xyz.dynxsty.dih4jda.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A typed schema for the arguments of a component-id, which packs them into a dense, URL-safe encoding instead of
+ * joining their {@link Object#toString()} representations. Longs and ints are encoded as (zig-zag) varints,
+ * enums by their ordinal and {@link UUID}s as 16 raw bytes, which leaves a lot more room within Discord's limit of
+ * {@value #MAX_LENGTH} characters. A snowflake, for example, takes 12 instead of 19 characters.
+ *
+ * <pre>{@code
+ * static final ComponentSchema VOTE = ComponentSchema.builder("vote")
+ *         .withLong()             // the poll's message id
+ *         .withEnum(Choice.class)
+ *         .withLong()             // the poll's end, as epoch millis
+ *         .register();
+ *
+ * Button.primary(VOTE.encode(messageId, Choice.YES, end.toEpochMilli()), "Yes");
+ *
+ * // in the ButtonHandler
+ * ComponentSchema.Arguments args = VOTE.decode(event.getComponentId());
+ * long messageId = args.getLong(0);
+ * Choice choice = args.getEnum(1, Choice.class);
+ * }</pre>
+ *
+ * The encoded id is {@code identifier + separator + payload}, so it is routed like any other component-id.
+ * Decoding reads the arguments straight from the component-id and, using {@link ComponentSchema#decode(String, Arguments)},
+ * does not allocate at all. Arguments may only be appended to a schema, as old components keep their encoded ids:
+ * these still decode, but lack the appended arguments, which is checked using {@link Arguments#isPresent(int)}.
+ *
+ * @since v1.7
+ */
+public final class ComponentSchema {
+	/**
+	 * The maximum length of a component-id, as enforced by Discord.
+	 */
+	public static final int MAX_LENGTH = 100;
+
+	private static final Map<String, ComponentSchema> SCHEMAS = new ConcurrentHashMap<>();
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final byte[] DECODE_TABLE = new byte[128];
+
+	static {
+		Arrays.fill(DECODE_TABLE, (byte) -1);
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+		for (int i = 0; i < alphabet.length(); i++) {
+			DECODE_TABLE[alphabet.charAt(i)] = (byte) i;
+		}
+	}
+
+	private final String identifier;
+	private final Type[] types;
+	private final Class<?>[] enumTypes;
+	private final Object[][] enumConstants;
+	private final int[] slots;
+	private final int slotCount;
+
+	private ComponentSchema(@Nonnull String identifier, @Nonnull List<Type> types, @Nonnull List<Class<?>> enums) {
+		this.identifier = identifier;
+		this.types = types.toArray(new Type[0]);
+		this.enumTypes = enums.toArray(new Class<?>[0]);
+		this.enumConstants = new Object[this.types.length][];
+		this.slots = new int[this.types.length];
+		int slot = 0;
+		for (int i = 0; i < this.types.length; i++) {
+			slots[i] = slot;
+			slot += this.types[i] == Type.UUID ? 2 : 1;
+			if (enumTypes[i] != null) {
+				enumConstants[i] = enumTypes[i].getEnumConstants();
+			}
+		}
+		this.slotCount = slot;
+	}
+
+	/**
+	 * Creates a new {@link Builder} for the specified component identifier.
+	 *
+	 * @param identifier The identifier, which the encoded component-ids start with.
+	 * @return The {@link Builder}.
+	 */
+	@Nonnull
+	public static Builder builder(@Nonnull String identifier) {
+		Checks.notNull(identifier, "Identifier");
+		if (identifier.isEmpty()) {
+			throw new IllegalArgumentException("Identifier may not be empty");
+		}
+		return new Builder(identifier);
+	}
+
+	/**
+	 * Gets the registered {@link ComponentSchema} for the identifier of the given component-id.
+	 *
+	 * @param componentId The component-id.
+	 * @return The {@link ComponentSchema}, or null if none was registered for its identifier.
+	 * @see Builder#register()
+	 */
+	@Nullable
+	public static ComponentSchema forId(@Nonnull String componentId) {
+		return SCHEMAS.get(ComponentId.identifierOf(componentId));
+	}
+
+	/**
+	 * Encodes the given arguments into a component-id.
+	 *
+	 * @param args The arguments, which must match this schema's types in order.
+	 * @return The encoded component-id.
+	 * @throws IllegalArgumentException If the arguments do not match this schema, or the id exceeds
+	 *                                  {@value #MAX_LENGTH} characters.
+	 */
+	@Nonnull
+	public String encode(@Nonnull Object... args) {
+		if (args.length != types.length) {
+			throw new IllegalArgumentException(String.format("Expected %d arguments, but got %d", types.length, args.length));
+		}
+		ByteWriter out = new ByteWriter();
+		for (int i = 0; i < types.length; i++) {
+			Object arg = args[i];
+			if (arg == null) {
+				throw new IllegalArgumentException(String.format("Argument %d may not be null", i));
+			}
+			switch (types[i]) {
+				case LONG:
+					out.writeVarLong(zigZag(asNumber(arg, i).longValue()));
+					break;
+				case INT:
+					out.writeVarLong(zigZag(asNumber(arg, i).intValue()));
+					break;
+				case BOOLEAN:
+					out.write(Boolean.TRUE.equals(cast(arg, Boolean.class, i)) ? 1 : 0);
+					break;
+				case ENUM:
+					if (!(arg instanceof Enum) || ((Enum<?>) arg).getDeclaringClass() != enumTypes[i]) {
+						throw mismatch(i, arg);
+					}
+					out.writeVarLong(((Enum<?>) arg).ordinal());
+					break;
+				case UUID:
+					UUID uuid = cast(arg, UUID.class, i);
+					out.writeLong(uuid.getMostSignificantBits());
+					out.writeLong(uuid.getLeastSignificantBits());
+					break;
+				case STRING:
+					byte[] bytes = cast(arg, CharSequence.class, i).toString().getBytes(StandardCharsets.UTF_8);
+					out.writeVarLong(bytes.length);
+					out.write(bytes);
+					break;
+			}
+		}
+		String id = identifier + ComponentIdBuilder.getDefaultSeparator() + ENCODER.encodeToString(out.toByteArray());
+		if (id.length() > MAX_LENGTH) {
+			throw new IllegalArgumentException(String.format("Component-id exceeds %d characters: %s", MAX_LENGTH, id));
+		}
+		return id;
+	}
+
+	/**
+	 * Decodes the arguments of the given component-id.
+	 *
+	 * @param componentId The component-id, as returned by {@link ComponentSchema#encode(Object...)}.
+	 * @return The decoded {@link Arguments}.
+	 * @throws IllegalArgumentException If the component-id was not encoded with this schema.
+	 */
+	@Nonnull
+	public Arguments decode(@Nonnull String componentId) {
+		return decode(componentId, newArguments());
+	}
+
+	/**
+	 * Decodes the arguments of the given component-id into an existing {@link Arguments} instance, which makes
+	 * decoding allocation-free.
+	 *
+	 * @param componentId The component-id, as returned by {@link ComponentSchema#encode(Object...)}.
+	 * @param arguments   The {@link Arguments} to reuse, as created by {@link ComponentSchema#newArguments()}.
+	 * @return The given {@link Arguments}, for chaining convenience.
+	 * @throws IllegalArgumentException If the component-id was not encoded with this schema.
+	 */
+	@Nonnull
+	public Arguments decode(@Nonnull String componentId, @Nonnull Arguments arguments) {
+		if (arguments.schema != this) {
+			throw new IllegalArgumentException("Arguments belong to another schema");
+		}
+		String separator = ComponentIdBuilder.getDefaultSeparator();
+		if (!componentId.startsWith(identifier) || !componentId.startsWith(separator, identifier.length())) {
+			throw new IllegalArgumentException(String.format("\"%s\" is not a \"%s\" component-id", componentId, identifier));
+		}
+		// a failed decode leaves the arguments unusable, instead of half-replaced
+		arguments.id = null;
+		ByteReader in = arguments.reader.reset(componentId, identifier.length() + separator.length());
+		long[] values = arguments.values;
+		int count = 0;
+		// the id may predate arguments that were appended to this schema, which are then missing
+		while (count < types.length && in.remaining() > 0) {
+			int i = count++;
+			int slot = slots[i];
+			switch (types[i]) {
+				case LONG:
+				case INT:
+					values[slot] = unZigZag(in.readVarLong());
+					break;
+				case BOOLEAN:
+				case ENUM:
+					long ordinal = in.readVarLong();
+					if (ordinal < 0 || enumConstants[i] != null && ordinal >= enumConstants[i].length) {
+						throw new IllegalArgumentException(String.format("Unknown ordinal %d of argument %d", ordinal, i));
+					}
+					values[slot] = ordinal;
+					break;
+				case UUID:
+					values[slot] = in.readLong();
+					values[slot + 1] = in.readLong();
+					break;
+				case STRING:
+					long length = in.readVarLong();
+					if (length > in.remaining()) {
+						throw new IllegalArgumentException("Truncated component-id: " + componentId);
+					}
+					values[slot] = (long) in.position << 32 | length;
+					in.position += (int) length;
+					break;
+			}
+		}
+		arguments.count = count;
+		arguments.id = componentId;
+		return arguments;
+	}
+
+	/**
+	 * Creates a new, empty {@link Arguments} instance, which may be reused by {@link ComponentSchema#decode(String, Arguments)}.
+	 *
+	 * @return The {@link Arguments}.
+	 */
+	@Nonnull
+	public Arguments newArguments() {
+		return new Arguments(this);
+	}
+
+	/**
+	 * The identifier, which the encoded component-ids start with.
+	 *
+	 * @return The identifier.
+	 */
+	@Nonnull
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ComponentSchema[%s, %s]", identifier, Arrays.toString(types));
+	}
+
+	@Nonnull
+	private static Number asNumber(@Nonnull Object arg, int index) {
+		return cast(arg, Number.class, index);
+	}
+
+	@Nonnull
+	private static <T> T cast(@Nonnull Object arg, @Nonnull Class<T> type, int index) {
+		if (!type.isInstance(arg)) {
+			throw mismatch(index, arg);
+		}
+		return type.cast(arg);
+	}
+
+	@Nonnull
+	private static IllegalArgumentException mismatch(int index, @Nonnull Object arg) {
+		return new IllegalArgumentException(String.format("Argument %d does not match the schema: %s", index, arg));
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private enum Type {
+		LONG, INT, BOOLEAN, ENUM, UUID, STRING
+	}
+
+	/**
+	 * Builds a {@link ComponentSchema}. The order of the arguments is the order they are added in.
+	 */
+	public static final class Builder {
+		private final String identifier;
+		private final List<Type> types = new ArrayList<>();
+		private final List<Class<?>> enums = new ArrayList<>();
+
+		private Builder(@Nonnull String identifier) {
+			this.identifier = identifier;
+		}
+
+		private Builder add(@Nonnull Type type, @Nullable Class<?> enumType) {
+			types.add(type);
+			enums.add(enumType);
+			return this;
+		}
+
+		/**
+		 * Adds a {@code long} argument, e.g. a snowflake or a timestamp.
+		 *
+		 * @return The {@link Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder withLong() {
+			return add(Type.LONG, null);
+		}
+
+		/**
+		 * Adds an {@code int} argument.
+		 *
+		 * @return The {@link Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder withInt() {
+			return add(Type.INT, null);
+		}
+
+		/**
+		 * Adds a {@code boolean} argument.
+		 *
+		 * @return The {@link Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder withBoolean() {
+			return add(Type.BOOLEAN, null);
+		}
+
+		/**
+		 * Adds an enum argument, which is encoded by its ordinal. Constants may therefore only be appended to the enum.
+		 *
+		 * @param type The enum's class.
+		 * @return The {@link Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder withEnum(@Nonnull Class<? extends Enum<?>> type) {
+			Checks.notNull(type, "Enum Type");
+			return add(Type.ENUM, type);
+		}
+
+		/**
+		 * Adds an {@link UUID} argument.
+		 *
+		 * @return The {@link Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder withUUID() {
+			return add(Type.UUID, null);
+		}
+
+		/**
+		 * Adds a {@link String} argument, which is encoded as UTF-8.
+		 *
+		 * @return The {@link Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder withString() {
+			return add(Type.STRING, null);
+		}
+
+		/**
+		 * Builds the {@link ComponentSchema}, without registering it.
+		 *
+		 * @return The {@link ComponentSchema}.
+		 */
+		@Nonnull
+		public ComponentSchema build() {
+			return new ComponentSchema(identifier, types, enums);
+		}
+
+		/**
+		 * Builds and registers the {@link ComponentSchema} for its identifier, so that it can be found using
+		 * {@link ComponentSchema#forId(String)}.
+		 *
+		 * @return The {@link ComponentSchema}.
+		 * @throws IllegalArgumentException If another schema was already registered for the same identifier.
+		 */
+		@Nonnull
+		public ComponentSchema register() {
+			ComponentSchema schema = build();
+			if (SCHEMAS.putIfAbsent(identifier, schema) != null) {
+				throw new IllegalArgumentException(String.format("A schema for \"%s\" is already registered", identifier));
+			}
+			return schema;
+		}
+	}
+
+	/**
+	 * The decoded arguments of a single component-id. Instances may be reused, in which case all values are replaced.
+	 * Arguments that were appended to the schema after the component-id was encoded are missing, and getting them
+	 * throws an {@link IllegalStateException}.
+	 */
+	public static final class Arguments {
+		private final ComponentSchema schema;
+		private final long[] values;
+		private final ByteReader reader = new ByteReader();
+		private String id;
+		private int count;
+
+		private Arguments(@Nonnull ComponentSchema schema) {
+			this.schema = schema;
+			this.values = new long[schema.slotCount];
+		}
+
+		/**
+		 * Checks whether the decoded component-id contains the given argument. It does not if the argument was
+		 * appended to the schema after the component-id was encoded.
+		 *
+		 * @param index The argument's index.
+		 * @return Whether the argument is present.
+		 */
+		public boolean isPresent(int index) {
+			checkIndex(index);
+			if (id == null) {
+				throw new IllegalStateException("No component-id was decoded yet");
+			}
+			return index < count;
+		}
+
+		/**
+		 * Gets a {@code long} argument.
+		 *
+		 * @param index The argument's index.
+		 * @return The value.
+		 */
+		public long getLong(int index) {
+			return values[slot(index, Type.LONG)];
+		}
+
+		/**
+		 * Gets an {@code int} argument.
+		 *
+		 * @param index The argument's index.
+		 * @return The value.
+		 */
+		public int getInt(int index) {
+			return (int) values[slot(index, Type.INT)];
+		}
+
+		/**
+		 * Gets a {@code boolean} argument.
+		 *
+		 * @param index The argument's index.
+		 * @return The value.
+		 */
+		public boolean getBoolean(int index) {
+			return values[slot(index, Type.BOOLEAN)] != 0;
+		}
+
+		/**
+		 * Gets an enum argument.
+		 *
+		 * @param index The argument's index.
+		 * @param type  The enum's class.
+		 * @param <E>   The enum's type.
+		 * @return The enum constant.
+		 */
+		@Nonnull
+		public <E extends Enum<E>> E getEnum(int index, @Nonnull Class<E> type) {
+			Checks.notNull(type, "Enum Type");
+			int slot = slot(index, Type.ENUM);
+			if (schema.enumTypes[index] != type) {
+				throw new IllegalArgumentException(String.format("Argument %d is a %s, not a %s", index, schema.enumTypes[index].getName(), type.getName()));
+			}
+			Object[] constants = schema.enumConstants[index];
+			long ordinal = values[slot];
+			if (ordinal < 0 || ordinal >= constants.length) {
+				throw new IllegalArgumentException(String.format("Unknown ordinal %d of argument %d", ordinal, index));
+			}
+			return type.cast(constants[(int) ordinal]);
+		}
+
+		/**
+		 * Gets an {@link UUID} argument.
+		 *
+		 * @param index The argument's index.
+		 * @return The {@link UUID}.
+		 */
+		@Nonnull
+		public UUID getUUID(int index) {
+			int slot = slot(index, Type.UUID);
+			return new UUID(values[slot], values[slot + 1]);
+		}
+
+		/**
+		 * Gets a {@link String} argument, which is only decoded upon calling this method.
+		 *
+		 * @param index The argument's index.
+		 * @return The {@link String}.
+		 */
+		@Nonnull
+		public String getString(int index) {
+			long value = values[slot(index, Type.STRING)];
+			int length = (int) value;
+			byte[] bytes = new byte[length];
+			reader.position = (int) (value >>> 32);
+			for (int i = 0; i < length; i++) {
+				bytes[i] = (byte) reader.read();
+			}
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private int slot(int index, @Nonnull Type type) {
+			if (!isPresent(index)) {
+				throw new IllegalStateException(String.format("Argument %d is missing from \"%s\"", index, id));
+			}
+			if (schema.types[index] != type) {
+				throw new IllegalArgumentException(String.format("Argument %d is a %s, not a %s", index, schema.types[index], type));
+			}
+			return schema.slots[index];
+		}
+
+		private void checkIndex(int index) {
+			if (index < 0 || index >= schema.types.length) {
+				throw new IllegalArgumentException(String.format("Argument %d does not exist, the schema has %d arguments", index, schema.types.length));
+			}
+		}
+	}
+
+	/**
+	 * Reads bytes straight from the URL-safe Base64 payload of a component-id.
+	 */
+	private static final class ByteReader {
+		private String id;
+		private int start;
+		private int length;
+		private int position;
+
+		@Nonnull
+		private ByteReader reset(@Nonnull String id, int start) {
+			this.id = id;
+			this.start = start;
+			// every character holds 6 bits, incomplete bytes at the end are padding
+			this.length = (id.length() - start) * 6 / 8;
+			this.position = 0;
+			return this;
+		}
+
+		private int remaining() {
+			return length - position;
+		}
+
+		private int read() {
+			if (position >= length) {
+				throw new IllegalArgumentException("Truncated component-id: " + id);
+			}
+			int bit = position++ * 8;
+			int index = start + bit / 6;
+			int window = sextet(index) << 6 | (index + 1 < id.length() ? sextet(index + 1) : 0);
+			return (window >>> (4 - bit % 6)) & 0xFF;
+		}
+
+		private int sextet(int index) {
+			char c = id.charAt(index);
+			int value = c < 128 ? DECODE_TABLE[c] : -1;
+			if (value < 0) {
+				throw new IllegalArgumentException("Invalid character in component-id: " + id);
+			}
+			return value;
+		}
+
+		private long readVarLong() {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				int b = read();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint in component-id: " + id);
+		}
+
+		private long readLong() {
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = value << 8 | read();
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * A minimal, growable byte buffer for encoding.
+	 */
+	private static final class ByteWriter {
+		private byte[] bytes = new byte[32];
+		private int size;
+
+		private void write(int b) {
+			if (size == bytes.length) {
+				bytes = Arrays.copyOf(bytes, size * 2);
+			}
+			bytes[size++] = (byte) b;
+		}
+
+		private void write(@Nonnull byte[] data) {
+			for (byte b : data) {
+				write(b);
+			}
+		}
+
+		private void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		private void writeLong(long value) {
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				write((int) (value >>> shift));
+			}
+		}
+
+		@Nonnull
+		private byte[] toByteArray() {
+			return Arrays.copyOf(bytes, size);
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package xyz.dynxsty.dih4jda.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * An immutable, open-addressed map which uses primitive {@code long}s (e.g. snowflakes) as its keys.
+ * Lookups neither box the key nor allocate, which makes this map suitable for hot paths.
+ * <br>
+ * Use a {@link LongObjectMap.Builder} to create new instances.
+ *
+ * @param <V> The type of the mapped values.
+ * @since v1.7
+ */
+public final class LongObjectMap<V> {
+	private static final LongObjectMap<?> EMPTY = new LongObjectMap<>(new long[1], new Object[1], 0);
+
+	private final long[] keys;
+	// a null value marks a free slot
+	private final Object[] values;
+	private final int size;
+	private final int mask;
+
+	private LongObjectMap(@Nonnull long[] keys, @Nonnull Object[] values, int size) {
+		this.keys = keys;
+		this.values = values;
+		this.size = size;
+		this.mask = keys.length - 1;
+	}
+
+	/**
+	 * Gets you an empty {@link LongObjectMap}.
+	 *
+	 * @param <V> The type of the mapped values.
+	 * @return The empty map.
+	 */
+	@Nonnull
+	@SuppressWarnings("unchecked")
+	public static <V> LongObjectMap<V> empty() {
+		return (LongObjectMap<V>) EMPTY;
+	}
+
+	/**
+	 * Creates a new, empty {@link LongObjectMap.Builder}.
+	 *
+	 * @param <V> The type of the mapped values.
+	 * @return The {@link LongObjectMap.Builder}.
+	 */
+	@Nonnull
+	public static <V> Builder<V> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Spreads the bits of the given key, as the lower bits of snowflakes are mostly made up of the
+	 * (often constant) worker and process ids.
+	 *
+	 * @param key The key to hash.
+	 * @return The hash of the key.
+	 */
+	static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	/**
+	 * Gets the value that is mapped to the specified key.
+	 *
+	 * @param key The key.
+	 * @return The mapped value or null, if the key is not present.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int i = hash(key) & mask;
+		Object value;
+		while ((value = values[i]) != null) {
+			if (keys[i] == key) {
+				return (V) value;
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the specified key is present.
+	 *
+	 * @param key The key.
+	 * @return Whether the key is mapped to a value.
+	 */
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * The amount of mappings this map contains.
+	 *
+	 * @return The size of this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Whether this map is empty.
+	 *
+	 * @return true if this map does not contain any mappings.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Performs the given action for each mapping in this map.
+	 *
+	 * @param action The action to perform.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(@Nonnull EntryConsumer<? super V> action) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				action.accept(keys[i], (V) values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Creates a new {@link LongObjectMap.Builder} which already contains all mappings of this map.
+	 *
+	 * @return The {@link LongObjectMap.Builder}.
+	 */
+	@Nonnull
+	public Builder<V> toBuilder() {
+		Builder<V> builder = new Builder<>();
+		forEach(builder::put);
+		return builder;
+	}
+
+	/**
+	 * Functional interface which accepts a single mapping without boxing its key.
+	 *
+	 * @param <V> The type of the mapped values.
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer<V> {
+		/**
+		 * Accepts a single mapping.
+		 *
+		 * @param key   The key.
+		 * @param value The mapped value.
+		 */
+		void accept(long key, @Nonnull V value);
+	}
+
+	/**
+	 * Mutable builder class for {@link LongObjectMap}s. This class is NOT thread-safe.
+	 *
+	 * @param <V> The type of the mapped values.
+	 */
+	public static final class Builder<V> {
+		private long[] keys = new long[16];
+		private Object[] values = new Object[16];
+		private int size = 0;
+
+		private Builder() {}
+
+		/**
+		 * Maps the specified value to the specified key. Any previous mapping will be replaced.
+		 *
+		 * @param key   The key.
+		 * @param value The value.
+		 * @return The {@link LongObjectMap.Builder} for chaining convenience.
+		 */
+		@Nonnull
+		public Builder<V> put(long key, @Nonnull V value) {
+			Checks.notNull(value, "Value");
+			if ((size + 1) * 2 > keys.length) {
+				resize(keys.length * 2);
+			}
+			if (insert(keys, values, key, value)) {
+				size++;
+			}
+			return this;
+		}
+
+		/**
+		 * Builds the immutable {@link LongObjectMap}.
+		 *
+		 * @return The {@link LongObjectMap}.
+		 */
+		@Nonnull
+		public LongObjectMap<V> build() {
+			if (size == 0) {
+				return empty();
+			}
+			return new LongObjectMap<>(Arrays.copyOf(keys, keys.length), Arrays.copyOf(values, values.length), size);
+		}
+
+		private void resize(int capacity) {
+			long[] newKeys = new long[capacity];
+			Object[] newValues = new Object[capacity];
+			for (int i = 0; i < keys.length; i++) {
+				if (values[i] != null) {
+					insert(newKeys, newValues, keys[i], values[i]);
+				}
+			}
+			keys = newKeys;
+			values = newValues;
+		}
+
+		private static boolean insert(@Nonnull long[] keys, @Nonnull Object[] values, long key, @Nonnull Object value) {
+			int mask = keys.length - 1;
+			int i = hash(key) & mask;
+			while (values[i] != null) {
+				if (keys[i] == key) {
+					values[i] = value;
+					return false;
+				}
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			values[i] = value;
+			return true;
+		}
+	}
+}
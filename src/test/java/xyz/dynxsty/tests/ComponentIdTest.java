@@ -1,9 +1,19 @@
 package xyz.dynxsty.tests;
 
 import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.util.ComponentId;
 import xyz.dynxsty.dih4jda.util.ComponentIdBuilder;
+import xyz.dynxsty.dih4jda.util.ComponentSchema;
 
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ComponentIdTest {
 	@Test
@@ -12,4 +22,98 @@ class ComponentIdTest {
 		ComponentIdBuilder.setDefaultSeparator("!");
 		assertEquals("component-identifier!1!2!3.0!4!5.0", ComponentIdBuilder.build("component-identifier", "1", 2L, 3.0, '4', 5f));
 	}
+
+	@Test
+	void testSplitWithRegexSeparator() {
+		String separator = ComponentIdBuilder.getDefaultSeparator();
+		try {
+			ComponentIdBuilder.setDefaultSeparator("|");
+			assertArrayEquals(new String[]{"vote", "1", "2"}, ComponentIdBuilder.split("vote|1|2"));
+			ComponentIdBuilder.setDefaultSeparator(".");
+			assertArrayEquals(new String[]{"vote", "1", "2"}, ComponentIdBuilder.split("vote.1.2"));
+		} finally {
+			ComponentIdBuilder.setDefaultSeparator(separator);
+		}
+	}
+
+	@Test
+	void testComponentId() {
+		UUID uuid = UUID.randomUUID();
+		ComponentId id = ComponentId.parse("self-role|1048977410521198632|-42|SECONDS|" + uuid + "|TRUE|", "|");
+		assertEquals("self-role", id.getIdentifier().toString());
+		assertTrue(id.isIdentifier("self-role"));
+		assertFalse(id.isIdentifier("self"));
+		assertEquals(6, id.getArgumentCount());
+		assertEquals(1048977410521198632L, id.getLong(0));
+		assertEquals(-42, id.getInt(1));
+		assertEquals(TimeUnit.SECONDS, id.getEnum(2, TimeUnit.class));
+		assertEquals(uuid, id.getUUID(3));
+		assertTrue(id.getBoolean(4));
+		assertEquals("", id.getString(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> id.getString(6));
+		assertThrows(NumberFormatException.class, () -> id.getLong(2));
+		assertThrows(IllegalArgumentException.class, () -> id.getEnum(0, TimeUnit.class));
+
+		id.reset("ping", ":");
+		assertEquals("ping", id.getIdentifier().toString());
+		assertEquals(0, id.getArgumentCount());
+	}
+
+	@Test
+	void testComponentSchema() {
+		ComponentSchema schema = ComponentSchema.builder("schema-test")
+				.withLong().withEnum(TimeUnit.class).withInt().withBoolean().withUUID().withString()
+				.build();
+		UUID uuid = UUID.randomUUID();
+		String id = schema.encode(1048977410521198632L, TimeUnit.HOURS, -7, true, uuid, "hello");
+		assertTrue(id.length() <= ComponentSchema.MAX_LENGTH);
+		assertTrue(id.length() < ComponentIdBuilder.build("schema-test", 1048977410521198632L, TimeUnit.HOURS, -7, true, uuid, "hello").length());
+
+		ComponentSchema.Arguments args = schema.decode(id);
+		assertEquals(1048977410521198632L, args.getLong(0));
+		assertEquals(TimeUnit.HOURS, args.getEnum(1, TimeUnit.class));
+		assertEquals(-7, args.getInt(2));
+		assertTrue(args.getBoolean(3));
+		assertEquals(uuid, args.getUUID(4));
+		assertEquals("hello", args.getString(5));
+		assertThrows(IllegalArgumentException.class, () -> args.getInt(0));
+		assertThrows(IllegalArgumentException.class, () -> schema.encode(1L, TimeUnit.HOURS));
+		assertThrows(IllegalArgumentException.class, () -> schema.decode(id.substring(0, id.length() - 10)));
+	}
+
+	@Test
+	void testAppendedArguments() {
+		ComponentSchema old = ComponentSchema.builder("appended-test").withLong().withEnum(TimeUnit.class).build();
+		ComponentSchema schema = ComponentSchema.builder("appended-test").withLong().withEnum(TimeUnit.class).withString().withInt().build();
+		// components that were sent before arguments were appended keep their old ids
+		ComponentSchema.Arguments args = schema.decode(old.encode(42L, TimeUnit.DAYS));
+		assertEquals(42L, args.getLong(0));
+		assertEquals(TimeUnit.DAYS, args.getEnum(1, TimeUnit.class));
+		assertTrue(args.isPresent(1));
+		assertFalse(args.isPresent(2));
+		assertFalse(args.isPresent(3));
+		assertThrows(IllegalStateException.class, () -> args.getString(2));
+		assertThrows(IllegalArgumentException.class, () -> args.isPresent(4));
+		// reused arguments take over the presence of the new id
+		schema.decode(schema.encode(42L, TimeUnit.DAYS, "hello", 7), args);
+		assertTrue(args.isPresent(3));
+		assertEquals("hello", args.getString(2));
+		assertEquals(7, args.getInt(3));
+	}
+
+	@Test
+	void testInvalidOrdinal() {
+		ComponentSchema schema = ComponentSchema.builder("ordinal-test").withEnum(TimeUnit.class).build();
+		ComponentSchema other = ComponentSchema.builder("ordinal-test").withInt().build();
+		// zig-zag encodes -1 as 1, which is a valid ordinal, so these use values beyond the enum's constants
+		assertThrows(IllegalArgumentException.class, () -> schema.decode(other.encode(TimeUnit.values().length)));
+		// zig-zag encodes Long.MIN_VALUE with all bits set, which is read as a negative ordinal
+		ComponentSchema longs = ComponentSchema.builder("ordinal-test").withLong().build();
+		assertThrows(IllegalArgumentException.class, () -> schema.decode(longs.encode(Long.MIN_VALUE)));
+		ComponentSchema.Arguments args = schema.decode(schema.encode(TimeUnit.SECONDS));
+		assertThrows(IllegalArgumentException.class, () -> args.getEnum(0, ChronoUnit.class));
+		// a failed decode does not leave the arguments half-replaced
+		assertThrows(IllegalArgumentException.class, () -> schema.decode(other.encode(100), args));
+		assertThrows(IllegalStateException.class, () -> args.getEnum(0, TimeUnit.class));
+	}
 }
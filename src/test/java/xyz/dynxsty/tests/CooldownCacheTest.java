@@ -0,0 +1,145 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.limits.CooldownCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownCacheTest {
+	private static final int THREADS = 8;
+	private static final long COOLDOWN = 60_000;
+
+	@Test
+	void testAcquire() {
+		CooldownCache cache = new CooldownCache();
+		assertEquals(0, cache.tryAcquire(1, 1000, COOLDOWN));
+		assertEquals(1000 + COOLDOWN, cache.tryAcquire(1, 2000, COOLDOWN));
+		assertEquals(1000, cache.getLastUse(1));
+		assertEquals(1000 + COOLDOWN, cache.getNextUse(1));
+		// the cooldown expired
+		assertEquals(0, cache.tryAcquire(1, 1000 + COOLDOWN, COOLDOWN));
+		assertEquals(1000 + COOLDOWN, cache.getLastUse(1));
+		assertEquals(0, cache.getNextUse(2));
+		assertThrows(IllegalArgumentException.class, () -> cache.tryAcquire(0, 1000, COOLDOWN));
+		assertThrows(IllegalArgumentException.class, () -> cache.tryAcquire(Long.MIN_VALUE, 1000, COOLDOWN));
+	}
+
+	@Test
+	void testMerge() {
+		CooldownCache cache = new CooldownCache();
+		cache.merge(1, 2000, 5000);
+		cache.merge(1, 1000, 4000);
+		assertEquals(2000, cache.getLastUse(1));
+		assertEquals(5000, cache.getNextUse(1));
+		// unlike merging, putting always overrides the cooldown
+		cache.put(1, 1000, 4000);
+		assertEquals(1000, cache.getLastUse(1));
+		assertEquals(4000, cache.getNextUse(1));
+	}
+
+	@Test
+	void testConcurrentAcquireWhileGrowing() throws Exception {
+		// the table starts small, so that it is migrated repeatedly while the threads race for the same keys
+		CooldownCache cache = new CooldownCache(1);
+		int keys = 50_000;
+		AtomicIntegerArray acquired = new AtomicIntegerArray(keys + 1);
+		race(thread -> {
+			for (int key = 1; key <= keys; key++) {
+				// every thread uses another time, so that the last use tells which thread applied the cooldown
+				if (cache.tryAcquire(key, 1000 + thread, COOLDOWN) == 0) {
+					acquired.incrementAndGet(key);
+				}
+			}
+		});
+		for (int key = 1; key <= keys; key++) {
+			assertEquals(1, acquired.get(key), "Acquisitions of key " + key);
+			long nextUse = cache.getNextUse(key);
+			assertTrue(nextUse > 1000, "Next use of key " + key);
+			assertEquals(nextUse - COOLDOWN, cache.getLastUse(key), "Last use of key " + key);
+		}
+		assertEquals(keys, cache.size());
+	}
+
+	@Test
+	void testConcurrentAcquireWhileShrinking() throws Exception {
+		CooldownCache cache = new CooldownCache(1);
+		int keys = 20_000;
+		for (int key = 1; key <= keys; key++) {
+			cache.put(key, 0, 1000);
+		}
+		// all previous cooldowns expired, so the following writes sweep the table and migrate it to a smaller one
+		int live = 64;
+		AtomicIntegerArray acquired = new AtomicIntegerArray(live + 1);
+		race(thread -> {
+			for (int round = 0; round < 2000; round++) {
+				for (int key = 1; key <= live; key++) {
+					if (cache.tryAcquire(key, 2000 + thread, COOLDOWN) == 0) {
+						acquired.incrementAndGet(key);
+					}
+				}
+			}
+		});
+		for (int key = 1; key <= live; key++) {
+			assertEquals(1, acquired.get(key), "Acquisitions of key " + key);
+			assertEquals(cache.getNextUse(key) - COOLDOWN, cache.getLastUse(key), "Last use of key " + key);
+		}
+		assertTrue(cache.size() < keys, "The expired cooldowns were not dropped: " + cache.size());
+	}
+
+	@Test
+	void testConcurrentAcquireAfterExpiry() throws Exception {
+		CooldownCache cache = new CooldownCache(1);
+		int keys = 2000;
+		for (int period = 0; period < 20; period++) {
+			// every period starts once the cooldowns of the previous one expired
+			long now = period * COOLDOWN;
+			AtomicIntegerArray acquired = new AtomicIntegerArray(keys + 1);
+			race(thread -> {
+				for (int key = 1; key <= keys; key++) {
+					if (cache.tryAcquire(key, now + thread, COOLDOWN) == 0) {
+						acquired.incrementAndGet(key);
+					}
+				}
+			});
+			for (int key = 1; key <= keys; key++) {
+				assertEquals(1, acquired.get(key), "Acquisitions of key " + key + " in period " + period);
+				assertEquals(cache.getNextUse(key) - COOLDOWN, cache.getLastUse(key), "Last use of key " + key);
+			}
+		}
+	}
+
+	private interface Worker {
+		void run(int thread) throws Exception;
+	}
+
+	private static void race(Worker worker) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CyclicBarrier barrier = new CyclicBarrier(THREADS);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				int thread = i;
+				futures.add(executor.submit(() -> {
+					barrier.await();
+					worker.run(thread);
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.metrics.DenialAggregator;
+import xyz.dynxsty.dih4jda.metrics.DenialSummary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DenialAggregatorTest {
+
+	@Test
+	void testFlush() {
+		DenialAggregator aggregator = new DenialAggregator(Duration.ofMinutes(1), false);
+		for (int i = 0; i < 3; i++) {
+			aggregator.record("ban user", 1, DenialAggregator.Reason.COOLDOWN);
+		}
+		aggregator.record("ban user", 2, DenialAggregator.Reason.COOLDOWN);
+		aggregator.record("ban user", 1, DenialAggregator.Reason.INVALID_ROLE);
+		DenialSummary summary = aggregator.flush();
+		assertEquals(5, summary.getTotal());
+		assertEquals(3, summary.getEntries().size());
+		assertEquals(0, aggregator.flush().getTotal());
+		// idle counters were removed, and are created again once needed
+		aggregator.record("ban user", 1, DenialAggregator.Reason.COOLDOWN);
+		assertEquals(1, aggregator.flush().getTotal());
+	}
+
+	@Test
+	void testConcurrentRecordAndFlush() throws Exception {
+		DenialAggregator aggregator = new DenialAggregator(Duration.ofMinutes(1), false);
+		int threads = 4;
+		int denials = 500_000;
+		AtomicLong counted = new AtomicLong();
+		AtomicBoolean done = new AtomicBoolean();
+		// flushes continuously, so that counters are retired while they are still in use
+		Thread flusher = new Thread(() -> {
+			while (!done.get()) {
+				counted.addAndGet(aggregator.flush().getTotal());
+			}
+		});
+		flusher.start();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < denials; j++) {
+						aggregator.record("ban user", j % 3, DenialAggregator.Reason.COOLDOWN);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			done.set(true);
+			flusher.join();
+			executor.shutdownNow();
+		}
+		counted.addAndGet(aggregator.flush().getTotal());
+		assertEquals((long) threads * denials, counted.get());
+	}
+}
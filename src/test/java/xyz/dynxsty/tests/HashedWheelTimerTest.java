@@ -0,0 +1,110 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.execution.HashedWheelTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+	@Test
+	void testSchedule() throws InterruptedException {
+		HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 64);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			long start = System.nanoTime();
+			HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+			assertEquals(1, timer.getPendingTimeouts());
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+			assertTrue(timeout.isExpired());
+			assertFalse(timeout.cancel());
+			assertEquals(0, timer.getPendingTimeouts());
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	void testCancel() throws InterruptedException {
+		HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 64);
+		try {
+			AtomicInteger runs = new AtomicInteger();
+			List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+			for (int i = 0; i < 100_000; i++) {
+				timeouts.add(timer.schedule(runs::incrementAndGet, 1000 + i % 50, TimeUnit.MILLISECONDS));
+			}
+			for (HashedWheelTimer.Timeout timeout : timeouts) {
+				assertTrue(timeout.cancel());
+				assertFalse(timeout.cancel());
+				assertTrue(timeout.isCancelled());
+			}
+			assertEquals(0, timer.getPendingTimeouts());
+			// expires after all cancelled timeouts would have, which shows that the timer keeps working after removing them
+			CountDownLatch latch = new CountDownLatch(1);
+			timer.schedule(latch::countDown, 1100, TimeUnit.MILLISECONDS);
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertEquals(0, runs.get());
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	void testMultipleRounds() throws InterruptedException {
+		// a small wheel, so that most timeouts stay in their bucket for multiple rounds
+		HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 8);
+		try {
+			int count = 200;
+			AtomicLongArray expired = new AtomicLongArray(count);
+			CountDownLatch latch = new CountDownLatch(count);
+			long start = System.nanoTime();
+			for (int i = 0; i < count; i++) {
+				int index = i;
+				timer.schedule(() -> {
+					expired.set(index, System.nanoTime());
+					latch.countDown();
+				}, i, TimeUnit.MILLISECONDS);
+			}
+			assertTrue(latch.await(10, TimeUnit.SECONDS), "Pending timeouts: " + timer.getPendingTimeouts());
+			for (int i = 0; i < count; i++) {
+				assertTrue(expired.get(i) - start >= TimeUnit.MILLISECONDS.toNanos(i), "Timeout " + i + " expired early");
+			}
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	void testFailingTask() throws InterruptedException {
+		HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 64);
+		try {
+			HashedWheelTimer.Timeout failing = timer.schedule(() -> {
+				throw new IllegalStateException("expected");
+			}, 1, TimeUnit.MILLISECONDS);
+			CountDownLatch latch = new CountDownLatch(1);
+			timer.schedule(latch::countDown, 5, TimeUnit.MILLISECONDS);
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertTrue(failing.isExpired());
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	void testStop() {
+		HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 64);
+		timer.stop();
+		assertThrows(IllegalStateException.class, () -> timer.schedule(() -> {}, 1, TimeUnit.MILLISECONDS));
+	}
+}
@@ -0,0 +1,112 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xyz.dynxsty.dih4jda.limits.MappedCooldownStore;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCooldownStoreTest {
+	private static final long HOUR = 3_600_000;
+
+	@Test
+	void testReopen(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("cooldowns.bin");
+		long now = System.currentTimeMillis();
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 1024)) {
+			for (long key = 1; key <= 100; key++) {
+				assertEquals(0, store.tryAcquire(key, now, HOUR));
+			}
+			// these already expired, and are dropped once the store is reopened
+			for (long key = 101; key <= 200; key++) {
+				assertEquals(0, store.tryAcquire(key, now - HOUR, 1000));
+			}
+			store.put(1, now - 1000, now + 2 * HOUR);
+			assertEquals(200, store.size());
+		}
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 1024)) {
+			assertEquals(100, store.size());
+			assertEquals(100, store.getLiveCount());
+			assertEquals(now - 1000, store.getLastUse(1));
+			assertEquals(now + 2 * HOUR, store.getNextUse(1));
+			for (long key = 2; key <= 100; key++) {
+				assertEquals(now, store.getLastUse(key));
+				assertEquals(now + HOUR, store.tryAcquire(key, now + 1, HOUR));
+			}
+			for (long key = 101; key <= 200; key++) {
+				assertEquals(0, store.getNextUse(key));
+			}
+		}
+		assertFalse(Files.exists(dir.resolve("cooldowns.bin.tmp")));
+	}
+
+	@Test
+	void testReopenWithSmallerCapacity(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("cooldowns.bin");
+		long now = System.currentTimeMillis();
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 4096)) {
+			for (long key = 1; key <= 1000; key++) {
+				store.tryAcquire(key, now, HOUR);
+			}
+		}
+		// the capacity grows with the recovered cooldowns, so that none of them is lost
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 64)) {
+			assertTrue(store.getCapacity() >= 2000, "Capacity: " + store.getCapacity());
+			for (long key = 1; key <= 1000; key++) {
+				assertEquals(now + HOUR, store.getNextUse(key));
+			}
+		}
+	}
+
+	@Test
+	void testInvalidFileIsReplaced(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("cooldowns.bin");
+		Files.write(path, "not a cooldown store".getBytes(StandardCharsets.UTF_8));
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 64)) {
+			assertEquals(0, store.size());
+			assertEquals(64, store.getCapacity());
+			assertEquals(0, store.tryAcquire(1, System.currentTimeMillis(), HOUR));
+		}
+	}
+
+	@Test
+	void testTruncatedFileIsReplaced(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("cooldowns.bin");
+		long now = System.currentTimeMillis();
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 64)) {
+			store.tryAcquire(1, now, HOUR);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() / 2);
+		}
+		try (MappedCooldownStore store = new MappedCooldownStore(path, 64)) {
+			assertEquals(0, store.size());
+			assertEquals(0, store.getNextUse(1));
+		}
+	}
+
+	@Test
+	void testFullStore(@TempDir Path dir) throws IOException {
+		long now = System.currentTimeMillis();
+		try (MappedCooldownStore store = new MappedCooldownStore(dir.resolve("cooldowns.bin"), 64)) {
+			for (long key = 1; key <= 64; key++) {
+				assertEquals(0, store.tryAcquire(key, now, HOUR));
+			}
+			// new keys are not put on cooldown, until other cooldowns expire
+			assertEquals(0, store.tryAcquire(65, now, HOUR));
+			assertEquals(0, store.getNextUse(65));
+			assertEquals(0, store.tryAcquire(65, now + HOUR, HOUR));
+			assertEquals(now + 2 * HOUR, store.getNextUse(65));
+			assertEquals(64, store.size());
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.execution.Bulkhead;
+import xyz.dynxsty.dih4jda.execution.OrderedLanes;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderedLanesTest {
+
+	@Test
+	void testOrderPerKey() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			OrderedLanes lanes = new OrderedLanes(4);
+			int keys = 32;
+			int tasks = 20_000;
+			AtomicIntegerArray last = new AtomicIntegerArray(keys);
+			AtomicIntegerArray running = new AtomicIntegerArray(keys);
+			AtomicBoolean failed = new AtomicBoolean();
+			CountDownLatch latch = new CountDownLatch(tasks);
+			for (int i = 0; i < tasks; i++) {
+				int key = i % keys;
+				int sequence = i / keys + 1;
+				lanes.execute(key, executor, () -> {
+					// tasks of the same key neither overlap nor run out of order
+					if (running.incrementAndGet(key) != 1 || last.getAndSet(key, sequence) != sequence - 1) {
+						failed.set(true);
+					}
+					running.decrementAndGet(key);
+					latch.countDown();
+				}, e -> failed.set(true));
+			}
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertFalse(failed.get());
+			assertEquals(4, lanes.getLaneCount());
+			awaitPending(lanes);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testAsyncTaskHoldsLane() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			OrderedLanes lanes = new OrderedLanes(1);
+			CompletableFuture<Void> first = new CompletableFuture<>();
+			CountDownLatch second = new CountDownLatch(1);
+			lanes.executeAsync(1, executor, () -> first, e -> {});
+			lanes.execute(2, executor, second::countDown, e -> {});
+			// both keys share the single lane, so the second task waits for the first one to complete
+			assertFalse(second.await(100, TimeUnit.MILLISECONDS));
+			assertEquals(2, lanes.getPendingCount());
+			first.complete(null);
+			assertTrue(second.await(5, TimeUnit.SECONDS));
+			awaitPending(lanes);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testFailingTaskAdvancesLane() throws InterruptedException {
+		OrderedLanes lanes = new OrderedLanes(1);
+		CountDownLatch latch = new CountDownLatch(1);
+		Executor executor = task -> {
+			try {
+				task.run();
+			} catch (IllegalStateException expected) {
+				// the exception is thrown on the executor's thread
+			}
+		};
+		lanes.execute(1, executor, () -> {
+			throw new IllegalStateException("expected");
+		}, e -> {});
+		lanes.execute(1, executor, latch::countDown, e -> {});
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals(0, lanes.getPendingCount());
+	}
+
+	@Test
+	void testRejectedTaskAdvancesLane() throws InterruptedException {
+		OrderedLanes lanes = new OrderedLanes(1);
+		AtomicInteger calls = new AtomicInteger();
+		Executor executor = task -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new RejectedExecutionException("expected");
+			}
+			task.run();
+		};
+		List<RejectedExecutionException> rejected = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		lanes.execute(1, executor, () -> {}, rejected::add);
+		lanes.execute(1, executor, latch::countDown, rejected::add);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals(1, rejected.size());
+		assertEquals(0, lanes.getPendingCount());
+	}
+
+	@Test
+	void testBulkheadPermitIsHeldByAsyncTask() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Bulkhead bulkhead = Bulkhead.of("test", executor, 1, 10);
+			OrderedLanes lanes = new OrderedLanes(16);
+			CompletableFuture<Void> first = new CompletableFuture<>();
+			CountDownLatch second = new CountDownLatch(1);
+			lanes.executeAsync(1, bulkhead, () -> first, e -> {});
+			// another lane, which still has to wait for the bulkhead's only permit
+			lanes.execute(2, bulkhead, second::countDown, e -> {});
+			assertFalse(second.await(100, TimeUnit.MILLISECONDS));
+			assertEquals(1, bulkhead.getActiveCount());
+			assertEquals(1, bulkhead.getQueuedCount());
+			first.complete(null);
+			assertTrue(second.await(5, TimeUnit.SECONDS));
+			awaitPending(lanes);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testQueuedTaskRejectedByBulkhead() throws InterruptedException {
+		AtomicBoolean saturated = new AtomicBoolean();
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Executor delegate = task -> {
+				if (saturated.get()) {
+					throw new RejectedExecutionException("expected");
+				}
+				pool.execute(task);
+			};
+			Bulkhead bulkhead = Bulkhead.of("test", delegate, 1, 10);
+			OrderedLanes lanes = new OrderedLanes(16);
+			CompletableFuture<Void> first = new CompletableFuture<>();
+			CountDownLatch started = new CountDownLatch(1);
+			List<RejectedExecutionException> rejected = new CopyOnWriteArrayList<>();
+			lanes.executeAsync(1, bulkhead, () -> {
+				started.countDown();
+				return first;
+			}, rejected::add);
+			lanes.execute(2, bulkhead, () -> {}, rejected::add);
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			// the queued task is rejected once the permit is released, and its lane advances on its own
+			saturated.set(true);
+			first.complete(null);
+			awaitPending(lanes);
+			assertEquals(1, rejected.size());
+			assertEquals(1, bulkhead.getRejectedCount());
+			assertEquals(0, bulkhead.getActiveCount());
+			saturated.set(false);
+			CountDownLatch latch = new CountDownLatch(1);
+			lanes.execute(2, bulkhead, latch::countDown, rejected::add);
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// the lane advances right after the last task returned, which may be slightly after the test noticed it
+	private static void awaitPending(OrderedLanes lanes) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (lanes.getPendingCount() != 0) {
+			assertTrue(System.currentTimeMillis() < deadline, "Pending tasks: " + lanes.getPendingCount());
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.limits.CooldownServer;
+import xyz.dynxsty.dih4jda.limits.CooldownStore;
+import xyz.dynxsty.dih4jda.limits.ReplicatedCooldownStore;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicatedCooldownStoreTest {
+	private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+	@Test
+	void testReplication() throws Exception {
+		try (CooldownServer server = new CooldownServer(new InetSocketAddress("127.0.0.1", 0));
+			 ReplicatedCooldownStore first = connect(server.getAddress());
+			 ReplicatedCooldownStore second = connect(server.getAddress())) {
+			await(() -> first.isConnected() && second.isConnected() && server.getConnectionCount() == 2, "connect");
+			long now = System.currentTimeMillis();
+			for (long id = 1; id <= 1000; id++) {
+				assertEquals(0, first.tryAcquire(key(id), now, 60_000));
+			}
+			await(() -> knowsAll(second, 1000), "replicate");
+			for (long id = 1; id <= 1000; id++) {
+				assertEquals(now + 60_000, second.tryAcquire(key(id), now, 60_000));
+				assertEquals(now, second.getLastUse(key(id)));
+			}
+			// a later next use wins, regardless of which process applied it
+			second.put(key(1), now + 1000, now + 120_000);
+			await(() -> first.getNextUse(key(1)) == now + 120_000, "merge");
+			assertEquals(0, first.getDroppedWrites());
+
+			// a process that connects late receives all cooldowns at once
+			try (ReplicatedCooldownStore third = connect(server.getAddress())) {
+				await(() -> knowsAll(third, 1000), "snapshot");
+				assertEquals(now + 120_000, third.getNextUse(key(1)));
+			}
+		}
+	}
+
+	@Test
+	void testRepeatedWritesOfTheSameKey() throws Exception {
+		try (CooldownServer server = new CooldownServer(new InetSocketAddress("127.0.0.1", 0));
+			 ReplicatedCooldownStore first = connect(server.getAddress());
+			 ReplicatedCooldownStore second = connect(server.getAddress())) {
+			await(() -> server.getConnectionCount() == 2, "connect");
+			long now = System.currentTimeMillis();
+			for (int i = 1; i <= 100; i++) {
+				first.put(key(1), now, now + i * 1000L);
+			}
+			// only the latest state is sent, so the other process ends up with the latest next use
+			await(() -> second.getNextUse(key(1)) == now + 100_000, "replicate");
+			assertEquals(1, server.size());
+		}
+	}
+
+	@Test
+	void testReconnect() throws Exception {
+		CooldownServer server = new CooldownServer(new InetSocketAddress("127.0.0.1", 0));
+		InetSocketAddress address = server.getAddress();
+		try (ReplicatedCooldownStore first = connect(address)) {
+			await(first::isConnected, "connect");
+			server.close();
+			await(() -> !first.isConnected(), "disconnect");
+
+			// cooldowns are still enforced locally, and sent once the server is reachable again
+			long now = System.currentTimeMillis();
+			for (long id = 1; id <= 100; id++) {
+				assertEquals(0, first.tryAcquire(key(id), now, 60_000));
+			}
+			assertNotEquals(0, first.tryAcquire(key(1), now, 60_000));
+
+			try (CooldownServer restarted = new CooldownServer(address);
+				 ReplicatedCooldownStore second = connect(address)) {
+				await(first::isConnected, "reconnect");
+				await(() -> knowsAll(second, 100), "replicate after reconnect");
+				assertEquals(100, restarted.size());
+			}
+		} finally {
+			server.close();
+		}
+	}
+
+	@Test
+	void testReconnectWithExpiredBacklog() throws Exception {
+		CooldownServer server = new CooldownServer(new InetSocketAddress("127.0.0.1", 0));
+		InetSocketAddress address = server.getAddress();
+		try (ReplicatedCooldownStore first = new ReplicatedCooldownStore(address, Duration.ofMillis(5), 1 << 15)) {
+			await(first::isConnected, "connect");
+			server.close();
+			await(() -> !first.isConnected(), "disconnect");
+
+			// far more expired keys than a single frame holds, as queued during a longer outage
+			long now = System.currentTimeMillis();
+			for (long id = 1001; id <= 21_000; id++) {
+				assertEquals(0, first.tryAcquire(key(id), now - 60_000, 1000));
+			}
+			for (long id = 1; id <= 100; id++) {
+				assertEquals(0, first.tryAcquire(key(id), now, 60_000));
+			}
+			assertEquals(0, first.getDroppedWrites());
+
+			try (CooldownServer restarted = new CooldownServer(address);
+				 ReplicatedCooldownStore second = connect(address)) {
+				await(first::isConnected, "reconnect");
+				await(() -> knowsAll(second, 100), "replicate after reconnect");
+				assertEquals(100, restarted.size());
+				// the writer keeps replicating afterwards
+				first.tryAcquire(key(101), now, 60_000);
+				await(() -> second.getNextUse(key(101)) == now + 60_000, "replicate later writes");
+			}
+		} finally {
+			server.close();
+		}
+	}
+
+	@Test
+	void testClose() throws Exception {
+		try (CooldownServer server = new CooldownServer(new InetSocketAddress("127.0.0.1", 0))) {
+			ReplicatedCooldownStore first = connect(server.getAddress());
+			ReplicatedCooldownStore second = connect(server.getAddress());
+			await(() -> server.getConnectionCount() == 2, "connect");
+			long now = System.currentTimeMillis();
+			first.tryAcquire(key(1), now, 60_000);
+			// queued cooldowns are sent one last time before disconnecting
+			first.close();
+			assertFalse(first.isConnected());
+			await(() -> server.getConnectionCount() == 1, "disconnect");
+			await(() -> second.getNextUse(key(1)) == now + 60_000, "replicate on close");
+
+			server.close();
+			await(() -> !second.isConnected(), "server close");
+			assertEquals(0, server.getConnectionCount());
+			second.close();
+			// the cooldowns are kept locally after closing
+			assertTrue(second.getNextUse(key(1)) > now);
+		}
+	}
+
+	private static ReplicatedCooldownStore connect(InetSocketAddress address) {
+		return new ReplicatedCooldownStore(address, Duration.ofMillis(5), 1 << 12);
+	}
+
+	private static long key(long id) {
+		return CooldownStore.key(CooldownStore.namespace("slash:test"), id);
+	}
+
+	// the live count is only an estimate, so every key is checked instead
+	private static boolean knowsAll(CooldownStore store, int count) {
+		for (long id = 1; id <= count; id++) {
+			if (store.getNextUse(key(id)) == 0) return false;
+		}
+		return true;
+	}
+
+	private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Timed out waiting for " + description);
+			}
+			Thread.sleep(5);
+		}
+	}
+}
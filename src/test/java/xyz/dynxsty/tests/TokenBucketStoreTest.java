@@ -0,0 +1,45 @@
+package xyz.dynxsty.tests;
+
+import org.junit.jupiter.api.Test;
+import xyz.dynxsty.dih4jda.limits.TokenBucketStore;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketStoreTest {
+	private static final long EMISSION = TimeUnit.MINUTES.toNanos(1);
+	// three tokens per bucket
+	private static final long BURST = EMISSION * 2;
+
+	@Test
+	void testPeekDoesNotTakeTokens() {
+		TokenBucketStore store = new TokenBucketStore();
+		for (int i = 0; i < 10; i++) {
+			assertEquals(0, store.peek(1, EMISSION, BURST));
+		}
+		assertEquals(0, store.size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, store.peek(1, EMISSION, BURST));
+			assertEquals(0, store.tryAcquire(1, EMISSION, BURST));
+		}
+		long wait = store.peek(1, EMISSION, BURST);
+		assertTrue(wait > 0 && wait <= EMISSION, "Wait: " + wait);
+		assertTrue(store.tryAcquire(1, EMISSION, BURST) > 0);
+		// other buckets are not affected
+		assertEquals(0, store.peek(2, EMISSION, BURST));
+	}
+
+	@Test
+	void testPeekWhileMigrating() {
+		TokenBucketStore store = new TokenBucketStore(1);
+		// fills the table repeatedly, so that it is migrated while the first buckets are still in use
+		for (long key = 1; key <= 10_000; key++) {
+			assertEquals(0, store.tryAcquire(key, EMISSION, 0));
+		}
+		for (long key = 1; key <= 10_000; key++) {
+			assertTrue(store.peek(key, EMISSION, 0) > 0, "Bucket " + key + " was lost");
+		}
+	}
+}